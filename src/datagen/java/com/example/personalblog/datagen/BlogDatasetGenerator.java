@@ -0,0 +1,150 @@
+package com.example.personalblog.datagen;
+
+import com.example.personalblog.datagen.TextGenerator.Language;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * Потоковый генератор пользователей, категорий и постов блога.
+ *
+ * <p>Записи не накапливаются в памяти, поэтому объем ограничен только временем.
+ * Идентификаторы идут подряд с единицы, как их выдала бы пустая база.
+ * Распределения приближены к реальным:
+ * <ul>
+ *     <li>авторы постов и категории выбираются по Зипфу, так что немногие авторы
+ *     пишут большую часть постов, а немногие категории встречаются чаще прочих;</li>
+ *     <li>длина текста распределена по Парето: большинство постов короткие,
+ *     но встречаются и очень длинные;</li>
+ *     <li>автор публикует несколько постов подряд, а время создания растет
+ *     вместе с идентификатором.</li>
+ * </ul>
+ * Каждый вид записей использует собственный генератор случайных чисел от общего
+ * {@code seed}, поэтому, например, число пользователей не меняет тексты постов.
+ */
+public class BlogDatasetGenerator {
+
+    private static final List<String> TOPICS = List.of(
+            "Программирование", "Java", "Базы данных", "Производительность", "Архитектура",
+            "Тестирование", "DevOps", "Безопасность", "Фронтенд", "Карьера", "Путешествия",
+            "Книги", "Музыка", "Кино", "Фотография", "Спорт", "Кулинария", "Наука", "Backend",
+            "Cloud", "Machine Learning", "Open Source", "Linux", "Networking", "Design");
+    private static final List<String> RU_FIRST_NAMES = List.of(
+            "Иван", "Анна", "Сергей", "Мария", "Дмитрий", "Елена", "Алексей", "Ольга");
+    private static final List<String> RU_LAST_NAMES = List.of(
+            "Иванов", "Смирнов", "Кузнецов", "Попов", "Соколов", "Лебедев", "Новиков");
+    private static final List<String> EN_FIRST_NAMES = List.of(
+            "John", "Emma", "Michael", "Olivia", "David", "Sophia", "James", "Mia");
+    private static final List<String> EN_LAST_NAMES = List.of(
+            "Smith", "Johnson", "Brown", "Taylor", "Miller", "Wilson", "Moore");
+
+    private final DatasetSpec spec;
+    private final ZipfSampler authors;
+    private final ZipfSampler categories;
+
+    public BlogDatasetGenerator(DatasetSpec spec) {
+        this.spec = spec;
+        this.authors = new ZipfSampler(spec.users(), spec.authorSkew());
+        this.categories = new ZipfSampler(spec.categories(), spec.categorySkew());
+    }
+
+    /**
+     * Сгенерированный пользователь.
+     */
+    public record GeneratedUser(long id, String username, String visibleName, String email) {
+    }
+
+    /**
+     * Сгенерированная категория.
+     */
+    public record GeneratedCategory(long id, String name) {
+    }
+
+    /**
+     * Сгенерированный пост; автор и категории заданы идентификаторами.
+     */
+    public record GeneratedPost(long id, long authorId, String title, String content,
+                                Language language, LocalDateTime createdAt,
+                                LocalDateTime updatedAt, List<Long> categoryIds) {
+    }
+
+    public void users(Consumer<GeneratedUser> consumer) {
+        SplittableRandom random = new SplittableRandom(spec.seed());
+        for (int i = 0; i < spec.users(); i++) {
+            String username = "user_" + i;
+            boolean russian = random.nextDouble() < spec.russianShare();
+            String visibleName = pick(russian ? RU_FIRST_NAMES : EN_FIRST_NAMES, random) + " "
+                    + pick(russian ? RU_LAST_NAMES : EN_LAST_NAMES, random);
+            consumer.accept(new GeneratedUser(i + 1, username, visibleName,
+                    username + "@example.com"));
+        }
+    }
+
+    public void categories(Consumer<GeneratedCategory> consumer) {
+        for (int i = 0; i < spec.categories(); i++) {
+            consumer.accept(new GeneratedCategory(i + 1, categoryName(i + 1)));
+        }
+    }
+
+    /**
+     * Название категории по идентификатору; названия уникальны.
+     */
+    public String categoryName(long id) {
+        int index = (int) (id - 1);
+        String topic = TOPICS.get(index % TOPICS.size());
+        int round = index / TOPICS.size();
+        return round == 0 ? topic : topic + " " + (round + 1);
+    }
+
+    public void posts(Consumer<GeneratedPost> consumer) {
+        SplittableRandom random = new SplittableRandom(spec.seed() + 1);
+        long periodSeconds = spec.period().toSeconds();
+        long id = 1;
+        while (id <= spec.posts()) {
+            long authorId = authors.sample(random) + 1;
+            int session = 1 + random.nextInt(spec.maxPostsInSession());
+            for (int i = 0; i < session && id <= spec.posts(); i++, id++) {
+                LocalDateTime createdAt = spec.start()
+                        .plusSeconds(periodSeconds * (id - 1) / Math.max(spec.posts(), 1));
+                consumer.accept(post(id, authorId, createdAt, random));
+            }
+        }
+    }
+
+    private GeneratedPost post(long id, long authorId, LocalDateTime createdAt,
+                               SplittableRandom random) {
+        Language language = random.nextDouble() < spec.russianShare() ? Language.RU : Language.EN;
+        String title = TextGenerator.title(random, language);
+        String content = TextGenerator.text(random, language, contentLength(random));
+        // Примерно каждый пятый пост редактировался позже публикации
+        LocalDateTime updatedAt = random.nextInt(5) == 0
+                ? createdAt.plusMinutes(1 + random.nextInt(60 * 24 * 30))
+                : createdAt;
+        return new GeneratedPost(id, authorId, title, content, language, createdAt, updatedAt,
+                categoryIds(random));
+    }
+
+    private int contentLength(SplittableRandom random) {
+        double pareto = spec.minContentLength()
+                * Math.pow(1 - random.nextDouble(), -1 / spec.contentTailIndex());
+        return (int) Math.min(pareto, spec.maxContentLength());
+    }
+
+    private List<Long> categoryIds(SplittableRandom random) {
+        int count = 1 + random.nextInt(Math.min(spec.maxCategories(), spec.categories()));
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            long categoryId = categories.sample(random) + 1;
+            if (!ids.contains(categoryId)) {
+                ids.add(categoryId);
+            }
+        }
+        return ids;
+    }
+
+    private static String pick(List<String> values, SplittableRandom random) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
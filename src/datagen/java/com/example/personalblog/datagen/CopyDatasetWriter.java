@@ -0,0 +1,93 @@
+package com.example.personalblog.datagen;
+
+import com.example.personalblog.datagen.BlogDatasetGenerator.GeneratedPost;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Набор данных в текстовом формате {@code COPY} PostgreSQL для таблиц {@code users},
+ * {@code categories}, {@code posts} и {@code post_categories} с явными идентификаторами.
+ *
+ * <p>PostgreSQL не принимает два {@code COPY} одновременно в одном соединении, поэтому
+ * посты генерируются дважды: сначала для {@code posts}, затем для {@code post_categories}.
+ * Генератор детерминирован, так что оба прохода дают одни и те же посты.
+ */
+public class CopyDatasetWriter {
+
+    /**
+     * Куда пишутся данные таблицы: поток {@code COPY ... FROM STDIN} или файл.
+     */
+    @FunctionalInterface
+    public interface CopySink {
+        OutputStream open(String table, List<String> columns) throws IOException;
+    }
+
+    public void write(BlogDatasetGenerator generator, CopySink sink) throws IOException {
+        copy(sink, "users", List.of("id", "username", "visible_name", "email"),
+                out -> generator.users(user -> row(out, user.id(), user.username(),
+                        user.visibleName(), user.email())));
+        copy(sink, "categories", List.of("id", "name"),
+                out -> generator.categories(category -> row(out, category.id(),
+                        category.name())));
+        copy(sink, "posts",
+                List.of("id", "title", "content", "created_at", "updated_at", "user_id"),
+                out -> generator.posts(post -> postRow(out, post)));
+        copy(sink, "post_categories", List.of("post_id", "category_id"),
+                out -> generator.posts(post -> post.categoryIds().forEach(categoryId ->
+                        row(out, post.id(), categoryId))));
+    }
+
+    private static void postRow(Writer out, GeneratedPost post) {
+        row(out, post.id(), post.title(), post.content(), post.createdAt(), post.updatedAt(),
+                post.authorId());
+    }
+
+    private static void copy(CopySink sink, String table, List<String> columns,
+                             TableWriter rows) throws IOException {
+        try (Writer out = new BufferedWriter(
+                new OutputStreamWriter(sink.open(table, columns), StandardCharsets.UTF_8),
+                1 << 16)) {
+            rows.write(out);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void row(Writer out, Object... values) {
+        try {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write('\t');
+                }
+                escape(out, String.valueOf(values[i]));
+            }
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void escape(Writer out, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> out.write("\\\\");
+                case '\n' -> out.write("\\n");
+                case '\r' -> out.write("\\r");
+                case '\t' -> out.write("\\t");
+                default -> out.write(c);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    private interface TableWriter {
+        void write(Writer out);
+    }
+}
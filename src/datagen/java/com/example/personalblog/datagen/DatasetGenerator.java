@@ -0,0 +1,110 @@
+package com.example.personalblog.datagen;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Генерация набора данных из командной строки.
+ *
+ * <p>Аргументы в виде {@code --name=value}:
+ * <ul>
+ *     <li>{@code users}, {@code categories}, {@code posts}, {@code seed} — размеры
+ *     и начальное значение (по умолчанию 10000, 50, 1000000, 42);</li>
+ *     <li>{@code format} — {@code ndjson} для загрузки через API или {@code copy}
+ *     (по умолчанию);</li>
+ *     <li>{@code out} — каталог для файлов (по умолчанию {@code target/dataset});</li>
+ *     <li>{@code jdbc-url}, {@code jdbc-user}, {@code jdbc-password} — при формате
+ *     {@code copy} данные загружаются прямо в PostgreSQL вместо файлов. Таблицы должны
+ *     существовать и быть пустыми, например после первого запуска приложения.</li>
+ * </ul>
+ */
+@Slf4j
+public final class DatasetGenerator {
+
+    private static final List<String> TABLES = List.of("users", "categories", "posts");
+
+    private DatasetGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException, SQLException {
+        Map<String, String> options = parse(args);
+        DatasetSpec spec = DatasetSpec.of(
+                Integer.parseInt(options.getOrDefault("users", "10000")),
+                Integer.parseInt(options.getOrDefault("categories", "50")),
+                Long.parseLong(options.getOrDefault("posts", "1000000")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+        BlogDatasetGenerator generator = new BlogDatasetGenerator(spec);
+        Path out = Path.of(options.getOrDefault("out", "target/dataset"));
+        String format = options.getOrDefault("format", "copy");
+        String jdbcUrl = options.get("jdbc-url");
+
+        long start = System.nanoTime();
+        if ("ndjson".equals(format)) {
+            new NdjsonDatasetWriter(Jackson2ObjectMapperBuilder.json().build())
+                    .write(generator, out);
+        } else if (!"copy".equals(format)) {
+            throw new IllegalArgumentException("Unknown format: " + format);
+        } else if (jdbcUrl != null) {
+            try (Connection connection = DriverManager.getConnection(jdbcUrl,
+                    options.get("jdbc-user"), options.get("jdbc-password"))) {
+                copyToPostgres(generator, connection);
+            }
+        } else {
+            Files.createDirectories(out);
+            new CopyDatasetWriter().write(generator,
+                    (table, columns) -> Files.newOutputStream(out.resolve(table + ".tsv")));
+        }
+        log.info("Generated {} users, {} categories, {} posts as {} in {} ms", spec.users(),
+                spec.categories(), spec.posts(), format,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void copyToPostgres(BlogDatasetGenerator generator, Connection connection)
+            throws IOException, SQLException {
+        PGConnection pgConnection = connection.unwrap(PGConnection.class);
+        new CopyDatasetWriter().write(generator, (table, columns) -> open(pgConnection,
+                table, columns));
+        // Идентификаторы заданы явно, поэтому счетчики IDENTITY нужно сдвинуть за них
+        try (Statement statement = connection.createStatement()) {
+            for (String table : TABLES) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table
+                        + "', 'id'), COALESCE((SELECT MAX(id) FROM " + table + "), 0) + 1, false)");
+            }
+        }
+    }
+
+    private static OutputStream open(PGConnection connection, String table,
+                                     List<String> columns) throws IOException {
+        try {
+            return new PGCopyOutputStream(connection, "COPY " + table + " ("
+                    + String.join(", ", columns) + ") FROM STDIN");
+        } catch (SQLException e) {
+            throw new IOException("Failed to start COPY into " + table, e);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.personalblog.datagen;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Параметры синтетического набора данных.
+ *
+ * @param users             число пользователей
+ * @param categories        число категорий
+ * @param posts             число постов
+ * @param seed              начальное значение; одинаковые параметры дают одинаковые данные
+ * @param authorSkew        показатель Зипфа для авторов постов
+ * @param categorySkew      показатель Зипфа для категорий постов
+ * @param maxCategories     наибольшее число категорий у поста
+ * @param minContentLength  наименьшая длина текста поста в символах
+ * @param maxContentLength  наибольшая длина текста поста в символах
+ * @param contentTailIndex  показатель хвоста Парето для длины текста: чем меньше,
+ *                          тем чаще встречаются длинные посты
+ * @param russianShare      доля постов на русском языке
+ * @param maxPostsInSession наибольшее число постов, которые автор публикует подряд
+ * @param start             время создания первого поста
+ * @param period            за какой период распределены посты
+ */
+public record DatasetSpec(int users, int categories, long posts, long seed, double authorSkew,
+                          double categorySkew, int maxCategories, int minContentLength,
+                          int maxContentLength, double contentTailIndex, double russianShare,
+                          int maxPostsInSession, LocalDateTime start, Duration period) {
+
+    public DatasetSpec {
+        if (users <= 0 || categories <= 0 || posts < 0) {
+            throw new IllegalArgumentException("Dataset sizes must be positive");
+        }
+        if (minContentLength < 10 || maxContentLength < minContentLength) {
+            throw new IllegalArgumentException("Content length must be at least 10 characters");
+        }
+    }
+
+    /**
+     * Параметры по умолчанию для заданных размеров.
+     */
+    public static DatasetSpec of(int users, int categories, long posts, long seed) {
+        return new DatasetSpec(users, categories, posts, seed, 1.1, 1.0, 3, 200, 50_000, 1.5,
+                0.7, 5, LocalDateTime.of(2023, 1, 1, 0, 0), Duration.ofDays(730));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.personalblog.datagen;
+
+import com.example.personalblog.datagen.BlogDatasetGenerator.GeneratedPost;
+import com.example.personalblog.dto.BulkCreatePostRequest;
+import com.example.personalblog.dto.CreatePostRequest;
+import com.example.personalblog.dto.CreateUserRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Набор данных в NDJSON для загрузки через API.
+ *
+ * <p>{@code users.ndjson} содержит тела {@code POST /api/users}, {@code posts.ndjson} —
+ * тела {@code POST /api/posts/bulk}: подряд идущие посты одного автора объединяются
+ * в один запрос. Поле {@code userId} — идентификатор из генератора, он совпадает
+ * с выданным базой, если пользователи загружаются первыми и по порядку в пустую базу.
+ * Категории отдельно не выгружаются: сервис создает их по названиям из постов.
+ */
+public class NdjsonDatasetWriter {
+
+    /**
+     * Сколько постов помещается в один запрос; согласовано с бюджетом запросов
+     * к базе у {@code POST /api/posts/bulk}.
+     */
+    public static final int MAX_POSTS_PER_REQUEST = 7;
+
+    private final ObjectMapper objectMapper;
+
+    public NdjsonDatasetWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    public void write(BlogDatasetGenerator generator, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (Writer out = writer(directory.resolve("users.ndjson"))) {
+            generator.users(user -> {
+                CreateUserRequest request = new CreateUserRequest();
+                request.setUsername(user.username());
+                request.setVisibleName(user.visibleName());
+                request.setEmail(user.email());
+                writeLine(out, request);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        try (Writer out = writer(directory.resolve("posts.ndjson"))) {
+            List<CreatePostRequest> batch = new ArrayList<>(MAX_POSTS_PER_REQUEST);
+            long[] batchAuthor = {0};
+            generator.posts(post -> {
+                if (post.authorId() != batchAuthor[0] || batch.size() == MAX_POSTS_PER_REQUEST) {
+                    flush(out, batchAuthor[0], batch);
+                    batchAuthor[0] = post.authorId();
+                }
+                batch.add(request(generator, post));
+            });
+            flush(out, batchAuthor[0], batch);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void flush(Writer out, long authorId, List<CreatePostRequest> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        BulkCreatePostRequest request = new BulkCreatePostRequest();
+        request.setUserId(authorId);
+        request.setPosts(List.copyOf(batch));
+        writeLine(out, request);
+        batch.clear();
+    }
+
+    private static CreatePostRequest request(BlogDatasetGenerator generator, GeneratedPost post) {
+        CreatePostRequest request = new CreatePostRequest();
+        request.setTitle(post.title());
+        request.setContent(post.content());
+        request.setCategoryNames(post.categoryIds().stream()
+                .map(generator::categoryName)
+                .toList());
+        return request;
+    }
+
+    private void writeLine(Writer out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsString(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Writer writer(Path file) throws IOException {
+        return Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.personalblog.datagen;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * Текст на русском или английском: слова берутся из небольшого словаря
+ * с частотами по Зипфу, как в естественном языке, и собираются в предложения и абзацы.
+ */
+public final class TextGenerator {
+
+    /**
+     * Язык текста.
+     */
+    public enum Language {
+        RU(
+                List.of("и", "в", "не", "на", "что", "с", "это", "как", "для", "по", "но", "из",
+                        "при"),
+                List.of("данные", "сервис", "запрос", "ответ", "блог", "пост", "статья", "автор",
+                        "категория", "кэш", "поток", "память", "время", "задержка", "нагрузка",
+                        "база", "индекс", "таблица", "транзакция", "сервер", "клиент", "приложение",
+                        "код", "тест", "метрика", "журнал", "файл", "система", "пользователь",
+                        "ошибка", "производительность", "масштабирование", "репликация", "очередь",
+                        "событие", "быстро", "медленно", "просто", "сложно", "всегда", "иногда",
+                        "снова", "потом", "новый", "старый", "большой", "маленький", "важный",
+                        "удобный", "надежный", "работает", "читает", "пишет", "хранит", "считает",
+                        "проверяет", "ускоряет", "Java", "Spring", "PostgreSQL", "HTTP", "JSON")),
+        EN(
+                List.of("the", "of", "and", "to", "a", "in", "is", "it", "for", "on", "with", "as",
+                        "at"),
+                List.of("data", "service", "request", "response", "blog", "post", "article",
+                        "author", "category", "cache", "thread", "memory", "time", "latency",
+                        "load", "database", "index", "table", "transaction", "server", "client",
+                        "application", "code", "test", "metric", "log", "file", "system", "user",
+                        "error", "performance", "scaling", "replication", "queue", "event",
+                        "quickly", "slowly", "simply", "always", "sometimes", "again", "later",
+                        "new", "old", "large", "small", "important", "useful", "reliable", "works",
+                        "reads", "writes", "stores", "counts", "checks", "improves", "Java",
+                        "Spring", "PostgreSQL", "HTTP", "JSON"));
+
+        private final List<String> words;
+        private final ZipfSampler sampler;
+        private final List<String> contentWords;
+        private final ZipfSampler contentSampler;
+
+        /**
+         * Служебные слова самые частые и идут в начале словаря; заголовки
+         * составляются только из значимых слов.
+         */
+        Language(List<String> functionWords, List<String> contentWords) {
+            this.words = Stream.concat(functionWords.stream(), contentWords.stream()).toList();
+            this.sampler = new ZipfSampler(words.size(), 1.0);
+            this.contentWords = contentWords;
+            this.contentSampler = new ZipfSampler(contentWords.size(), 1.0);
+        }
+
+        String word(RandomGenerator random) {
+            return words.get(sampler.sample(random));
+        }
+
+        String contentWord(RandomGenerator random) {
+            return contentWords.get(contentSampler.sample(random));
+        }
+    }
+
+    private static final int MAX_TITLE_LENGTH = 200;
+    private static final int MIN_TITLE_LENGTH = 5;
+
+    private TextGenerator() {
+    }
+
+    /**
+     * Заголовок из 3–8 слов длиной от 5 до 200 символов.
+     */
+    public static String title(RandomGenerator random, Language language) {
+        StringBuilder title = new StringBuilder();
+        int words = 3 + random.nextInt(6);
+        for (int i = 0; i < words || title.length() < MIN_TITLE_LENGTH; i++) {
+            appendWord(title, language.contentWord(random), i == 0);
+        }
+        return title.length() > MAX_TITLE_LENGTH
+                ? title.substring(0, MAX_TITLE_LENGTH).trim()
+                : title.toString();
+    }
+
+    /**
+     * Текст длиной ровно {@code length} символов из предложений по 5–15 слов,
+     * разбитых на абзацы по 3–6 предложений.
+     */
+    public static String text(RandomGenerator random, Language language, int length) {
+        StringBuilder text = new StringBuilder(length + 32);
+        int sentencesLeft = 3 + random.nextInt(4);
+        while (text.length() < length) {
+            int words = 5 + random.nextInt(11);
+            for (int i = 0; i < words; i++) {
+                appendWord(text, language.word(random), i == 0);
+            }
+            text.append('.');
+            if (--sentencesLeft == 0) {
+                text.append("\n\n");
+                sentencesLeft = 3 + random.nextInt(4);
+            } else {
+                text.append(' ');
+            }
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+
+    private static void appendWord(StringBuilder text, String word, boolean capitalize) {
+        char last = text.isEmpty() ? '\n' : text.charAt(text.length() - 1);
+        if (last != ' ' && last != '\n') {
+            text.append(' ');
+        }
+        if (capitalize) {
+            text.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+        } else {
+            text.append(word);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.personalblog.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.helpers.NOPAppender;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Настройка логирования для бенчмарков: записи уровня INFO формируются как обычно,
+ * но уходят в пустой аппендер, чтобы ввод-вывод не искажал измерения.
+ */
+final class BenchmarkLogging {
+
+    private BenchmarkLogging() {
+    }
+
+    static void discardOutput() {
+        Logger root = (Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.detachAndStopAllAppenders();
+        NOPAppender<ILoggingEvent> appender = new NOPAppender<>();
+        appender.setContext((LoggerContext) LoggerFactory.getILoggerFactory());
+        appender.start();
+        root.addAppender(appender);
+        root.setLevel(Level.INFO);
+    }
+}
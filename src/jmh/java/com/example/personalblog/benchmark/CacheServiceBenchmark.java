@@ -0,0 +1,85 @@
+package com.example.personalblog.benchmark;
+
+import com.example.personalblog.cache.CacheService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link CacheService} под конкурентной нагрузкой: три читающих потока на один пишущий
+ * и запись вместе с инвалидацией по префиксу. При {@code keys} больше емкости кэша
+ * (100 записей) каждая запись в полный кэш вытесняет самые старые элементы.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class CacheServiceBenchmark {
+
+    @Param({"50", "500"})
+    private int keys;
+
+    private CacheService cacheService;
+    private String[] keyNames;
+    private Object value;
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.discardOutput();
+        cacheService = new CacheService();
+        keyNames = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            keyNames[i] = (i % 2 == 0 ? "posts:author:" : "users:category:") + i;
+        }
+        value = new Object();
+        for (int i = 0; i < Math.min(keys, 100); i++) {
+            cacheService.put(keyNames[i], value);
+        }
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public Object get() {
+        return cacheService.get(randomKey());
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public void put() {
+        cacheService.put(randomKey(), value);
+    }
+
+    @Benchmark
+    @Group("invalidate")
+    @GroupThreads(3)
+    public void putBeforeInvalidate() {
+        cacheService.put(randomKey(), value);
+    }
+
+    @Benchmark
+    @Group("invalidate")
+    @GroupThreads(1)
+    public void invalidateByPrefix() {
+        cacheService.invalidateByPrefix("posts:");
+    }
+
+    private String randomKey() {
+        return keyNames[ThreadLocalRandom.current().nextInt(keyNames.length)];
+    }
+}
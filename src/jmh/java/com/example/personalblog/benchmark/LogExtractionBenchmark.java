@@ -0,0 +1,143 @@
+package com.example.personalblog.benchmark;
+
+import com.example.personalblog.logs.LogResponseWriter;
+import com.example.personalblog.logs.LogSlice;
+import com.example.personalblog.logs.LogSliceLocator;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Выгрузка логов за день, как ее выполняет {@code AsyncLogService}: поиск диапазона дня
+ * в файле ({@link LogSliceLocator#locate}) и передача найденных байтов в поток ответа.
+ *
+ * <p>Файл лога в формате JSON генерируется перед запуском; размер задается параметром
+ * {@code logSizeMb} (по умолчанию 2 ГБ, для быстрой проверки — {@code -p logSizeMb=64}).
+ * Записи равномерно распределены по {@code days} дням, выгружается один из средних дней.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LogExtractionBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 5, 1);
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+
+    @Param({"2048"})
+    private long logSizeMb;
+
+    @Param({"4"})
+    private int days;
+
+    private Path directory;
+    private LogSliceLocator locator;
+    private LocalDate targetDay;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("log-extraction");
+        Path file = directory.resolve("personal-blog.log");
+        generate(file, logSizeMb * 1024 * 1024);
+        locator = new LogSliceLocator(file.toString());
+        targetDay = FIRST_DAY.plusDays(days / 2);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        locator.shutdown();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<LogSlice> locate() throws IOException {
+        return locator.locate(targetDay);
+    }
+
+    @Benchmark
+    public long extract() throws IOException {
+        List<LogSlice> slices = locator.locate(targetDay);
+        long length = slices.stream().mapToLong(LogSlice::length).sum();
+        DiscardingChannel out = new DiscardingChannel();
+        LogResponseWriter.transfer(slices, 0, length, out);
+        return out.written;
+    }
+
+    /**
+     * Пишет записи с равномерно растущими метками времени, пока файл не достигнет
+     * заданного размера. Длина записи около 200 байт, поэтому число записей
+     * оценивается заранее.
+     */
+    private void generate(Path file, long size) throws IOException {
+        long estimatedRecords = Math.max(size / 200, 1);
+        double secondsPerRecord = (double) days * 86_400 / estimatedRecords;
+        LocalDateTime start = FIRST_DAY.atStartOfDay();
+        long written = 0;
+        long record = 0;
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            while (written < size) {
+                LocalDateTime time = start.plusNanos((long) (record * secondsPerRecord * 1e9));
+                String line = "{\"@timestamp\":\"" + TIMESTAMP.format(time)
+                        + "\",\"@version\":\"1\",\"message\":\"Request processed for /api/posts/"
+                        + (record % 1000) + " in " + (record % 97) + " ms\","
+                        + "\"logger_name\":\"com.example.personalblog.aspect.LoggingAspect\","
+                        + "\"thread_name\":\"http-nio-8080-exec-" + (record % 10)
+                        + "\",\"level\":\"INFO\"}\n";
+                writer.write(line);
+                written += line.length();
+                record++;
+            }
+        }
+    }
+
+    private static final class DiscardingChannel implements WritableByteChannel {
+        private long written;
+
+        @Override
+        public int write(ByteBuffer src) {
+            int remaining = src.remaining();
+            src.position(src.limit());
+            written += remaining;
+            return remaining;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.personalblog.benchmark;
+
+import com.example.personalblog.aspect.LoggingAspect;
+import com.example.personalblog.controller.VisitCounterController;
+import com.example.personalblog.dto.VisitCountDto;
+import com.example.personalblog.service.VisitCounterService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+/**
+ * Накладные расходы {@link LoggingAspect} на вызов контроллера: прямой вызов
+ * против вызова через прокси с аспектом при разной частоте выборки
+ * (0 — трассировка выключена, 1 — каждый вызов). Записи уходят в пустой аппендер,
+ * поэтому измеряется стоимость подготовки записи, а не ввода-вывода.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LoggingAspectBenchmark {
+
+    private static final String URL = "/api/posts/1";
+
+    @Param({"0", "100", "1"})
+    private int sampleRate;
+
+    private VisitCounterController direct;
+    private VisitCounterController advised;
+
+    @Setup
+    public void setUp() {
+        BenchmarkLogging.discardOutput();
+
+        VisitCounterService visitCounterService = new VisitCounterService(5000, 16, 1.96);
+        visitCounterService.incrementVisit(URL);
+        direct = new VisitCounterController(visitCounterService, new ObjectMapper());
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(direct);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LoggingAspect(sampleRate));
+        advised = factory.getProxy();
+    }
+
+    @Benchmark
+    public VisitCountDto direct() {
+        return direct.getVisitCount(URL);
+    }
+
+    @Benchmark
+    public VisitCountDto advised() {
+        return advised.getVisitCount(URL);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.personalblog.benchmark;
+
+import com.example.personalblog.datagen.BlogDatasetGenerator;
+import com.example.personalblog.datagen.DatasetSpec;
+import com.example.personalblog.dto.PostDto;
+import com.example.personalblog.model.Category;
+import com.example.personalblog.model.Post;
+import com.example.personalblog.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Ответ со списком постов: преобразование сущностей в {@link PostDto} и сериализация
+ * списка в JSON тем же {@link ObjectMapper}, что настраивает Spring. Отдельно измеряется
+ * сериализация сущностей, которую контроллер отдает при фильтре по категории.
+ * Посты берутся из {@link BlogDatasetGenerator}, так что длина текста и число
+ * категорий распределены как в наборе для нагрузочных тестов.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class PostMappingBenchmark {
+
+    private static final int AUTHORS = 50;
+    private static final int CATEGORIES = 20;
+
+    @Param({"10", "100", "1000"})
+    private int posts;
+
+    private List<Post> entities;
+    private List<PostDto> dtos;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        BlogDatasetGenerator generator =
+                new BlogDatasetGenerator(DatasetSpec.of(AUTHORS, CATEGORIES, posts, 42));
+
+        List<User> users = new ArrayList<>();
+        generator.users(generated -> {
+            User user = new User();
+            user.setId(generated.id());
+            user.setUsername(generated.username());
+            user.setVisibleName(generated.visibleName());
+            user.setEmail(generated.email());
+            users.add(user);
+        });
+        List<Category> categories = new ArrayList<>();
+        generator.categories(generated -> categories.add(
+                new Category(generated.id(), generated.name(), new HashSet<>())));
+
+        entities = new ArrayList<>(posts);
+        generator.posts(generated -> {
+            Post post = new Post();
+            post.setId(generated.id());
+            post.setTitle(generated.title());
+            post.setContent(generated.content());
+            post.setCreatedAt(generated.createdAt());
+            post.setUpdatedAt(generated.updatedAt());
+            post.setAuthor(users.get((int) generated.authorId() - 1));
+            post.setCategories(new HashSet<>(generated.categoryIds().stream()
+                    .map(id -> categories.get(id.intValue() - 1))
+                    .toList()));
+            entities.add(post);
+        });
+        dtos = mapPosts();
+    }
+
+    @Benchmark
+    public List<PostDto> mapPosts() {
+        return entities.stream().map(PostDto::fromEntity).toList();
+    }
+
+    @Benchmark
+    public byte[] serializePostDtos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerializePosts() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(mapPosts());
+    }
+
+    @Benchmark
+    public byte[] serializePostEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.personalblog.benchmark;
+
+import com.example.personalblog.service.VisitCounterService;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * {@link VisitCounterService#incrementVisit} из нескольких потоков. URL выбираются
+ * с перекосом, как в реальном трафике: небольшая часть страниц получает большую
+ * часть посещений, поэтому потоки часто обновляют одни и те же счетчики.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class VisitCounterBenchmark {
+
+    private static final int SEQUENCE_LENGTH = 4096;
+
+    @State(Scope.Benchmark)
+    public static class Counter {
+
+        @Param({"1000"})
+        private int urls;
+
+        private VisitCounterService visitCounterService;
+        private String[] sequence;
+
+        @Setup
+        public void setUp() {
+            visitCounterService = new VisitCounterService(Long.MAX_VALUE, 16, 1.96);
+            Random random = new Random(42);
+            sequence = new String[SEQUENCE_LENGTH];
+            for (int i = 0; i < SEQUENCE_LENGTH; i++) {
+                // Куб равномерной величины смещает выбор к первым URL
+                double skewed = Math.pow(random.nextDouble(), 3);
+                sequence[i] = "/api/posts/" + (int) (skewed * urls);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int position;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            position = (int) Thread.currentThread().getId() * 97;
+        }
+    }
+
+    @Benchmark
+    public void incrementVisit(Counter counter, Cursor cursor) {
+        String url = counter.sequence[cursor.position++ & (SEQUENCE_LENGTH - 1)];
+        counter.visitCounterService.incrementVisit(url);
+    }
+}
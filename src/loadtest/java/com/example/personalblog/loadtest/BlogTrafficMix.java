@@ -0,0 +1,122 @@
+package com.example.personalblog.loadtest;
+
+import com.example.personalblog.datagen.TextGenerator;
+import com.example.personalblog.datagen.TextGenerator.Language;
+import com.example.personalblog.loadtest.LoadTestDataSeeder.SeededData;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Смесь запросов к блогу: около 80% чтений и 20% изменений. Запросы читают
+ * и обновляют начальные данные, а удаляют только посты, созданные самим тестом,
+ * поэтому чтения не получают 404 на удаленные посты.
+ */
+class BlogTrafficMix {
+
+    private final URI baseUri;
+    private final SeededData data;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+    private final Queue<Long> createdPostIds = new ConcurrentLinkedQueue<>();
+
+    BlogTrafficMix(URI baseUri, SeededData data, ObjectMapper objectMapper, Duration timeout) {
+        this.baseUri = baseUri;
+        this.data = data;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    List<LoadOperation> operations() {
+        return List.of(
+                new LoadOperation("GET /api/posts/{id}", 36,
+                        random -> get("/api/posts/" + pick(data.postIds(), random))),
+                new LoadOperation("GET /api/posts?category", 10,
+                        random -> get("/api/posts?category="
+                                + encode(pick(data.categoryNames(), random)))),
+                new LoadOperation("GET /api/posts?author", 10,
+                        random -> get("/api/posts?author="
+                                + encode(pick(data.usernames(), random)))),
+                new LoadOperation("GET /api/posts/trending", 10,
+                        random -> get("/api/posts/trending")),
+                new LoadOperation("GET /api/users/{id}", 10,
+                        random -> get("/api/users/" + pick(data.userIds(), random))),
+                new LoadOperation("GET /api/categories", 5,
+                        random -> get("/api/categories")),
+                new LoadOperation("GET /api/posts", 1,
+                        random -> get("/api/posts")),
+                new LoadOperation("POST /api/posts/user/{userId}", 8,
+                        random -> send("POST", "/api/posts/user/" + pick(data.userIds(), random),
+                                postBody(random)),
+                        this::rememberCreatedPost),
+                new LoadOperation("PUT /api/posts/{id}", 5,
+                        random -> send("PUT", "/api/posts/" + pick(data.postIds(), random),
+                                postBody(random))),
+                new LoadOperation("DELETE /api/posts/{id}", 5,
+                        random -> {
+                            Long id = createdPostIds.poll();
+                            return id == null ? null : send("DELETE", "/api/posts/" + id, null);
+                        }));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(timeout);
+        if (body == null) {
+            return builder.method(method, HttpRequest.BodyPublishers.noBody()).build();
+        }
+        try {
+            return builder.header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(
+                            objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Object> postBody(Random random) {
+        List<String> categories = new ArrayList<>();
+        categories.add(pick(data.categoryNames(), random));
+        if (random.nextBoolean()) {
+            categories.add(pick(data.categoryNames(), random));
+        }
+        Language language = random.nextBoolean() ? Language.RU : Language.EN;
+        return Map.of(
+                "title", TextGenerator.title(random, language),
+                "content", TextGenerator.text(random, language, 200 + random.nextInt(2000)),
+                "categoryNames", categories);
+    }
+
+    private void rememberCreatedPost(HttpResponse<String> response) {
+        try {
+            createdPostIds.add(objectMapper.readTree(response.body()).get("id").asLong());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> T pick(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.personalblog.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Задержки и ошибки одного вида запросов.
+ *
+ * <p>Время ответа отсчитывается от запланированного момента отправки, а не от
+ * фактического: если генератор или клиент не успели отправить запрос вовремя,
+ * ожидание тоже попадает в задержку (без этого получается coordinated omission).
+ * Время обслуживания от фактической отправки хранится отдельно для сравнения.
+ */
+final class EndpointStats {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final double NANOS_PER_MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final String name;
+    private final Recorder responseTime = new Recorder(SIGNIFICANT_DIGITS);
+    private final Recorder serviceTime = new Recorder(SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    void record(long intendedNanos, long sentNanos, long completedNanos, boolean success) {
+        responseTime.recordValue(Math.max(completedNanos - intendedNanos, 0));
+        serviceTime.recordValue(Math.max(completedNanos - sentNanos, 0));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    LoadTestReport.EndpointReport report(double seconds) {
+        Histogram response = responseTime.getIntervalHistogram();
+        Histogram service = serviceTime.getIntervalHistogram();
+        long requests = response.getTotalCount();
+        return new LoadTestReport.EndpointReport(
+                name,
+                requests,
+                errors.sum(),
+                requests / seconds,
+                millis(response, 50),
+                millis(response, 90),
+                millis(response, 99),
+                millis(response, 99.9),
+                response.getMaxValue() / NANOS_PER_MS,
+                millis(service, 50),
+                millis(service, 99));
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MS;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.personalblog.loadtest;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Вид запроса в смеси нагрузки.
+ *
+ * @param name      имя в отчете, обычно метод и шаблон пути
+ * @param weight    относительная доля запросов этого вида
+ * @param request   строит очередной запрос или возвращает {@code null}, если запрос
+ *                  сейчас невозможен (например, нечего удалять)
+ * @param onSuccess обработчик успешного ответа
+ */
+record LoadOperation(String name, int weight, Function<Random, HttpRequest> request,
+                     Consumer<HttpResponse<String>> onSuccess) {
+
+    LoadOperation(String name, int weight, Function<Random, HttpRequest> request) {
+        this(name, weight, request, response -> { });
+    }
+}
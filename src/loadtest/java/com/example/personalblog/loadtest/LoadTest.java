@@ -0,0 +1,94 @@
+package com.example.personalblog.loadtest;
+
+import com.example.personalblog.PersonalBlogApplication;
+import com.example.personalblog.loadtest.LoadTestDataSeeder.SeededData;
+import com.example.personalblog.repository.CategoryRepository;
+import com.example.personalblog.repository.PostRepository;
+import com.example.personalblog.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Нагрузочный тест всего приложения по HTTP.
+ *
+ * <p>Запускает приложение с профилем {@code loadtest} (H2 в режиме PostgreSQL на
+ * случайном порту), заполняет базу, подает смешанную нагрузку и печатает пропускную
+ * способность и перцентили задержек по каждому виду запросов; те же результаты
+ * сохраняются в JSON. Параметры {@code loadtest.*} переопределяются аргументами,
+ * например {@code --loadtest.rate=500 --loadtest.duration=2m}.
+ *
+ * <p>Код завершения: 0 — тест прошел, 1 — тест не удалось выполнить, 2 — доля ошибок
+ * выше {@code loadtest.max-error-rate}.
+ */
+@Slf4j
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext context =
+                new SpringApplicationBuilder(PersonalBlogApplication.class)
+                        .profiles("loadtest")
+                        .run(args);
+        int exitCode;
+        try {
+            exitCode = run(context) ? 0 : 2;
+        } catch (Exception e) {
+            log.error("Load test failed", e);
+            exitCode = 1;
+        }
+        System.exit(SpringApplication.exit(context, () -> 0) + exitCode);
+    }
+
+    /**
+     * @return {@code false}, если доля ошибок превысила {@code loadtest.max-error-rate}
+     */
+    private static boolean run(ConfigurableApplicationContext context) throws Exception {
+        LoadTestProperties properties = Binder.get(context.getEnvironment())
+                .bindOrCreate("loadtest", LoadTestProperties.class);
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+
+        log.info("Seeding {} users, {} categories, {} posts", properties.users(),
+                properties.categories(), properties.posts());
+        SeededData data = new LoadTestDataSeeder(
+                context.getBean(UserRepository.class),
+                context.getBean(CategoryRepository.class),
+                context.getBean(PostRepository.class))
+                .seed(properties);
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        URI baseUri = URI.create("http://localhost:" + port);
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.drainTimeout())
+                .build();
+        BlogTrafficMix mix = new BlogTrafficMix(baseUri, data, objectMapper,
+                properties.drainTimeout());
+        OpenModelLoadGenerator generator = new OpenModelLoadGenerator(client, mix.operations(),
+                properties.rate(), properties.seed());
+
+        log.info("Running {} req/s: warmup {}, measurement {}", properties.rate(),
+                properties.warmup(), properties.duration());
+        LoadTestReport report = generator.run(properties.warmup(), properties.duration(),
+                properties.drainTimeout());
+        report.print(System.out);
+        Path resultFile = Path.of(properties.resultFile());
+        report.write(resultFile, objectMapper);
+        log.info("Load test result is saved to {}", resultFile.toAbsolutePath());
+        if (report.errorRate() > properties.maxErrorRate()) {
+            log.error("Error rate {} exceeds loadtest.max-error-rate {}",
+                    String.format("%.4f", report.errorRate()), properties.maxErrorRate());
+            return false;
+        }
+        return true;
+    }
+}
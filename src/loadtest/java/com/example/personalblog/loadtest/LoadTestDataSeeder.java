@@ -0,0 +1,95 @@
+package com.example.personalblog.loadtest;
+
+import com.example.personalblog.datagen.BlogDatasetGenerator;
+import com.example.personalblog.datagen.BlogDatasetGenerator.GeneratedPost;
+import com.example.personalblog.datagen.DatasetSpec;
+import com.example.personalblog.model.Category;
+import com.example.personalblog.model.Post;
+import com.example.personalblog.model.User;
+import com.example.personalblog.repository.CategoryRepository;
+import com.example.personalblog.repository.PostRepository;
+import com.example.personalblog.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Заполняет базу данными {@link BlogDatasetGenerator} через репозитории, минуя HTTP,
+ * чтобы подготовка не входила в измерения.
+ */
+class LoadTestDataSeeder {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final PostRepository postRepository;
+
+    LoadTestDataSeeder(UserRepository userRepository, CategoryRepository categoryRepository,
+                       PostRepository postRepository) {
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.postRepository = postRepository;
+    }
+
+    /**
+     * Идентификаторы и имена созданных записей, из которых строятся запросы.
+     */
+    record SeededData(List<Long> userIds, List<String> usernames, List<String> categoryNames,
+                      List<Long> postIds) {
+    }
+
+    SeededData seed(LoadTestProperties properties) {
+        BlogDatasetGenerator generator = new BlogDatasetGenerator(DatasetSpec.of(
+                properties.users(), properties.categories(), properties.posts(),
+                properties.seed()));
+
+        List<User> users = new ArrayList<>(properties.users());
+        generator.users(generated -> {
+            User user = new User();
+            user.setUsername(generated.username());
+            user.setVisibleName(generated.visibleName());
+            user.setEmail(generated.email());
+            users.add(user);
+        });
+        List<User> savedUsers = userRepository.saveAll(users);
+
+        List<Category> categories = new ArrayList<>(properties.categories());
+        generator.categories(generated -> {
+            Category category = new Category();
+            category.setName(generated.name());
+            categories.add(category);
+        });
+        List<Category> savedCategories = categoryRepository.saveAll(categories);
+
+        // Идентификаторы генератора идут с единицы и служат индексами в сохраненных списках
+        List<Long> postIds = new ArrayList<>(properties.posts());
+        List<Post> batch = new ArrayList<>(BATCH_SIZE);
+        generator.posts(generated -> {
+            batch.add(post(generated, savedUsers, savedCategories));
+            if (batch.size() == BATCH_SIZE) {
+                postRepository.saveAll(batch).forEach(post -> postIds.add(post.getId()));
+                batch.clear();
+            }
+        });
+        postRepository.saveAll(batch).forEach(post -> postIds.add(post.getId()));
+
+        return new SeededData(
+                savedUsers.stream().map(User::getId).toList(),
+                savedUsers.stream().map(User::getUsername).toList(),
+                savedCategories.stream().map(Category::getName).toList(),
+                postIds);
+    }
+
+    private static Post post(GeneratedPost generated, List<User> users,
+                             List<Category> categories) {
+        Post post = new Post();
+        post.setTitle(generated.title());
+        post.setContent(generated.content());
+        post.setAuthor(users.get((int) generated.authorId() - 1));
+        post.setCategories(new HashSet<>(generated.categoryIds().stream()
+                .map(id -> categories.get(id.intValue() - 1))
+                .toList()));
+        return post;
+    }
+}
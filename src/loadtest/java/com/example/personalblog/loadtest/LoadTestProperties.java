@@ -0,0 +1,23 @@
+package com.example.personalblog.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Параметры нагрузочного теста ({@code loadtest.*}).
+ *
+ * @param users        число пользователей в начальных данных
+ * @param categories   число категорий в начальных данных
+ * @param posts        число постов в начальных данных
+ * @param seed         начальное значение генераторов случайных чисел
+ * @param rate         целевая интенсивность запросов в секунду
+ * @param warmup       прогрев, запросы которого не попадают в отчет
+ * @param duration     длительность измерения
+ * @param drainTimeout сколько ждать ответы на уже отправленные запросы
+ * @param resultFile   файл с результатами в JSON
+ * @param maxErrorRate допустимая доля ошибок и запросов без ответа; при превышении
+ *                     тест завершается с ненулевым кодом
+ */
+public record LoadTestProperties(int users, int categories, int posts, long seed, double rate,
+                                 Duration warmup, Duration duration, Duration drainTimeout,
+                                 String resultFile, double maxErrorRate) {
+}
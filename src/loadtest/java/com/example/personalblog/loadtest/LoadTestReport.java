@@ -0,0 +1,74 @@
+package com.example.personalblog.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Итоги нагрузочного теста.
+ *
+ * @param targetRate         заданная интенсивность, запросов в секунду
+ * @param achievedRate       завершенные запросы в секунду за время измерения
+ * @param durationSeconds    длительность измерения
+ * @param requests           завершенные запросы
+ * @param errors             ответы с кодом 4xx/5xx и сетевые ошибки
+ * @param incomplete         запросы без ответа к концу ожидания
+ * @param maxSchedulingLagMs наибольшее опоздание отправки относительно плана; если оно
+ *                           велико, узким местом был сам генератор
+ * @param endpoints          результаты по видам запросов
+ */
+record LoadTestReport(double targetRate, double achievedRate, double durationSeconds,
+                      long requests, long errors, long incomplete, double maxSchedulingLagMs,
+                      List<EndpointReport> endpoints) {
+
+    /**
+     * Результаты одного вида запросов. Перцентили времени ответа учитывают ожидание
+     * отправки, перцентили времени обслуживания — только время от отправки до ответа.
+     */
+    record EndpointReport(String endpoint, long requests, long errors, double throughput,
+                          double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs,
+                          double serviceP50Ms, double serviceP99Ms) {
+    }
+
+    static LoadTestReport of(double targetRate, double durationSeconds, long incomplete,
+                             double maxSchedulingLagMs, List<EndpointReport> endpoints) {
+        long requests = endpoints.stream().mapToLong(EndpointReport::requests).sum();
+        long errors = endpoints.stream().mapToLong(EndpointReport::errors).sum();
+        return new LoadTestReport(targetRate, requests / durationSeconds, durationSeconds,
+                requests, errors, incomplete, maxSchedulingLagMs, endpoints);
+    }
+
+    /**
+     * Доля запросов, завершившихся ошибкой или оставшихся без ответа.
+     */
+    double errorRate() {
+        long total = requests + incomplete;
+        return total == 0 ? 0 : (double) (errors + incomplete) / total;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-32s %9s %7s %9s %9s %9s %9s %9s %9s %11s%n", "Endpoint", "Requests",
+                "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms",
+                "svc p99 ms");
+        for (EndpointReport endpoint : endpoints) {
+            out.printf("%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %11.2f%n",
+                    endpoint.endpoint(), endpoint.requests(), endpoint.errors(),
+                    endpoint.throughput(), endpoint.p50Ms(), endpoint.p90Ms(), endpoint.p99Ms(),
+                    endpoint.p999Ms(), endpoint.maxMs(), endpoint.serviceP99Ms());
+        }
+        out.printf("Target %.1f req/s, achieved %.1f req/s over %.0f s: %d requests, "
+                        + "%d errors, %d incomplete, max scheduling lag %.2f ms%n",
+                targetRate, achievedRate, durationSeconds, requests, errors, incomplete,
+                maxSchedulingLagMs);
+    }
+
+    void write(Path file, ObjectMapper objectMapper) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), this);
+    }
+}
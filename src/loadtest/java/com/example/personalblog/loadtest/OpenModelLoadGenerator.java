@@ -0,0 +1,136 @@
+package com.example.personalblog.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Генератор нагрузки по открытой модели: запросы приходят пуассоновским потоком
+ * с заданной интенсивностью независимо от того, успел ли сервис ответить
+ * на предыдущие. Запросы отправляются асинхронно, поэтому медленный ответ
+ * не задерживает следующие, а задержка считается от запланированного момента.
+ */
+class OpenModelLoadGenerator {
+
+    private static final long DRAIN_POLL_MS = 10;
+
+    private final HttpClient client;
+    private final List<LoadOperation> operations;
+    private final int totalWeight;
+    private final double rate;
+    private final Random random;
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong measuredPending = new AtomicLong();
+
+    OpenModelLoadGenerator(HttpClient client, List<LoadOperation> operations, double rate,
+                           long seed) {
+        this.client = client;
+        this.operations = operations;
+        this.totalWeight = operations.stream().mapToInt(LoadOperation::weight).sum();
+        this.rate = rate;
+        this.random = new Random(seed);
+        operations.forEach(operation ->
+                stats.put(operation.name(), new EndpointStats(operation.name())));
+    }
+
+    /**
+     * Выполняет прогрев и измерение, затем ждет ответы на отправленные запросы
+     * не дольше {@code drainTimeout}.
+     */
+    LoadTestReport run(Duration warmup, Duration duration, Duration drainTimeout)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        double nanosPerRequest = TimeUnit.SECONDS.toNanos(1) / rate;
+        double next = start;
+        long maxLagNanos = 0;
+        while (true) {
+            // Экспоненциальные интервалы между запросами дают пуассоновский поток
+            next += -Math.log(1 - random.nextDouble()) * nanosPerRequest;
+            long intended = (long) next;
+            if (intended >= end) {
+                break;
+            }
+            waitUntil(intended);
+            boolean measured = intended >= measureFrom;
+            if (measured) {
+                maxLagNanos = Math.max(maxLagNanos, System.nanoTime() - intended);
+            }
+            issue(intended, measured);
+        }
+
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(DRAIN_POLL_MS);
+        }
+
+        double seconds = duration.toNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+        List<LoadTestReport.EndpointReport> endpoints = stats.values().stream()
+                .map(endpointStats -> endpointStats.report(seconds))
+                .toList();
+        return LoadTestReport.of(rate, seconds, measuredPending.get(),
+                maxLagNanos / (double) TimeUnit.MILLISECONDS.toNanos(1), endpoints);
+    }
+
+    private void issue(long intended, boolean measured) {
+        LoadOperation operation = null;
+        HttpRequest request = null;
+        // Если выбранный запрос сейчас невозможен, выбирается другой, чтобы не терять темп
+        for (int attempt = 0; request == null && attempt < operations.size(); attempt++) {
+            operation = choose();
+            request = operation.request().apply(random);
+        }
+        if (request == null) {
+            return;
+        }
+
+        LoadOperation chosen = operation;
+        EndpointStats endpointStats = stats.get(chosen.name());
+        inFlight.incrementAndGet();
+        if (measured) {
+            measuredPending.incrementAndGet();
+        }
+        long sent = System.nanoTime();
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    long completed = System.nanoTime();
+                    boolean success = error == null && response.statusCode() < 400;
+                    if (measured) {
+                        endpointStats.record(intended, sent, completed, success);
+                        measuredPending.decrementAndGet();
+                    }
+                    if (success) {
+                        chosen.onSuccess().accept(response);
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    private LoadOperation choose() {
+        int value = random.nextInt(totalWeight);
+        for (LoadOperation operation : operations) {
+            value -= operation.weight();
+            if (value < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Weights do not cover " + totalWeight);
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -1,58 +1,93 @@
 package com.example.personalblog.aspect;
 
 import com.example.personalblog.exception.ResourceNotFoundException;
-import java.util.Arrays;
+import com.example.personalblog.monitoring.RequestStats;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.ErrorResponse;
 
-
-
+/**
+ * Трассировка вызовов контроллеров и обработчиков исключений.
+ *
+ * <p>Все, что можно определить заранее — имя метода и вид точки соединения, —
+ * вычисляется один раз на {@link Method} и кешируется. Вызовы контроллеров
+ * записываются выборочно: один из {@code blog.logging.trace.sample-rate}
+ * (0 — трассировка выключена). Вместо содержимого аргументов и результата
+ * пишутся их размеры и идентификаторы, поэтому стоимость записи не зависит
+ * от объема данных. Обработка исключений пишется всегда: ошибки клиента — WARN,
+ * ошибки сервера — ERROR.
+ *
+ * <p>Вызванный контроллер и его аргументы запоминаются в {@link RequestStats}
+ * текущего запроса, чтобы описать их, если запрос окажется медленным.
+ */
 @Aspect
 @Component
 @Slf4j
 public class LoggingAspect {
 
-
-    @Around("within(com.example.personalblog.controller..*) || "
-            + "within(com.example.personalblog.exceptionhandler..*)")
-    public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().toShortString();
-        Object[] args = joinPoint.getArgs();
-        String packageName = joinPoint.getSignature().getDeclaringType().getPackage().getName();
-
-        if (packageName.contains("exceptionhandler")) {
-            String exceptionMessage = extractExceptionMessage(args);
-            if (methodName.contains("handleEntityNotFoundException")
-                    || methodName.contains("handleIllegalArgumentException")) {
-                log.warn("Handling exception in method: {} with message: {}",
-                        methodName, exceptionMessage);
-            } else if (methodName.contains("handleGenericException")) {
-                log.error("Handling exception in method: {} with message: {}",
-                        methodName, exceptionMessage);
+    private static final int MAX_VALUE_LENGTH = 64;
+    private static final ClassValue<Optional<Method>> ID_ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Optional<Method> computeValue(Class<?> type) {
+            try {
+                return Optional.of(type.getMethod("getId"));
+            } catch (NoSuchMethodException e) {
+                return Optional.empty();
             }
-        } else {
-            log.info("Entering method: {} with arguments: {}", methodName, Arrays.toString(args));
         }
+    };
 
-        long startTime = System.currentTimeMillis();
-        try {
-            Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
+    private final int sampleRate;
+    private final Map<Method, JoinPointInfo> joinPoints = new ConcurrentHashMap<>();
 
-            if (!packageName.contains("exceptionhandler")) {
-                log.info("Exiting method: {} with result: {} (execution time: {}ms)",
-                        methodName, result, executionTime);
-            }
+    public LoggingAspect(@Value("${blog.logging.trace.sample-rate:100}") int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
 
+    @Around("within(com.example.personalblog.controller..*) || "
+            + "within(com.example.personalblog.exceptionhandler..*)")
+    public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        JoinPointInfo info = describe(joinPoint);
+        if (info.exceptionHandler()) {
+            Object result = joinPoint.proceed();
+            logHandledException(info, joinPoint.getArgs(), result);
             return result;
-        } catch (Throwable throwable) {
-            throw throwable;
         }
+        RequestStats stats = RequestStats.current();
+        if (stats != null) {
+            stats.handlerInvoked(info.name(), joinPoint.getArgs());
+        }
+        if (!isSampled()) {
+            return joinPoint.proceed();
+        }
+
+        log.info("Entering method: {} with arguments: {}",
+                info.name(), summarizeAll(joinPoint.getArgs()));
+        long startTime = System.nanoTime();
+        Object result = joinPoint.proceed();
+        log.info("Exiting method: {} with result: {} (execution time: {}ms)",
+                info.name(), summarize(result),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        return result;
     }
 
     @AfterThrowing(
@@ -60,20 +95,116 @@ public class LoggingAspect {
             throwing = "ex"
     )
     public void logAfterThrowing(JoinPoint joinPoint, Throwable ex) {
-        String methodName = joinPoint.getSignature().toShortString();
-        if (ex instanceof ResourceNotFoundException || ex instanceof IllegalArgumentException) {
+        String methodName = describe(joinPoint).name();
+        if (isClientError(ex)) {
             log.warn("Exception in method: {} with message: {}", methodName, ex.getMessage());
         } else {
             log.error("Exception in method: {} with message: {}", methodName, ex.getMessage());
         }
     }
 
-    private String extractExceptionMessage(Object[] args) {
+    private boolean isSampled() {
+        return sampleRate > 0 && log.isInfoEnabled()
+                && (sampleRate == 1 || ThreadLocalRandom.current().nextInt(sampleRate) == 0);
+    }
+
+    private JoinPointInfo describe(JoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        JoinPointInfo info = joinPoints.get(method);
+        if (info == null) {
+            info = joinPoints.computeIfAbsent(method, key -> new JoinPointInfo(
+                    joinPoint.getSignature().toShortString(),
+                    key.getDeclaringClass().getPackageName().endsWith(".exceptionhandler")));
+        }
+        return info;
+    }
+
+    /**
+     * Уровень записи определяется статусом ответа обработчика: ошибки клиента (4xx) —
+     * WARN, ошибки сервера и ответы без статуса — ERROR.
+     */
+    private static void logHandledException(JoinPointInfo info, Object[] args, Object result) {
         for (Object arg : args) {
-            if (arg instanceof Throwable) {
-                return ((Throwable) arg).getMessage();
+            if (arg instanceof Throwable throwable) {
+                HttpStatusCode status = result instanceof ResponseEntity<?> response
+                        ? response.getStatusCode()
+                        : null;
+                if (status != null && status.is4xxClientError()) {
+                    log.warn("Handling exception in method: {} with status {} and message: {}",
+                            info.name(), status.value(), throwable.getMessage());
+                } else {
+                    log.error("Handling exception in method: {} with status {} and message: {}",
+                            info.name(), status == null ? "?" : status.value(),
+                            throwable.getMessage());
+                }
+                return;
             }
         }
-        return "Unknown exception message";
     }
-}
\ No newline at end of file
+
+    private static boolean isClientError(Throwable ex) {
+        return ex instanceof ResourceNotFoundException || ex instanceof IllegalArgumentException
+                || ex instanceof ErrorResponse response
+                && response.getStatusCode().is4xxClientError();
+    }
+
+    /**
+     * Краткое описание списка аргументов в формате {@code [a, b, ...]}.
+     */
+    public static String summarizeAll(Object[] args) {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(summarize(args[i]));
+        }
+        return builder.append(']').toString();
+    }
+
+    /**
+     * Краткое описание значения: скаляры как есть (с ограничением длины),
+     * коллекции — размером, сущности и DTO — типом и идентификатором.
+     */
+    static String summarize(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof ResponseEntity<?> response) {
+            return response.getStatusCode().value() + " " + summarize(response.getBody());
+        }
+        if (value instanceof CharSequence text) {
+            return text.length() <= MAX_VALUE_LENGTH
+                    ? '"' + text.toString() + '"'
+                    : "String(length=" + text.length() + ")";
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?>
+                || value instanceof UUID || value instanceof TemporalAccessor) {
+            return value.toString();
+        }
+        if (value instanceof Collection<?> collection) {
+            return value.getClass().getSimpleName() + "(size=" + collection.size() + ")";
+        }
+        if (value instanceof Map<?, ?> map) {
+            return value.getClass().getSimpleName() + "(size=" + map.size() + ")";
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName()
+                    + "[" + Array.getLength(value) + "]";
+        }
+        return value.getClass().getSimpleName() + ID_ACCESSORS.get(value.getClass())
+                .map(accessor -> "#" + invoke(accessor, value))
+                .orElse("");
+    }
+
+    private static Object invoke(Method accessor, Object target) {
+        try {
+            return accessor.invoke(target);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return "?";
+        }
+    }
+
+    private record JoinPointInfo(String name, boolean exceptionHandler) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.personalblog.aspect;
+
+/**
+ * Имена репозиториев для записи в события и span-ы.
+ */
+final class RepositoryNames {
+
+    // Репозиторий — прокси Spring Data, реализующий интерфейс из пакета repository
+    private static final ClassValue<String> NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            for (Class<?> repository : type.getInterfaces()) {
+                if (repository.getName().startsWith("com.example.personalblog.repository.")) {
+                    return repository.getSimpleName();
+                }
+            }
+            return type.getSimpleName();
+        }
+    };
+
+    private RepositoryNames() {
+    }
+
+    static String of(Object repository) {
+        return NAMES.get(repository.getClass());
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.personalblog.aspect;
+
+import com.example.personalblog.profiling.RepositoryQueryEvent;
+import java.util.Collection;
+import java.util.Optional;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Записывает вызовы репозиториев Spring Data как события
+ * {@link RepositoryQueryEvent} Java Flight Recorder.
+ *
+ * <p>Если событие не включено ни в одной активной записи, вызов проходит напрямую,
+ * так что без записи JFR стоимость аспекта — одна проверка.
+ */
+@Aspect
+@Component
+public class RepositoryProfilingAspect {
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object recordQuery(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryQueryEvent event = new RepositoryQueryEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = joinPoint.proceed();
+        event.end();
+        if (event.shouldCommit()) {
+            event.repository = RepositoryNames.of(joinPoint.getTarget());
+            event.method = joinPoint.getSignature().getName();
+            event.resultSize = resultSize(result);
+            event.commit();
+        }
+        return result;
+    }
+
+    private static int resultSize(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.personalblog.aspect;
+
+import com.example.personalblog.tracing.Span;
+import com.example.personalblog.tracing.SpanLayer;
+import com.example.personalblog.tracing.Trace;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Записывает вызовы контроллеров, сервисов, кэша и репозиториев как span-ы
+ * трассы текущего запроса.
+ *
+ * <p>Если запрос не попал в выборку {@link com.example.personalblog.tracing.TracingFilter},
+ * трассы нет и вызов проходит напрямую после одного обращения к {@link ThreadLocal}.
+ * Аспект выполняется раньше транзакционного, поэтому span сервиса включает фиксацию
+ * транзакции.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingAspect {
+
+    private final Map<Method, String> spanNames = new ConcurrentHashMap<>();
+
+    @Around("within(com.example.personalblog.controller..*)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, SpanLayer.CONTROLLER);
+    }
+
+    @Around("within(com.example.personalblog.service..*)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, SpanLayer.SERVICE);
+    }
+
+    @Around("within(com.example.personalblog.cache..*)")
+    public Object traceCache(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, SpanLayer.CACHE);
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, SpanLayer.REPOSITORY);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, SpanLayer layer) throws Throwable {
+        Trace trace = Trace.current();
+        if (trace == null) {
+            return joinPoint.proceed();
+        }
+        Span span = trace.startSpan(spanName(joinPoint, layer), layer);
+        boolean failed = true;
+        try {
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
+        } finally {
+            trace.endSpan(span, failed);
+        }
+    }
+
+    private String spanName(ProceedingJoinPoint joinPoint, SpanLayer layer) {
+        // Методы репозиториев объявлены в общих интерфейсах Spring Data,
+        // поэтому имя репозитория берется из прокси
+        if (layer == SpanLayer.REPOSITORY) {
+            return RepositoryNames.of(joinPoint.getTarget()) + "."
+                    + joinPoint.getSignature().getName();
+        }
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        String name = spanNames.get(method);
+        if (name == null) {
+            name = spanNames.computeIfAbsent(method,
+                    key -> key.getDeclaringClass().getSimpleName() + "." + key.getName());
+        }
+        return name;
+    }
+}
@@ -1,81 +1,134 @@
-package com.example.personalblog.cache;
-
-import java.time.LocalDateTime;
-import java.util.Comparator;
-import java.util.concurrent.ConcurrentHashMap;
-import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.RequiredArgsConstructor;
-import lombok.Setter;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.EnableScheduling;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.stereotype.Service;
-
-@NoArgsConstructor
-@Service
-@EnableScheduling
-@Slf4j
-public class CacheService {
-
-    private static final int MAX_CACHE_SIZE = 100;
-    private static final int ENTRIES_TO_REMOVE = 5;
-    private static final long TTL_SECONDS = 60;
-
-    private final ConcurrentHashMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
-
-    public void put(String key, Object value) {
-        if (cache.size() >= MAX_CACHE_SIZE) {
-            removeOldestEntries();
-        }
-        cache.put(key, new CacheEntry(value, LocalDateTime.now()));
-    }
-
-    public Object get(String key) {
-        CacheEntry entry = cache.get(key);
-        if (entry == null) {
-            return null;
-        }
-        if (isExpired(entry)) {
-            cache.remove(key);
-            return null;
-        }
-        log.info("Cache hit for key: {}", key);
-        return entry.getValue();
-    }
-
-    public void invalidate(String key) {
-        cache.remove(key);
-    }
-
-    public void invalidateByPrefix(String prefix) {
-        cache.keySet().removeIf(key -> key.startsWith(prefix));
-    }
-
-    @Scheduled(fixedRate = 60000)
-    public void cleanExpiredEntries() {
-        cache.entrySet().removeIf(entry -> isExpired(entry.getValue()));
-    }
-
-    private boolean isExpired(CacheEntry entry) {
-        return entry.getTimestamp()
-                .plusSeconds(TTL_SECONDS)
-                .isBefore(LocalDateTime.now());
-    }
-
-    private void removeOldestEntries() {
-        cache.entrySet().stream()
-                .sorted(Comparator.comparing(
-                        entry -> entry.getValue().getTimestamp()))
-                .limit(ENTRIES_TO_REMOVE)
-                .forEach(entry -> cache.remove(entry.getKey()));
-    }
-
-    @Getter
-    @Setter
-    @RequiredArgsConstructor
-    private static class CacheEntry {
-        private final Object value;
-        private final LocalDateTime timestamp;
-    }
-}
\ No newline at end of file
+package com.example.personalblog.cache;
+
+import com.example.personalblog.profiling.CacheAccessEvent;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@NoArgsConstructor
+@Service
+@EnableScheduling
+@Slf4j
+public class CacheService {
+
+    private static final int MAX_CACHE_SIZE = 100;
+    private static final int ENTRIES_TO_REMOVE = 5;
+    private static final long TTL_SECONDS = 60;
+
+    private final ConcurrentHashMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
+
+    public void put(String key, Object value) {
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            removeOldestEntries();
+        }
+        cache.put(key, new CacheEntry(value, LocalDateTime.now()));
+    }
+
+    public Object get(String key) {
+        CacheEntry entry = cache.get(key);
+        if (entry == null) {
+            CacheAccessEvent.emit(key, false);
+            return null;
+        }
+        if (isExpired(entry)) {
+            cache.remove(key);
+            CacheAccessEvent.emit(key, false);
+            return null;
+        }
+        CacheAccessEvent.emit(key, true);
+        entry.getHits().increment();
+        log.info("Cache hit for key: {}", key);
+        return entry.getValue();
+    }
+
+    /**
+     * Действующее значение без учета попадания: для фоновых задач, чьи чтения
+     * не должны влиять на {@link #hottest(int)} и статистику кэша.
+     */
+    public Object peek(String key) {
+        CacheEntry entry = cache.get(key);
+        return entry == null || isExpired(entry) ? null : entry.getValue();
+    }
+
+    /**
+     * Добавляет запись, восстановленную из снимка, вместе с прежним числом попаданий.
+     * Уже имеющаяся запись не заменяется: она не старее снимка.
+     */
+    public void restore(String key, Object value, long hits) {
+        if (cache.size() >= MAX_CACHE_SIZE) {
+            removeOldestEntries();
+        }
+        CacheEntry entry = new CacheEntry(value, LocalDateTime.now());
+        entry.getHits().add(hits);
+        cache.putIfAbsent(key, entry);
+    }
+
+    /**
+     * Не более {@code limit} действующих записей в порядке убывания числа попаданий.
+     */
+    public List<HotEntry> hottest(int limit) {
+        return cache.entrySet().stream()
+                .filter(entry -> !isExpired(entry.getValue()))
+                .map(entry -> new HotEntry(entry.getKey(), entry.getValue().getValue(),
+                        entry.getValue().getHits().sum()))
+                .sorted(Comparator.comparingLong(HotEntry::hits).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public void invalidate(String key) {
+        cache.remove(key);
+    }
+
+    public void invalidateByPrefix(String prefix) {
+        cache.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    @Scheduled(fixedRate = 60000)
+    public void cleanExpiredEntries() {
+        cache.entrySet().removeIf(entry -> isExpired(entry.getValue()));
+    }
+
+    private boolean isExpired(CacheEntry entry) {
+        return entry.getTimestamp()
+                .plusSeconds(TTL_SECONDS)
+                .isBefore(LocalDateTime.now());
+    }
+
+    private void removeOldestEntries() {
+        cache.entrySet().stream()
+                .sorted(Comparator.comparing(
+                        entry -> entry.getValue().getTimestamp()))
+                .limit(ENTRIES_TO_REMOVE)
+                .forEach(entry -> cache.remove(entry.getKey()));
+    }
+
+    @Getter
+    @Setter
+    @RequiredArgsConstructor
+    private static class CacheEntry {
+        private final Object value;
+        private final LocalDateTime timestamp;
+        private final LongAdder hits = new LongAdder();
+    }
+
+    /**
+     * Запись кэша и число попаданий в нее.
+     */
+    public record HotEntry(String key, Object value, long hits) {
+    }
+}
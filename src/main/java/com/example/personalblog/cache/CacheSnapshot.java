@@ -0,0 +1,242 @@
+package com.example.personalblog.cache;
+
+import com.example.personalblog.dto.PostDto;
+import com.example.personalblog.model.Category;
+import com.example.personalblog.model.Post;
+import com.example.personalblog.model.User;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.lang.Nullable;
+
+/**
+ * Снимок горячих записей кэша в компактном двоичном виде.
+ *
+ * <p>Сохраняются только значения, которые кэшируют посты: списки {@link Post}
+ * и {@link PostDto}. Вместе с записями хранится водяной знак базы на момент снимка —
+ * наибольшее {@code updatedAt} постов, их число и отпечаток таблиц категорий
+ * и пользователей, — по которому при загрузке проверяется, устарели ли записи.
+ * Из автора поста сохраняется только идентификатор: остальные поля, в том числе
+ * электронная почта, на диск не попадают и при загрузке берутся из базы.
+ *
+ * <p>Формат: gzip-поток {@link DataOutputStream}; строки — длина в байтах UTF-8
+ * и сами байты (-1 для {@code null}), время — секунды и наносекунды UTC.
+ *
+ * @param createdAt  время снимка
+ * @param watermark  наибольшее {@code updatedAt} постов на момент снимка
+ * @param postCount  число постов на момент снимка
+ * @param relations  отпечаток числа строк и наибольшего {@code updatedAt} категорий
+ *                   и пользователей
+ * @param entries    записи в порядке убывания числа попаданий
+ */
+record CacheSnapshot(Instant createdAt, @Nullable LocalDateTime watermark, long postCount,
+                     long relations, List<Entry> entries) {
+
+    private static final int MAGIC = 0x42435332;
+    private static final byte POST_LIST = 1;
+    private static final byte POST_DTO = 2;
+
+    /**
+     * Запись кэша с числом попаданий.
+     */
+    record Entry(String key, long hits, Object value) {
+    }
+
+    static boolean isSupported(Object value) {
+        if (value instanceof PostDto) {
+            return true;
+        }
+        return value instanceof List<?> list && list.stream().allMatch(Post.class::isInstance);
+    }
+
+    void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new GZIPOutputStream(stream)));
+        out.writeInt(MAGIC);
+        out.writeLong(createdAt.toEpochMilli());
+        writeTime(out, watermark);
+        out.writeLong(postCount);
+        out.writeLong(relations);
+        out.writeInt(entries.size());
+        for (Entry entry : entries) {
+            writeString(out, entry.key());
+            out.writeLong(entry.hits());
+            if (entry.value() instanceof PostDto postDto) {
+                out.writeByte(POST_DTO);
+                writePostDto(out, postDto);
+            } else {
+                List<?> posts = (List<?>) entry.value();
+                out.writeByte(POST_LIST);
+                out.writeInt(posts.size());
+                for (Object post : posts) {
+                    writePost(out, (Post) post);
+                }
+            }
+        }
+        // Закрытие дописывает концовку gzip
+        out.close();
+    }
+
+    static CacheSnapshot read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new GZIPInputStream(stream)));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a cache snapshot");
+        }
+        Instant createdAt = Instant.ofEpochMilli(in.readLong());
+        LocalDateTime watermark = readTime(in);
+        long postCount = in.readLong();
+        long relations = in.readLong();
+        int size = in.readInt();
+        List<Entry> entries = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String key = readString(in);
+            long hits = in.readLong();
+            byte type = in.readByte();
+            Object value;
+            if (type == POST_DTO) {
+                value = readPostDto(in);
+            } else if (type == POST_LIST) {
+                int posts = in.readInt();
+                List<Post> list = new ArrayList<>(posts);
+                for (int j = 0; j < posts; j++) {
+                    list.add(readPost(in));
+                }
+                value = list;
+            } else {
+                throw new IOException("Unknown cache snapshot entry type: " + type);
+            }
+            entries.add(new Entry(key, hits, value));
+        }
+        return new CacheSnapshot(createdAt, watermark, postCount, relations, entries);
+    }
+
+    private static void writePost(DataOutputStream out, Post post) throws IOException {
+        out.writeLong(post.getId());
+        writeString(out, post.getTitle());
+        writeString(out, post.getContent());
+        writeTime(out, post.getCreatedAt());
+        writeTime(out, post.getUpdatedAt());
+        out.writeLong(post.getAuthor().getId());
+        out.writeInt(post.getCategories().size());
+        for (Category category : post.getCategories()) {
+            out.writeLong(category.getId());
+            writeString(out, category.getName());
+        }
+    }
+
+    private static Post readPost(DataInputStream in) throws IOException {
+        Post post = new Post();
+        post.setId(in.readLong());
+        post.setTitle(readString(in));
+        post.setContent(readString(in));
+        post.setCreatedAt(readTime(in));
+        post.setUpdatedAt(readTime(in));
+        // Заглушка с идентификатором: автора целиком подставляет CacheSnapshotService
+        User author = new User();
+        author.setId(in.readLong());
+        post.setAuthor(author);
+        int categories = in.readInt();
+        Set<Category> set = new HashSet<>(categories * 2);
+        for (int i = 0; i < categories; i++) {
+            Category category = new Category();
+            category.setId(in.readLong());
+            category.setName(readString(in));
+            set.add(category);
+        }
+        post.setCategories(set);
+        return post;
+    }
+
+    private static void writePostDto(DataOutputStream out, PostDto postDto) throws IOException {
+        out.writeLong(postDto.getId());
+        writeString(out, postDto.getTitle());
+        writeString(out, postDto.getContent());
+        writeTime(out, postDto.getCreatedAt());
+        writeTime(out, postDto.getUpdatedAt());
+        writeString(out, postDto.getAuthorName());
+        List<String> categoryNames = postDto.getCategoryNames();
+        out.writeInt(categoryNames == null ? -1 : categoryNames.size());
+        if (categoryNames != null) {
+            for (String name : categoryNames) {
+                writeString(out, name);
+            }
+        }
+    }
+
+    private static PostDto readPostDto(DataInputStream in) throws IOException {
+        PostDto postDto = new PostDto();
+        postDto.setId(in.readLong());
+        postDto.setTitle(readString(in));
+        postDto.setContent(readString(in));
+        postDto.setCreatedAt(readTime(in));
+        postDto.setUpdatedAt(readTime(in));
+        postDto.setAuthorName(readString(in));
+        int categories = in.readInt();
+        if (categories >= 0) {
+            List<String> categoryNames = new ArrayList<>(categories);
+            for (int i = 0; i < categories; i++) {
+                categoryNames.add(readString(in));
+            }
+            postDto.setCategoryNames(categoryNames);
+        }
+        return postDto;
+    }
+
+    // writeUTF ограничен 64 КБ, а текст поста может быть длиннее
+    private static void writeString(DataOutputStream out, @Nullable String value)
+            throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Nullable
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length < length) {
+            throw new EOFException("Truncated cache snapshot");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutputStream out, @Nullable LocalDateTime time)
+            throws IOException {
+        out.writeBoolean(time != null);
+        if (time != null) {
+            out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(time.getNano());
+        }
+    }
+
+    @Nullable
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.personalblog.cache;
+
+import com.example.personalblog.cache.CacheService.HotEntry;
+import com.example.personalblog.dto.PostDto;
+import com.example.personalblog.model.Post;
+import com.example.personalblog.model.User;
+import com.example.personalblog.repository.CategoryRepository;
+import com.example.personalblog.repository.PostRepository;
+import com.example.personalblog.repository.PostRepository.PostVersion;
+import com.example.personalblog.repository.TableVersion;
+import com.example.personalblog.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Сохраняет самые востребованные записи кэша постов в {@code blog.cache.snapshot.file}
+ * периодически и при остановке и загружает их при старте, чтобы новый экземпляр не
+ * начинал с пустого кэша.
+ *
+ * <p>Перед загрузкой записи сверяются с базой по водяному знаку снимка. Названия
+ * категорий и логины авторов не меняют {@code updatedAt} поста, но попадают
+ * в кэшированные посты и определяют состав списков, поэтому для таблиц категорий
+ * и пользователей хранится отпечаток их числа строк и наибольшего {@code updatedAt}:
+ * если он не совпал, снимок не загружается вовсе. Изменение связей поста с категориями
+ * обновляет {@code updatedAt} самого поста. Если
+ * с момента снимка не менялись и посты (то же наибольшее {@code updatedAt} и то же
+ * число постов), загружается все без проверки версий. Иначе версии постов из снимка
+ * читаются одним запросом: отдельный пост загружается, если он не изменился; список
+ * постов — если не изменился ни один из его постов и не появилось новых или измененных
+ * постов, которые могли бы в него войти. Остальное заполнится обычными запросами.
+ *
+ * <p>Авторы постов в снимке хранятся только идентификаторами и при загрузке
+ * подставляются из базы, чтобы персональные данные не попадали на диск.
+ */
+@Component
+@Slf4j
+public class CacheSnapshotService {
+
+    private static final int VERSION_QUERY_BATCH = 1000;
+
+    private final CacheService cacheService;
+    private final PostRepository postRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final Path file;
+    private final int maxEntries;
+
+    @Autowired
+    public CacheSnapshotService(CacheService cacheService, PostRepository postRepository,
+                                CategoryRepository categoryRepository,
+                                UserRepository userRepository,
+                                @Value("${blog.cache.snapshot.file:}") String file,
+                                @Value("${blog.cache.snapshot.max-entries:50}") int maxEntries) {
+        this(cacheService, postRepository, categoryRepository, userRepository,
+                file.isBlank() ? null : Path.of(file), maxEntries);
+    }
+
+    CacheSnapshotService(CacheService cacheService, PostRepository postRepository,
+                         CategoryRepository categoryRepository, UserRepository userRepository,
+                         @Nullable Path file, int maxEntries) {
+        this.cacheService = cacheService;
+        this.postRepository = postRepository;
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.file = file;
+        this.maxEntries = maxEntries;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.cache.snapshot.interval-ms:300000}",
+            initialDelayString = "${blog.cache.snapshot.interval-ms:300000}")
+    @PreDestroy
+    public void save() {
+        if (file == null) {
+            return;
+        }
+        try {
+            // Водяной знак читается до записей: запись, обновленная после него,
+            // будет проверена при загрузке
+            LocalDateTime watermark = postRepository.findMaxUpdatedAt();
+            long postCount = postRepository.count();
+            long relations = relations();
+            List<CacheSnapshot.Entry> entries = new ArrayList<>();
+            for (HotEntry entry : cacheService.hottest(maxEntries)) {
+                if (CacheSnapshot.isSupported(entry.value())) {
+                    entries.add(new CacheSnapshot.Entry(entry.key(), entry.hits(),
+                            entry.value()));
+                }
+            }
+            if (entries.isEmpty()) {
+                return;
+            }
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "cache-snapshot", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                new CacheSnapshot(Instant.now(), watermark, postCount, relations,
+                        entries).write(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Saved {} cache entries to {}", entries.size(), file);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to save cache snapshot to {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Загружает в кэш записи снимка, которые не устарели.
+     *
+     * @return число загруженных записей
+     */
+    public int restore() {
+        if (file == null || !Files.isRegularFile(file)) {
+            return 0;
+        }
+        CacheSnapshot snapshot;
+        try (InputStream in = Files.newInputStream(file)) {
+            snapshot = CacheSnapshot.read(in);
+        } catch (IOException e) {
+            log.warn("Failed to read cache snapshot from {}: {}", file, e.getMessage());
+            return 0;
+        }
+
+        if (relations() != snapshot.relations()) {
+            log.info("Skipped cache snapshot taken at {}: categories, users or post "
+                    + "categories changed since", snapshot.createdAt());
+            return 0;
+        }
+        boolean noNewWrites = Objects.equals(postRepository.findMaxUpdatedAt(),
+                snapshot.watermark());
+        boolean unchanged = noNewWrites && postRepository.count() == snapshot.postCount();
+        Map<Long, LocalDateTime> versions = unchanged
+                ? Map.of()
+                : versions(snapshot.entries(), noNewWrites);
+        List<CacheSnapshot.Entry> fresh = new ArrayList<>();
+        for (CacheSnapshot.Entry entry : snapshot.entries()) {
+            if (unchanged || isFresh(entry.value(), versions, noNewWrites)) {
+                fresh.add(entry);
+            }
+        }
+        Map<Long, User> authors = authors(fresh);
+        int restored = 0;
+        for (CacheSnapshot.Entry entry : fresh) {
+            if (attachAuthors(entry.value(), authors)) {
+                cacheService.restore(entry.key(), entry.value(), entry.hits());
+                restored++;
+            }
+        }
+        log.info("Restored {} of {} cache entries from snapshot taken at {}", restored,
+                snapshot.entries().size(), snapshot.createdAt());
+        return restored;
+    }
+
+    /**
+     * Отпечаток таблиц, от которых зависят кэшированные посты помимо самих постов:
+     * два агрегатных запроса вместо чтения строк.
+     */
+    private long relations() {
+        TableVersion categories = categoryRepository.findTableVersion();
+        TableVersion users = userRepository.findTableVersion();
+        return Objects.hash(categories.getCount(), categories.getUpdatedAt(),
+                users.getCount(), users.getUpdatedAt());
+    }
+
+    private Map<Long, User> authors(List<CacheSnapshot.Entry> entries) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (CacheSnapshot.Entry entry : entries) {
+            if (entry.value() instanceof List<?> posts) {
+                for (Object post : posts) {
+                    ids.add(((Post) post).getAuthor().getId());
+                }
+            }
+        }
+        Map<Long, User> authors = new HashMap<>(ids.size() * 2);
+        if (!ids.isEmpty()) {
+            for (User user : userRepository.findAllById(ids)) {
+                authors.put(user.getId(), user);
+            }
+        }
+        return authors;
+    }
+
+    private static boolean attachAuthors(Object value, Map<Long, User> authors) {
+        if (!(value instanceof List<?> posts)) {
+            return true;
+        }
+        for (Object element : posts) {
+            Post post = (Post) element;
+            User author = authors.get(post.getAuthor().getId());
+            if (author == null) {
+                return false;
+            }
+            post.setAuthor(author);
+        }
+        return true;
+    }
+
+    private Map<Long, LocalDateTime> versions(List<CacheSnapshot.Entry> entries,
+                                              boolean includeLists) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (CacheSnapshot.Entry entry : entries) {
+            if (entry.value() instanceof PostDto postDto) {
+                ids.add(postDto.getId());
+            } else if (includeLists) {
+                for (Object post : (List<?>) entry.value()) {
+                    ids.add(((Post) post).getId());
+                }
+            }
+        }
+        Map<Long, LocalDateTime> versions = new HashMap<>(ids.size() * 2);
+        List<Long> batch = new ArrayList<>(VERSION_QUERY_BATCH);
+        for (Long id : ids) {
+            batch.add(id);
+            if (batch.size() == VERSION_QUERY_BATCH) {
+                putVersions(versions, batch);
+            }
+        }
+        putVersions(versions, batch);
+        return versions;
+    }
+
+    private void putVersions(Map<Long, LocalDateTime> versions, List<Long> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        for (PostVersion version : postRepository.findVersionsByIdIn(batch)) {
+            // В HashMap допустимы значения null: у поста может не быть updatedAt
+            versions.put(version.getId(), version.getUpdatedAt());
+        }
+        batch.clear();
+    }
+
+    private static boolean isFresh(Object value, Map<Long, LocalDateTime> versions,
+                                   boolean noNewWrites) {
+        if (value instanceof PostDto postDto) {
+            return isFresh(postDto.getId(), postDto.getUpdatedAt(), versions);
+        }
+        if (!noNewWrites) {
+            return false;
+        }
+        for (Object element : (List<?>) value) {
+            Post post = (Post) element;
+            if (!isFresh(post.getId(), post.getUpdatedAt(), versions)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFresh(Long id, @Nullable LocalDateTime cached,
+                                   Map<Long, LocalDateTime> versions) {
+        if (!versions.containsKey(id)) {
+            return false;
+        }
+        LocalDateTime current = versions.get(id);
+        return current == null || (cached != null && !current.isAfter(cached));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.personalblog.cache;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Проверка {@code cacheWarm} для группы готовности: {@code OUT_OF_SERVICE},
+ * пока {@link CacheWarmer} не закончил прогрев.
+ */
+@Component
+public class CacheWarmHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmer cacheWarmer;
+    private final CacheService cacheService;
+
+    public CacheWarmHealthIndicator(CacheWarmer cacheWarmer, CacheService cacheService) {
+        this.cacheWarmer = cacheWarmer;
+        this.cacheService = cacheService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmer.isWarm() ? Health.up() : Health.outOfService();
+        builder.withDetail("entries", cacheService.size());
+        if (cacheWarmer.getWarmupMillis() >= 0) {
+            builder.withDetail("warmupMs", cacheWarmer.getWarmupMillis());
+        }
+        return builder.build();
+    }
+}
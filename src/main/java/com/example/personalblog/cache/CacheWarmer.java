@@ -0,0 +1,95 @@
+package com.example.personalblog.cache;
+
+import com.example.personalblog.model.Category;
+import com.example.personalblog.repository.CategoryRepository;
+import com.example.personalblog.service.PostService;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+/**
+ * Прогревает кэш постов после запуска приложения. Сначала загружается снимок
+ * горячих записей ({@link CacheSnapshotService}), затем общий список постов и списки
+ * первых {@code blog.cache.warmup.categories} категорий запрашиваются тем же путем,
+ * что и при запросах, — уже загруженные из снимка списки берутся из кэша.
+ *
+ * <p>Прогрев идет в фоновом потоке, поэтому приложение сразу отвечает на проверку
+ * живости, а готовность ({@link CacheWarmHealthIndicator}) появляется только после
+ * прогрева — балансировщик не направит на новый экземпляр трафик, который весь уйдет
+ * в базу. Ошибка прогрева не блокирует готовность навсегда: кэш заполнится запросами.
+ */
+@Component
+@Slf4j
+public class CacheWarmer {
+
+    private final CacheSnapshotService snapshotService;
+    private final PostService postService;
+    private final CategoryRepository categoryRepository;
+    private final CacheService cacheService;
+    private final boolean enabled;
+    private final int categories;
+
+    private volatile boolean warm;
+    private volatile long warmupMillis = -1;
+
+    public CacheWarmer(CacheSnapshotService snapshotService, PostService postService,
+                       CategoryRepository categoryRepository, CacheService cacheService,
+                       @Value("${blog.cache.warmup.enabled:true}") boolean enabled,
+                       @Value("${blog.cache.warmup.categories:20}") int categories) {
+        this.snapshotService = snapshotService;
+        this.postService = postService;
+        this.categoryRepository = categoryRepository;
+        this.cacheService = cacheService;
+        this.enabled = enabled;
+        this.categories = categories;
+        this.warm = !enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWarmup() {
+        if (!enabled) {
+            return;
+        }
+        Thread thread = new Thread(this::warmUp, "cache-warmup");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void warmUp() {
+        long start = System.nanoTime();
+        try {
+            int restored = snapshotService.restore();
+            postService.getPosts(null, null);
+            List<Category> hotCategories = categoryRepository.findAll(
+                    PageRequest.of(0, categories, Sort.by("id"))).getContent();
+            for (Category category : hotCategories) {
+                postService.getPosts(category.getName(), null);
+            }
+            log.info("Cache warmed up with {} entries ({} from snapshot) in {} ms",
+                    cacheService.size(), restored,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            log.warn("Cache warm-up failed, continuing with a cold cache: {}", e.getMessage());
+        } finally {
+            warmupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            warm = true;
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Длительность прогрева в миллисекундах или -1, если прогрев не выполнялся.
+     */
+    public long getWarmupMillis() {
+        return warmupMillis;
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.personalblog.config;
+
+import com.example.personalblog.monitoring.SqlStatsListener;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Оборачивает источник данных в datasource-proxy, чтобы учитывать число SQL-запросов
+ * и время в базе данных для каждого HTTP-запроса. Пул соединений остается доступен
+ * через {@link DataSource#unwrap(Class)}, поэтому метрики пула и проверки здоровья
+ * работают как прежде.
+ */
+@Configuration
+public class DataSourceProxyConfig {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(new SqlStatsListener())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.personalblog.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Ограничения для метрик приложения, публикуемых через {@code /actuator/prometheus}.
+ */
+@Configuration
+public class MetricsConfig {
+
+    public static final String ROUTE_TAG = "route";
+
+    /**
+     * Метрики по маршрутам помечаются шаблоном маршрута, а не URI, но на случай ошибки
+     * число значений тега все равно ограничено: лишние серии отбрасываются.
+     */
+    @Bean
+    public MeterFilter routeTagCardinalityFilter(
+            @Value("${blog.metrics.max-route-tags:100}") int maxRouteTags) {
+        return MeterFilter.maximumAllowableTags("blog", ROUTE_TAG, maxRouteTags,
+                MeterFilter.deny());
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.personalblog.config;
+
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Выборочное логирование SQL вместо {@code spring.jpa.show-sql}.
+ *
+ * <p>Запросы пишутся на уровне DEBUG логгера {@code com.example.personalblog.sql},
+ * поэтому по умолчанию логирование выключено и стоит одну проверку уровня.
+ * При включении пишется каждый N-й запрос ({@code blog.sql.log.sample-rate}).
+ */
+@Configuration
+public class SqlLoggingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlLoggingCustomizer(
+            @Value("${blog.sql.log.sample-rate:100}") int sampleRate) {
+        StatementInspector inspector = new SampledSqlLogger(sampleRate);
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    @Slf4j(topic = "com.example.personalblog.sql")
+    static final class SampledSqlLogger implements StatementInspector {
+
+        private final int sampleRate;
+
+        SampledSqlLogger(int sampleRate) {
+            this.sampleRate = Math.max(sampleRate, 1);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (log.isDebugEnabled() && ThreadLocalRandom.current().nextInt(sampleRate) == 0) {
+                log.debug("{}", sql);
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.personalblog.config;
+
+import com.example.personalblog.tracing.FileSpanExporter;
+import com.example.personalblog.tracing.OtlpHttpSpanExporter;
+import com.example.personalblog.tracing.SpanExporter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.nio.file.Path;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Выбор экспортера трасс по {@code blog.tracing.exporter}: {@code file} — строки
+ * OTLP JSON в {@code blog.tracing.file} с ротацией по {@code blog.tracing.file-max-size}
+ * и {@code blog.tracing.file-max-history}, {@code otlp} — OTLP/HTTP на
+ * {@code blog.tracing.otlp.endpoint}, {@code none} — только заголовок
+ * {@code Server-Timing}.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public SpanExporter spanExporter(
+            ObjectMapper objectMapper,
+            @Value("${blog.tracing.exporter:file}") String exporter,
+            @Value("${blog.tracing.file:logs/traces.jsonl}") String file,
+            @Value("${blog.tracing.file-max-size:50MB}") DataSize fileMaxSize,
+            @Value("${blog.tracing.file-max-history:3}") int fileMaxHistory,
+            @Value("${blog.tracing.otlp.endpoint:http://localhost:4318/v1/traces}")
+            URI endpoint,
+            @Value("${spring.application.name:personalblog}") String serviceName) {
+        return switch (exporter) {
+            case "file" -> new FileSpanExporter(Path.of(file), objectMapper, serviceName,
+                    fileMaxSize.toBytes(), fileMaxHistory);
+            case "otlp" -> new OtlpHttpSpanExporter(endpoint, objectMapper, serviceName);
+            case "none" -> SpanExporter.NONE;
+            default -> throw new IllegalArgumentException("Unknown span exporter: " + exporter);
+        };
+    }
+}
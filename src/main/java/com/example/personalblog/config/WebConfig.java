@@ -1,6 +1,7 @@
 package com.example.personalblog.config;
 
 import com.example.personalblog.interceptor.VisitCounterInterceptor;
+import com.example.personalblog.monitoring.QueryBudgetInterceptor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -11,10 +12,13 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 public class WebConfig implements WebMvcConfigurer {
 
     private final VisitCounterInterceptor visitCounterInterceptor;
+    private final QueryBudgetInterceptor queryBudgetInterceptor;
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(visitCounterInterceptor)
                 .addPathPatterns("/**");
+        registry.addInterceptor(queryBudgetInterceptor)
+                .addPathPatterns("/api/**");
     }
 }
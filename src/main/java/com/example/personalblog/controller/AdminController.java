@@ -0,0 +1,118 @@
+package com.example.personalblog.controller;
+
+import com.example.personalblog.dto.JfrRecordingInfo;
+import com.example.personalblog.dto.JfrRecordingRequest;
+import com.example.personalblog.dto.SlowRequestDto;
+import com.example.personalblog.logs.LogResponseWriter;
+import com.example.personalblog.logs.LogSlice;
+import com.example.personalblog.monitoring.SlowRequestLog;
+import com.example.personalblog.profiling.FlightRecorderService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin")
+@Tag(name = "Admin API", description = "Диагностика производительности приложения")
+public class AdminController {
+
+    private final SlowRequestLog slowRequestLog;
+    private final FlightRecorderService flightRecorderService;
+    private final LogResponseWriter logResponseWriter;
+
+    @GetMapping("/slow-requests")
+    @Operation(
+            summary = "Получить медленные запросы",
+            description = "Возвращает последние запросы, выполнявшиеся дольше порога "
+                    + "blog.requests.slow.threshold, начиная с самого свежего"
+    )
+    public List<SlowRequestDto> getSlowRequests() {
+        return slowRequestLog.snapshot();
+    }
+
+    @DeleteMapping("/slow-requests")
+    @Operation(summary = "Очистить список медленных запросов")
+    public ResponseEntity<Void> clearSlowRequests() {
+        slowRequestLog.clear();
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/jfr/recordings")
+    @Operation(
+            summary = "Начать запись JFR",
+            description = "Запускает запись Java Flight Recorder с настройками default или "
+                    + "profile и переопределениями отдельных событий. Собственные события "
+                    + "приложения: personalblog.CacheAccess, personalblog.RepositoryQuery, "
+                    + "personalblog.BulkImportChunk. API доступно только при "
+                    + "blog.profiling.jfr.enabled=true"
+    )
+    public ResponseEntity<JfrRecordingInfo> startRecording(
+            @Valid @RequestBody JfrRecordingRequest request) throws IOException {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(flightRecorderService.start(request));
+    }
+
+    @GetMapping("/jfr/recordings")
+    @Operation(summary = "Получить список записей JFR")
+    public List<JfrRecordingInfo> getRecordings() {
+        return flightRecorderService.list();
+    }
+
+    @GetMapping("/jfr/recordings/{id}")
+    @Operation(summary = "Получить запись JFR по ID")
+    public JfrRecordingInfo getRecording(@PathVariable long id) {
+        return flightRecorderService.get(id);
+    }
+
+    @PostMapping("/jfr/recordings/{id}/stop")
+    @Operation(summary = "Остановить запись JFR")
+    public JfrRecordingInfo stopRecording(@PathVariable long id) {
+        return flightRecorderService.stop(id);
+    }
+
+    @GetMapping("/jfr/recordings/{id}/download")
+    @Operation(
+            summary = "Скачать файл записи JFR",
+            description = "Для идущей записи отдается снимок данных на момент запроса. "
+                    + "Поддерживаются Range и сжатие gzip, как при скачивании логов"
+    )
+    public void downloadRecording(
+            @PathVariable long id,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        Path file = flightRecorderService.file(id);
+        LogSlice slice = new LogSlice(file, String.valueOf(id), 0, Files.size(file));
+        logResponseWriter.write(List.of(slice), file.getFileName().toString(),
+                range, acceptEncoding, request, response);
+    }
+
+    @DeleteMapping("/jfr/recordings/{id}")
+    @Operation(summary = "Удалить запись JFR вместе с файлом")
+    public ResponseEntity<Void> deleteRecording(@PathVariable long id) throws IOException {
+        flightRecorderService.delete(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,25 +1,41 @@
 package com.example.personalblog.controller;
 
 import com.example.personalblog.dto.LogCreateResponse;
+import com.example.personalblog.dto.LogDaySummary;
 import com.example.personalblog.dto.LogFileInfo;
 import com.example.personalblog.dto.LogStatusResponse;
+import com.example.personalblog.logs.LogQuery;
+import com.example.personalblog.logs.LogResponseWriter;
+import com.example.personalblog.logs.LogSlice;
+import com.example.personalblog.logs.LogTailer;
 import com.example.personalblog.service.AsyncLogService;
+import com.example.personalblog.service.LogQueryService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import java.io.File;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
-import java.util.concurrent.CompletableFuture;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.FileSystemResource;
-import org.springframework.core.io.Resource;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/logs")
@@ -27,40 +43,118 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 @Tag(name = "Log API", description = "API для управления лог-файлами приложения")
 public class LogController {
+    private static final long MAX_STATUS_WAIT_MS = 60_000;
+
     private final AsyncLogService asyncLogService;
+    private final LogResponseWriter logResponseWriter;
+    private final LogQueryService logQueryService;
+    private final LogTailer logTailer;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/create")
-    public CompletableFuture<ResponseEntity<LogCreateResponse>> createLogFile(
+    public ResponseEntity<LogCreateResponse> createLogFile(
             @RequestParam String date
     ) {
-        return asyncLogService.createLogFile(date)
-                .thenApply(LogCreateResponse::new)
-                .thenApply(ResponseEntity::ok);
+        return ResponseEntity.ok(new LogCreateResponse(asyncLogService.createLogFile(date)));
     }
 
-    @GetMapping("/{logId}/status")
-    public ResponseEntity<LogStatusResponse> getLogStatus(
+    @DeleteMapping("/{logId}")
+    public ResponseEntity<Void> cancelLogJob(
             @PathVariable String logId
     ) {
-        return ResponseEntity.ok(asyncLogService.getLogStatus(logId));
+        return asyncLogService.cancelLogJob(logId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
     }
 
-    // Скачивание файла по logId
-    @GetMapping("/{logId}/download")
-    public ResponseEntity<Resource> downloadLogFile(
+    // С параметром waitMs ответ откладывается до завершения задачи (long polling)
+    @GetMapping("/{logId}/status")
+    public DeferredResult<LogStatusResponse> getLogStatus(
+            @PathVariable String logId,
+            @RequestParam(defaultValue = "0") long waitMs
+    ) {
+        long timeout = Math.min(Math.max(waitMs, 0), MAX_STATUS_WAIT_MS);
+        DeferredResult<LogStatusResponse> result = new DeferredResult<>(
+                timeout > 0 ? timeout : null, () -> asyncLogService.getLogStatus(logId));
+        if (timeout == 0) {
+            result.setResult(asyncLogService.getLogStatus(logId));
+        } else {
+            asyncLogService.awaitLogStatus(logId).thenAccept(result::setResult);
+        }
+        return result;
+    }
+
+    // Сводка по записям за дату задачи: уровни, частые ошибки, первая и последняя записи
+    @GetMapping("/{logId}/summary")
+    public ResponseEntity<LogDaySummary> getLogSummary(
             @PathVariable String logId
-    ) throws IOException {
-        LogFileInfo logFileInfo = asyncLogService.getLogFile(logId);
-        return buildFileResponse(logFileInfo.getFile(), logFileInfo.getDate());
+    ) {
+        return ResponseEntity.ok(asyncLogService.getLogSummary(logId));
     }
 
-    private ResponseEntity<Resource> buildFileResponse(File file, String date) {
+    // Новые строки активного лога в реальном времени (Server-Sent Events)
+    @GetMapping(value = "/tail", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tailLog() {
+        return logTailer.subscribe();
+    }
+
+    // Поиск записей по всем сегментам лога с потоковой отдачей в NDJSON
+    @GetMapping(value = "/query", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> queryLogs(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) LogLevel level,
+            @RequestParam(required = false) String logger,
+            @RequestParam(required = false) String text,
+            @RequestParam(defaultValue = "false") boolean regex,
+            @RequestParam(defaultValue = "" + LogQuery.DEFAULT_LIMIT) int limit
+    ) {
+        LogQuery query = LogQuery.builder()
+                .from(from)
+                .to(to)
+                .level(level)
+                .logger(logger)
+                .text(text)
+                .regex(regex)
+                .limit(limit)
+                .build();
+        // Ошибка в запросе должна вернуть 400 до начала потоковой отдачи
+        query.validate();
+
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator(System.lineSeparator())
+                    .writeValues(outputStream)) {
+                logQueryService.query(query, writer::write);
+            }
+        };
         return ResponseEntity.ok()
-                .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .header(
-                        HttpHeaders.CONTENT_DISPOSITION,
-                        "attachment; filename=\"logs_" + date + ".log\""
-                )
-                .body(new FileSystemResource(file));
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Потоковое скачивание записей за дату задачи напрямую из файлов лога,
+    // включая архивные сегменты
+    @GetMapping("/{logId}/download")
+    public void downloadLogFile(
+            @PathVariable String logId,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+            String acceptEncoding,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        LogFileInfo logFileInfo = asyncLogService.getLogFile(logId);
+        String fileName = "logs_" + logFileInfo.getDate() + ".log";
+        if (logFileInfo.getSlices().stream().anyMatch(LogSlice::isCompressed)) {
+            LocalDate date = LocalDate.parse(logFileInfo.getDate());
+            logResponseWriter.writeMerged(logFileInfo.getSlices(), date.toString(),
+                    date.plusDays(1).toString(), fileName, range, acceptEncoding, response);
+            return;
+        }
+        logResponseWriter.write(logFileInfo.getSlices(), fileName,
+                range, acceptEncoding, request, response);
     }
-}
\ No newline at end of file
+}
@@ -4,9 +4,12 @@ import com.example.personalblog.cache.CacheService;
 import com.example.personalblog.dto.BulkCreatePostRequest;
 import com.example.personalblog.dto.CreatePostRequest;
 import com.example.personalblog.dto.PostDto;
+import com.example.personalblog.dto.TrendingPostDto;
 import com.example.personalblog.dto.UpdatePostRequest;
 import com.example.personalblog.model.Post;
+import com.example.personalblog.monitoring.QueryBudget;
 import com.example.personalblog.service.PostService;
+import com.example.personalblog.service.TrendingPostService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -41,9 +44,12 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 public class PostController {
 
     private final PostService postService;
+    private final TrendingPostService trendingPostService;
 
-    public PostController(PostService postService, CacheService cacheService) {
+    public PostController(PostService postService, CacheService cacheService,
+                          TrendingPostService trendingPostService) {
         this.postService = postService;
+        this.trendingPostService = trendingPostService;
     }
 
     /**
@@ -53,7 +59,9 @@ public class PostController {
      * @param userId ID пользователя-автора
      * @return ResponseEntity с созданным постом и HTTP-статусом 201 (Created)
      */
+    // Новая категория стоит отдельного INSERT: бюджет допускает одну
     @PostMapping("/user/{userId}")
+    @QueryBudget(6)
     @Operation(
             summary = "Создать пост",
             description = "Создает новый пост для указанного пользователя"
@@ -99,6 +107,7 @@ public class PostController {
      * @return ResponseEntity со списком постов или HTTP-статусом 204 (No Content)
      */
     @GetMapping
+    @QueryBudget(1)
     @Operation(
             summary = "Получить посты",
             description = "Возвращает список постов с возможностью фильтрации по категории и автору"
@@ -129,6 +138,30 @@ public class PostController {
                 : ResponseEntity.ok(posts);
     }
 
+    /**
+     * Получает ленту популярных постов.
+     * Рейтинг пересчитывается в фоне, ответ отдается из памяти.
+     *
+     * @param limit Максимальное количество постов в ответе
+     * @return Список постов, отсортированный по убыванию рейтинга
+     */
+    @GetMapping("/trending")
+    @QueryBudget(0)
+    @Operation(
+            summary = "Получить популярные посты",
+            description = "Возвращает посты с наибольшим числом недавних просмотров"
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Лента популярных постов успешно получена",
+            content = @Content(schema = @Schema(implementation = TrendingPostDto.class))
+    )
+    public List<TrendingPostDto> getTrendingPosts(
+            @Parameter(description = "Максимальное количество постов", example = "10")
+            @RequestParam(name = "limit", defaultValue = "10") int limit) {
+        return trendingPostService.getTrending(limit);
+    }
+
     /**
      * Получает пост по ID.
      *
@@ -136,6 +169,7 @@ public class PostController {
      * @return DTO поста
      */
     @GetMapping("/{id}")
+    @QueryBudget(1)
     @Operation(
             summary = "Получить пост по ID",
             description = "Возвращает пост по указанному идентификатору"
@@ -165,6 +199,7 @@ public class PostController {
      * @return DTO обновленного поста
      */
     @PutMapping("/{id}")
+    @QueryBudget(6)
     @Operation(
             summary = "Обновить пост",
             description = "Обновляет данные существующего поста"
@@ -202,6 +237,7 @@ public class PostController {
      * @return ResponseEntity с HTTP-статусом 204 (No Content)
      */
     @DeleteMapping("/{id}")
+    @QueryBudget(3)
     @Operation(
             summary = "Удалить пост",
             description = "Удаляет пост по указанному идентификатору"
@@ -230,7 +266,9 @@ public class PostController {
      * @param categoryId ID категории
      * @return DTO поста с обновленными категориями
      */
+    // Кроме связи обновляется updatedAt поста
     @PostMapping("/{postId}/categories/{categoryId}")
+    @QueryBudget(4)
     @Operation(
             summary = "Добавить категорию к посту",
             description = "Связывает указанную категорию с постом"
@@ -257,7 +295,10 @@ public class PostController {
         return ResponseEntity.ok(postDto);
     }
 
+    // Посты вставляются по одному из-за IDENTITY: на каждый пост бюджет допускает его
+    // INSERT и одну новую категорию
     @PostMapping("/bulk/user/{userId}")
+    @QueryBudget(value = 4, perItem = 2)
     @Operation(
             summary = "Массовое создание постов",
             description = "Создает несколько постов для указанного пользователя за одну операцию"
@@ -294,6 +335,7 @@ public class PostController {
 
     // Или альтернативный вариант с BulkCreatePostRequest
     @PostMapping("/bulk")
+    @QueryBudget(value = 4, perItem = 2)
     @Operation(
             summary = "Массовое создание постов",
             description = "Создает несколько постов для указанного пользователя за одну операцию"
@@ -5,6 +5,7 @@ import com.example.personalblog.dto.CreateUserRequest;
 import com.example.personalblog.dto.UpdateUserRequest;
 import com.example.personalblog.dto.UserDto;
 import com.example.personalblog.model.User;
+import com.example.personalblog.monitoring.QueryBudget;
 import com.example.personalblog.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -56,6 +57,7 @@ public class UserController {
      * @return ResponseEntity с созданным пользователем и HTTP-статусом 201 (Created)
      */
     @PostMapping
+    @QueryBudget(3)
     @Operation(
             summary = "Создать пользователя",
             description = "Регистрирует нового пользователя в системе"
@@ -97,6 +99,7 @@ public class UserController {
      * @return ResponseEntity со списком пользователей или HTTP-статусом 204 (No Content)
      */
     @GetMapping
+    @QueryBudget(1)
     @Operation(
             summary = "Получить пользователей",
             description = "Возвращает список пользователей "
@@ -136,6 +139,7 @@ public class UserController {
      * @return Сущность пользователя
      */
     @GetMapping("/{id}")
+    @QueryBudget(1)
     @Operation(
             summary = "Получить пользователя по ID",
             description = "Возвращает полные данные пользователя по указанному идентификатору"
@@ -165,6 +169,7 @@ public class UserController {
      * @return Обновленная сущность пользователя
      */
     @PutMapping("/{id}")
+    @QueryBudget(4)
     @Operation(
             summary = "Обновить пользователя",
             description = "Обновляет данные существующего пользователя"
@@ -200,6 +205,7 @@ public class UserController {
      * @return ResponseEntity с HTTP-статусом 204 (No Content)
      */
     @DeleteMapping("/{id}")
+    @QueryBudget(5)
     @Operation(
             summary = "Удалить пользователя",
             description = "Удаляет пользователя по указанному идентификатору"
@@ -1,6 +1,10 @@
 package com.example.personalblog.controller;
 
+import com.example.personalblog.dto.VisitCountDto;
+import com.example.personalblog.dto.VisitCountPage;
 import com.example.personalblog.service.VisitCounterService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -8,13 +12,16 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequiredArgsConstructor
@@ -23,24 +30,26 @@ import org.springframework.web.bind.annotation.RestController;
 public class VisitCounterController {
 
     private final VisitCounterService visitCounterService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/count")
     @Operation(
             summary = "Получить количество посещений",
-            description = "Возвращает количество посещений для указанного URL"
+            description = "Возвращает количество посещений для указанного URL "
+                    + "и границу погрешности, если счетчик работал в режиме выборки"
     )
     @ApiResponses({
         @ApiResponse(
                     responseCode = "200",
                     description = "Успешное получение счетчика",
-                    content = @Content(schema = @Schema(implementation = Integer.class))
+                    content = @Content(schema = @Schema(implementation = VisitCountDto.class))
             ),
         @ApiResponse(
                     responseCode = "400",
                     description = "Неверный параметр запроса"
             )
     })
-    public int getVisitCount(
+    public VisitCountDto getVisitCount(
             @Parameter(
                     description = "URL для получения счетчика",
                     required = true,
@@ -53,15 +62,63 @@ public class VisitCounterController {
 
     @GetMapping("/all")
     @Operation(
-            summary = "Получить все счетчики посещений",
-            description = "Возвращает полную статистику посещений всех URL"
+            summary = "Получить статистику посещений",
+            description = "Возвращает страницу счетчиков, отсортированных по убыванию "
+                    + "количества посещений, с фильтром по префиксу URL"
+    )
+    @ApiResponses({
+        @ApiResponse(
+                    responseCode = "200",
+                    description = "Успешное получение статистики",
+                    content = @Content(schema = @Schema(implementation = VisitCountPage.class))
+            ),
+        @ApiResponse(
+                    responseCode = "400",
+                    description = "Неверные параметры страницы"
+            )
+    })
+    public VisitCountPage getAllVisitCounts(
+            @Parameter(description = "Префикс URL для фильтрации", example = "/api/posts")
+            @RequestParam(required = false) String prefix,
+
+            @Parameter(description = "Номер страницы, начиная с 0", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+
+            @Parameter(description = "Размер страницы", example = "50")
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        return visitCounterService.getVisitsPage(prefix, page, size);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Выгрузить все счетчики посещений",
+            description = "Потоково отдает все счетчики в формате NDJSON без сортировки"
     )
     @ApiResponse(
             responseCode = "200",
-            description = "Успешное получение статистики",
-            content = @Content(schema = @Schema(implementation = Map.class))
+            description = "Выгрузка статистики",
+            content = @Content(schema = @Schema(implementation = VisitCountDto.class))
     )
-    public Map<String, AtomicInteger> getAllVisitCounts() {
-        return visitCounterService.getAllVisits();
+    public ResponseEntity<StreamingResponseBody> exportVisitCounts(
+            @Parameter(description = "Префикс URL для фильтрации", example = "/api/posts")
+            @RequestParam(required = false) String prefix
+    ) {
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writer()
+                    .withRootValueSeparator(System.lineSeparator())
+                    .writeValues(outputStream)) {
+                visitCounterService.forEachVisit(prefix, visit -> {
+                    try {
+                        writer.write(visit);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.example.personalblog.dto;
 
+import com.example.personalblog.monitoring.QueryBudget;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -9,11 +10,15 @@ import lombok.Setter;
 
 @Setter
 @Getter
-public class BulkCreatePostRequest {
+public class BulkCreatePostRequest implements QueryBudget.Batch {
     @NotNull(message = "User ID cannot be null")
     private Long userId;
 
     @NotEmpty(message = "Posts list cannot be empty")
     private List<@Valid CreatePostRequest> posts;
 
+    @Override
+    public int batchSize() {
+        return posts == null ? 0 : posts.size();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.example.personalblog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "Состояние записи Java Flight Recorder")
+public class JfrRecordingInfo {
+
+    @Schema(description = "Идентификатор записи", example = "3")
+    long id;
+
+    @Schema(description = "Имя записи", example = "latency-spike")
+    String name;
+
+    @Schema(description = "Состояние: NEW, DELAYED, RUNNING, STOPPED или CLOSED",
+            example = "RUNNING")
+    String state;
+
+    @Schema(description = "Базовые настройки", example = "profile")
+    String settings;
+
+    @Schema(description = "Время начала записи")
+    Instant startTime;
+
+    @Schema(description = "Время остановки записи", nullable = true)
+    Instant stopTime;
+
+    @Schema(description = "Заданная длительность записи", example = "PT2M", nullable = true)
+    Duration duration;
+
+    @Schema(description = "Размер записанных данных в байтах", example = "1048576")
+    long sizeBytes;
+}
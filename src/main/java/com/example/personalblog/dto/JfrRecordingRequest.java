@@ -0,0 +1,57 @@
+package com.example.personalblog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import java.util.Map;
+import lombok.Data;
+
+/**
+ * Параметры новой записи Java Flight Recorder.
+ */
+@Data
+@Schema(description = "Параметры записи Java Flight Recorder")
+public class JfrRecordingRequest {
+
+    @Pattern(regexp = "^[a-zA-Z0-9_.-]{1,64}$",
+            message = "Имя записи может содержать только буквы, цифры, '_', '.' и '-'")
+    @Schema(
+            description = "Имя записи, оно же имя файла; по умолчанию формируется из времени",
+            example = "latency-spike",
+            nullable = true
+    )
+    private String name;
+
+    @Schema(
+            description = "Базовые настройки JFR: default (низкие накладные расходы) "
+                    + "или profile (подробнее, для коротких записей)",
+            example = "profile",
+            defaultValue = "default"
+    )
+    private String settings = "default";
+
+    @Schema(
+            description = "Длительность записи в формате ISO-8601; без нее запись идет "
+                    + "до явной остановки",
+            example = "PT2M",
+            nullable = true
+    )
+    private Duration duration;
+
+    @Positive(message = "Размер записи должен быть положительным")
+    @Schema(
+            description = "Наибольший размер данных записи на диске в мегабайтах",
+            example = "256",
+            nullable = true
+    )
+    private Long maxSizeMb;
+
+    @Schema(
+            description = "Переопределения отдельных настроек событий поверх базовых",
+            example = "{\"jdk.ObjectAllocationSample#throttle\": \"300/s\", "
+                    + "\"personalblog.CacheAccess#enabled\": \"false\"}",
+            nullable = true
+    )
+    private Map<String, String> options;
+}
@@ -0,0 +1,44 @@
+package com.example.personalblog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Сводка по записям лога за один день: в одном сегменте или по всем сегментам.
+ */
+@Value
+@Builder
+@Jacksonized
+@AllArgsConstructor
+@Schema(description = "Сводка по записям лога за день")
+public class LogDaySummary {
+
+    @Schema(description = "Дата", example = "2024-05-01")
+    String date;
+
+    @Schema(description = "Число записей", example = "12345")
+    long records;
+
+    @Schema(description = "Объем записей в байтах", example = "2097152")
+    long bytes;
+
+    @Schema(description = "Число записей по уровням")
+    Map<String, Long> levels;
+
+    @Schema(description = "Самые частые ошибки: логгер и начало сообщения без чисел")
+    Map<String, Long> errors;
+
+    @Schema(description = "Метка времени первой записи")
+    String firstTimestamp;
+
+    @Schema(description = "Метка времени последней записи")
+    String lastTimestamp;
+
+    @Schema(description = "Первые записи дня; сообщение обрезано до первой строки")
+    List<LogEntryDto> preview;
+}
@@ -0,0 +1,25 @@
+package com.example.personalblog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Запись лога приложения")
+public class LogEntryDto {
+
+    @Schema(description = "Метка времени", example = "2024-05-01T12:00:00.123+03:00")
+    private String timestamp;
+
+    @Schema(description = "Уровень", example = "ERROR")
+    private String level;
+
+    @Schema(description = "Логгер", example = "c.e.p.service.PostService")
+    private String logger;
+
+    @Schema(description = "Сообщение вместе со стеком вызовов, если он есть")
+    private String message;
+}
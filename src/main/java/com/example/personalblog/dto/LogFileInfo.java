@@ -1,12 +1,13 @@
 package com.example.personalblog.dto;
 
-import java.io.File;
+import com.example.personalblog.logs.LogSlice;
+import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
 @Data
 @AllArgsConstructor
 public class LogFileInfo {
-    private File file;
+    private List<LogSlice> slices;
     private String date;
-}
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.example.personalblog.dto;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Сводка по одному файлу лога. {@code size} — число уже обработанных байтов:
+ * несжатый файл дописывается, и сводка дополняется с этого смещения.
+ */
+@Value
+@With
+@Builder
+@Jacksonized
+@AllArgsConstructor
+public class LogSegmentSummary {
+    String fileId;
+    long size;
+    boolean compressed;
+    Map<String, LogDaySummary> days;
+}
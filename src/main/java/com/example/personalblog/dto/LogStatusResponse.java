@@ -11,4 +11,6 @@ public class LogStatusResponse {
     private String logId;
     private String status;
     private String date;
+    // Объем записей за дату в байтах; известен после завершения задачи
+    private Long size;
 }
\ No newline at end of file
@@ -1,12 +1,28 @@
 package com.example.personalblog.dto;
 
+import com.example.personalblog.logs.LogSlice;
+import com.example.personalblog.logs.LogTaskStatus;
+import java.time.Instant;
+import java.util.List;
 import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+import lombok.extern.jackson.Jacksonized;
 
-@Data
+/**
+ * Неизменяемое состояние задачи выгрузки логов. Переходы между состояниями
+ * выполняются заменой значения в реестре задач, а не изменением полей.
+ */
+@Value
+@With
+@Builder
+@Jacksonized
 @AllArgsConstructor
 public class LogTaskInfo {
-    private String status;
-    private String filePath;
-    private String date;
-}
\ No newline at end of file
+    LogTaskStatus status;
+    List<LogSlice> slices;
+    String date;
+    Instant createdAt;
+    Instant finishedAt;
+}
@@ -0,0 +1,40 @@
+package com.example.personalblog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+@Schema(description = "Запрос, выполнявшийся дольше порога")
+public class SlowRequestDto {
+
+    @Schema(description = "Время завершения запроса")
+    Instant timestamp;
+
+    @Schema(description = "HTTP-метод", example = "GET")
+    String method;
+
+    @Schema(description = "Шаблон маршрута или URI, если шаблон не найден",
+            example = "/api/posts/{id}")
+    String route;
+
+    @Schema(description = "HTTP-статус ответа", example = "200")
+    int status;
+
+    @Schema(description = "Длительность запроса в миллисекундах", example = "812.4")
+    double durationMs;
+
+    @Schema(description = "Обработчик запроса", example = "PostController.getPostById(..)")
+    String handler;
+
+    @Schema(description = "Краткое описание аргументов обработчика", example = "[42]")
+    String args;
+
+    @Schema(description = "Число SQL-запросов", example = "3")
+    int sqlCount;
+
+    @Schema(description = "Время выполнения SQL-запросов в миллисекундах", example = "640.1")
+    double dbTimeMs;
+}
@@ -0,0 +1,25 @@
+package com.example.personalblog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * DTO для представления поста в ленте популярных.
+ * Содержит сам пост и его текущий рейтинг с учетом затухания.
+ */
+@Data
+@AllArgsConstructor
+@Schema(description = "Пост из ленты популярных вместе с рейтингом")
+public class TrendingPostDto {
+
+    @Schema(description = "Пост блога", accessMode = Schema.AccessMode.READ_ONLY)
+    private PostDto post;
+
+    @Schema(
+            description = "Рейтинг поста: сумма просмотров с экспоненциальным затуханием",
+            example = "42.5",
+            accessMode = Schema.AccessMode.READ_ONLY
+    )
+    private double score;
+}
@@ -0,0 +1,23 @@
+package com.example.personalblog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+@Schema(description = "Количество посещений URL")
+public class VisitCountDto {
+
+    @Schema(description = "URL запроса", example = "/api/posts/1")
+    private String url;
+
+    @Schema(description = "Количество посещений (оценка в режиме выборки)", example = "42")
+    private long count;
+
+    @Schema(
+            description = "Граница погрешности оценки; 0 для точного подсчета",
+            example = "0"
+    )
+    private long error;
+}
@@ -0,0 +1,28 @@
+package com.example.personalblog.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Страница статистики посещений.
+ * Строится по снимку счетчиков и отсортирована по убыванию количества посещений.
+ */
+@Data
+@AllArgsConstructor
+@Schema(description = "Страница статистики посещений")
+public class VisitCountPage {
+
+    @Schema(description = "Счетчики на текущей странице")
+    private List<VisitCountDto> content;
+
+    @Schema(description = "Номер страницы, начиная с 0", example = "0")
+    private int page;
+
+    @Schema(description = "Размер страницы", example = "50")
+    private int size;
+
+    @Schema(description = "Количество URL, подходящих под фильтр", example = "1234")
+    private long totalElements;
+}
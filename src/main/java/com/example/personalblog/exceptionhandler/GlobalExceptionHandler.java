@@ -9,6 +9,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -158,6 +159,16 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(RejectedExecutionException.class)
+    @ApiResponses(@ApiResponse(responseCode = "503", description = "Очередь задач переполнена"))
+    public ResponseEntity<ErrorResponse> handleRejectedExecution(RejectedExecutionException ex) {
+        log.warn("503 – task rejected: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        "Service Unavailable", "Too many pending jobs, retry later"));
+    }
+
     @ExceptionHandler(Exception.class)
     @ApiResponses(@ApiResponse(responseCode = "500", description = "Unexpected server error"))
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
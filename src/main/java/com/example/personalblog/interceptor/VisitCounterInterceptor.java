@@ -1,30 +1,156 @@
 package com.example.personalblog.interceptor;
 
+import com.example.personalblog.config.MetricsConfig;
+import com.example.personalblog.service.TrendingPostService;
 import com.example.personalblog.service.VisitCounterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 
+/**
+ * Считает посещения URL. Решение, учитывать ли маршрут, принимается один раз
+ * для каждого шаблона маршрута и кэшируется вместе со счетчиком
+ * {@code blog.visits{route=...}}, поэтому на запрос приходится только поиск в карте.
+ * Теги метрик — шаблоны маршрутов, а не URI, так что их число ограничено.
+ * Время работы перехватчика публикуется как метрика {@code blog.visits.interceptor}.
+ *
+ * <p>Шаблоны {@code blog.visits.include-patterns} и {@code blog.visits.exclude-patterns}
+ * сравниваются с шаблоном маршрута, а не с путем запроса: конкретный путь вроде
+ * {@code /api/posts/1} не совпадет с маршрутом {@code /api/posts/{id}}, и исключить
+ * отдельный пост так нельзя. С путем запроса сравниваются только запросы к обработчикам
+ * без шаблона маршрута.
+ */
 @Component
-@RequiredArgsConstructor
 public class VisitCounterInterceptor implements HandlerInterceptor {
 
+    private static final String ATTRIBUTE_ALREADY_COUNTED = "alreadyCountedVisit";
+    private static final String POST_VIEW_PATTERN = "/api/posts/{id}";
+    private static final String UNMATCHED_ROUTE = "UNMATCHED";
+
     private final VisitCounterService visitCounterService;
+    private final TrendingPostService trendingPostService;
+    private final List<String> includePatterns;
+    private final List<String> excludePatterns;
+    private final MeterRegistry meterRegistry;
+    private final Timer overheadTimer;
 
-    private static final String ATTRIBUTE_ALREADY_COUNTED = "alreadyCountedVisit";
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, Optional<Counter>> routeCounters = new ConcurrentHashMap<>();
+
+    public VisitCounterInterceptor(VisitCounterService visitCounterService,
+                                   TrendingPostService trendingPostService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${blog.visits.include-patterns:/**}")
+                                   List<String> includePatterns,
+                                   @Value("${blog.visits.exclude-patterns:}")
+                                   List<String> excludePatterns) {
+        this.visitCounterService = visitCounterService;
+        this.trendingPostService = trendingPostService;
+        this.includePatterns = List.copyOf(includePatterns);
+        this.excludePatterns = List.copyOf(excludePatterns);
+        this.meterRegistry = meterRegistry;
+        this.overheadTimer = Timer.builder("blog.visits.interceptor")
+                .description("Time spent in the visit counting interceptor per request")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
 
     @Override
     public boolean preHandle(@NonNull HttpServletRequest request,
                              @NonNull HttpServletResponse response,
                              @NonNull Object handler) {
-        if (request.getAttribute(ATTRIBUTE_ALREADY_COUNTED) == null) {
-            String requestUri = request.getRequestURI();
-            visitCounterService.incrementVisit(requestUri);
-            request.setAttribute(ATTRIBUTE_ALREADY_COUNTED, true);
+        long start = System.nanoTime();
+        if (request.getDispatcherType() == DispatcherType.REQUEST
+                && request.getAttribute(ATTRIBUTE_ALREADY_COUNTED) == null) {
+            Optional<Counter> routeCounter = routeCounter(request);
+            if (routeCounter.isPresent()) {
+                routeCounter.get().increment();
+                visitCounterService.incrementVisit(request.getRequestURI());
+                request.setAttribute(ATTRIBUTE_ALREADY_COUNTED, true);
+            }
         }
+        overheadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         return true;
     }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request,
+                                @NonNull HttpServletResponse response,
+                                @NonNull Object handler,
+                                @Nullable Exception ex) {
+        // В рейтинг попадают только успешные просмотры существующих постов
+        if (response.getStatus() != HttpStatus.OK.value()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || !POST_VIEW_PATTERN.equals(
+                        request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE))) {
+            return;
+        }
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (variables instanceof Map<?, ?> uriVariables
+                && uriVariables.get("id") instanceof String id) {
+            try {
+                trendingPostService.recordHit(Long.valueOf(id));
+            } catch (NumberFormatException ignored) {
+                // Некорректный id уже обработан контроллером
+            }
+        }
+    }
+
+    private Optional<Counter> routeCounter(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern instanceof String route) {
+            Optional<Counter> counter = routeCounters.get(route);
+            return counter != null
+                    ? counter
+                    : routeCounters.computeIfAbsent(route, this::createRouteCounter);
+        }
+        // Обработчик без шаблона маршрута: проверяем сам URI, не засоряя кэш
+        return matches(request.getRequestURI())
+                ? routeCounters.computeIfAbsent(UNMATCHED_ROUTE,
+                        key -> Optional.of(visitsCounter(key)))
+                : Optional.empty();
+    }
+
+    private Optional<Counter> createRouteCounter(String route) {
+        return matches(route) ? Optional.of(visitsCounter(route)) : Optional.empty();
+    }
+
+    private Counter visitsCounter(String route) {
+        return Counter.builder("blog.visits")
+                .description("Counted visits per route template")
+                .tag(MetricsConfig.ROUTE_TAG, route)
+                .register(meterRegistry);
+    }
+
+    private boolean matches(String path) {
+        for (String exclude : excludePatterns) {
+            if (pathMatcher.match(exclude, path)) {
+                return false;
+            }
+        }
+        for (String include : includePatterns) {
+            if (pathMatcher.match(include, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
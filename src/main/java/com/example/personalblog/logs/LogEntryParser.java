@@ -0,0 +1,95 @@
+package com.example.personalblog.logs;
+
+import com.example.personalblog.dto.LogEntryDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+
+/**
+ * Разбор записи лога в текстовом формате Spring Boot или в JSON.
+ *
+ * <p>JSON-записи разбираются потоковым парсером: читаются только нужные поля,
+ * остальные значения пропускаются без построения дерева. Разбирать имеет смысл
+ * только записи, прошедшие проверку по времени и {@link LogQuery#mayMatch}.
+ */
+public final class LogEntryParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String LOGGER_SEPARATOR = " : ";
+
+    private LogEntryParser() {
+    }
+
+    public static LogEntryDto parse(String timestamp, String text) {
+        String record = text.endsWith("\n") ? text.substring(0, text.length() - 1) : text;
+        if (LogTimestamps.isJson(record)) {
+            try {
+                return parseJson(timestamp, record);
+            } catch (IOException e) {
+                // Поврежденная запись: отдаем ее как есть
+                return new LogEntryDto(timestamp, null, null, record);
+            }
+        }
+        return parseText(timestamp, record);
+    }
+
+    /**
+     * Разбирает запись вида
+     * {@code 2024-05-01T12:00:00.123+03:00  INFO 1 --- [app] [main] c.e.Logger : message}.
+     */
+    private static LogEntryDto parseText(String timestamp, String record) {
+        int position = timestamp.length();
+        while (position < record.length() && record.charAt(position) == ' ') {
+            position++;
+        }
+        int levelEnd = record.indexOf(' ', position);
+        if (levelEnd < 0) {
+            return new LogEntryDto(timestamp, null, null, record.substring(position));
+        }
+        String level = record.substring(position, levelEnd);
+
+        int separator = record.indexOf(LOGGER_SEPARATOR, levelEnd);
+        if (separator < 0) {
+            return new LogEntryDto(timestamp, level, null, record.substring(levelEnd + 1));
+        }
+        int loggerStart = Math.max(record.lastIndexOf(']', separator) + 1, levelEnd);
+        String logger = record.substring(loggerStart, separator).trim();
+        return new LogEntryDto(timestamp, level, logger,
+                record.substring(separator + LOGGER_SEPARATOR.length()));
+    }
+
+    private static LogEntryDto parseJson(String timestamp, String record) throws IOException {
+        String level = null;
+        String logger = null;
+        String message = null;
+        String stackTrace = null;
+        try (JsonParser parser = JSON_FACTORY.createParser(record)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value == JsonToken.START_OBJECT || value == JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                switch (field) {
+                    case "level", "log.level" -> level = parser.getValueAsString();
+                    case "logger_name", "log.logger" -> logger = parser.getValueAsString();
+                    case "message" -> message = parser.getValueAsString();
+                    case "stack_trace", "error.stack_trace" ->
+                            stackTrace = parser.getValueAsString();
+                    default -> {
+                        // Остальные поля не нужны
+                    }
+                }
+            }
+        }
+        if (stackTrace != null) {
+            message = message != null ? message + "\n" + stackTrace : stackTrace;
+        }
+        return new LogEntryDto(timestamp, level, logger, message);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.personalblog.logs;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Поиск по лог-файлу, записи которого упорядочены по времени.
+ *
+ * <p>Вместо построчного чтения файла выполняется двоичный поиск по смещениям: каждая
+ * проба читает несколько килобайт около середины интервала, поэтому на файл в несколько
+ * гигабайт приходится порядка тридцати коротких чтений. Строки без метки времени
+ * (например, стек вызовов исключения) относятся к предыдущей записи.
+ */
+public final class LogFileIndex {
+
+    private static final int PROBE_SIZE = 8192;
+    private static final int TIMESTAMP_LENGTH = 64;
+
+    private LogFileIndex() {
+    }
+
+    /**
+     * Возвращает смещение первой записи с меткой времени не меньше {@code key}
+     * или размер файла, если таких записей нет. Ключ сравнивается с началом метки
+     * времени лексикографически, например {@code "2024-05-01"} или {@code "2024-05-01T13"}.
+     */
+    public static long findFirstAtOrAfter(FileChannel channel, String key) throws IOException {
+        long size = channel.size();
+        long lo = 0;
+        long hi = size;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (isAtOrAfter(channel, nextRecordStart(channel, mid, size), key, size)) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return nextRecordStart(channel, lo, size);
+    }
+
+    /**
+     * Возвращает диапазон смещений {@code [from, to)} записей, метки времени которых
+     * не меньше {@code fromKey} и меньше {@code toKey}.
+     */
+    public static long[] findRange(FileChannel channel, String fromKey, String toKey)
+            throws IOException {
+        long from = findFirstAtOrAfter(channel, fromKey);
+        long to = Math.max(from, findFirstAtOrAfter(channel, toKey));
+        return new long[] {from, to};
+    }
+
+    /**
+     * Возвращает метку времени записи, начинающейся в {@code position},
+     * или {@code null}, если в этой позиции не начинается запись.
+     */
+    public static String timestampAt(FileChannel channel, long position) throws IOException {
+        return LogTimestamps.extract(readAt(channel, position, TIMESTAMP_LENGTH));
+    }
+
+    private static boolean isAtOrAfter(FileChannel channel, long recordStart, String key,
+                                       long size) throws IOException {
+        if (recordStart >= size) {
+            return true;
+        }
+        String timestamp = LogTimestamps.extract(readAt(channel, recordStart, TIMESTAMP_LENGTH));
+        return timestamp != null && timestamp.compareTo(key) >= 0;
+    }
+
+    /**
+     * Находит начало первой записи (строки с меткой времени), начинающейся
+     * не раньше {@code position}.
+     */
+    private static long nextRecordStart(FileChannel channel, long position, long size)
+            throws IOException {
+        long lineStart = position == 0 ? 0 : nextLineStart(channel, position - 1, size);
+        while (lineStart < size) {
+            if (LogTimestamps.extract(readAt(channel, lineStart, TIMESTAMP_LENGTH)) != null) {
+                return lineStart;
+            }
+            lineStart = nextLineStart(channel, lineStart, size);
+        }
+        return size;
+    }
+
+    /**
+     * Возвращает позицию сразу после первого перевода строки, найденного начиная
+     * с {@code position}.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(PROBE_SIZE);
+        long offset = position;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    private static String readAt(FileChannel channel, long position, int length)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        int read = channel.read(buffer, position);
+        return read <= 0 ? "" : new String(buffer.array(), 0, read, StandardCharsets.UTF_8);
+    }
+}
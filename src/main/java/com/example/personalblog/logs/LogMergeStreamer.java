@@ -0,0 +1,181 @@
+package com.example.personalblog.logs;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Слияние записей нескольких сегментов лога в порядке времени.
+ *
+ * <p>Каждый сегмент читается отдельной задачей в пуле {@link LogSliceLocator}
+ * и передает записи через ограниченную очередь, а поток запроса выполняет k-путевое
+ * слияние по меткам времени и сразу пишет результат в ответ. Памяти требуется
+ * не больше нескольких очередей на сегмент, независимо от размера логов.
+ * Ожидание места в очереди оформлено через {@link ForkJoinPool.ManagedBlocker},
+ * чтобы заблокированные задачи не исчерпали потоки пула.
+ */
+@Component
+@Slf4j
+public class LogMergeStreamer {
+
+    private static final int QUEUE_CAPACITY = 256;
+    private static final long POLL_MILLIS = 50;
+    private static final Record END = new Record(null, null, -1);
+
+    private final ForkJoinPool pool;
+
+    public LogMergeStreamer(LogSliceLocator logSliceLocator) {
+        this.pool = logSliceLocator.getPool();
+    }
+
+    /**
+     * Пишет в {@code out} записи всех диапазонов с метками времени
+     * из {@code [fromKey, toKey)}, упорядоченные по времени. При равных метках
+     * сохраняется порядок диапазонов в списке.
+     */
+    public void stream(List<LogSlice> slices, String fromKey, String toKey, OutputStream out)
+            throws IOException {
+        List<Source> sources = new ArrayList<>(slices.size());
+        for (int i = 0; i < slices.size(); i++) {
+            Source source = new Source(slices.get(i), i, fromKey, toKey);
+            source.task = pool.submit(source::produce);
+            sources.add(source);
+        }
+
+        try {
+            PriorityQueue<Record> heads = new PriorityQueue<>(Comparator
+                    .comparing((Record record) -> record.timestamp)
+                    .thenComparingInt(record -> record.source));
+            for (Source source : sources) {
+                offerNext(source, heads);
+            }
+            while (!heads.isEmpty()) {
+                Record record = heads.poll();
+                out.write(record.text.getBytes(StandardCharsets.UTF_8));
+                offerNext(sources.get(record.source), heads);
+            }
+            out.flush();
+        } finally {
+            for (Source source : sources) {
+                source.cancelled = true;
+                source.task.cancel(true);
+            }
+        }
+    }
+
+    private static void offerNext(Source source, PriorityQueue<Record> heads)
+            throws IOException {
+        Record record = source.take();
+        if (record != END) {
+            heads.offer(record);
+        }
+    }
+
+    private record Record(String timestamp, String text, int source) {
+    }
+
+    /**
+     * Сегмент, читаемый в фоне.
+     */
+    private static final class Source {
+        private final LogSlice slice;
+        private final int index;
+        private final String fromKey;
+        private final String toKey;
+        private final BlockingQueue<Record> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private volatile boolean cancelled;
+        private volatile IOException failure;
+        private ForkJoinTask<?> task;
+
+        private Source(LogSlice slice, int index, String fromKey, String toKey) {
+            this.slice = slice;
+            this.index = index;
+            this.fromKey = fromKey;
+            this.toKey = toKey;
+        }
+
+        private void produce() {
+            try (LogRecordReader reader = new LogRecordReader(slice)) {
+                LogRecordReader.LogRecord record;
+                while (!cancelled && (record = reader.next()) != null) {
+                    if (!emit(record.timestamp(), record.text())) {
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                failure = new IOException("Failed to read " + slice.getFile(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                putEnd();
+            }
+        }
+
+        /**
+         * Передает запись, если она попадает в период.
+         *
+         * @return {@code false}, если сегмент дальше читать не нужно
+         */
+        private boolean emit(String timestamp, String text) throws InterruptedException {
+            if (timestamp.compareTo(toKey) >= 0) {
+                return false;
+            }
+            if (timestamp.compareTo(fromKey) >= 0) {
+                put(new Record(timestamp, text, index));
+            }
+            return !cancelled;
+        }
+
+        private void put(Record record) throws InterruptedException {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                private boolean done;
+
+                @Override
+                public boolean block() throws InterruptedException {
+                    done = cancelled || queue.offer(record, POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    return done;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return done || (done = cancelled || queue.offer(record));
+                }
+            });
+        }
+
+        private void putEnd() {
+            try {
+                put(END);
+            } catch (InterruptedException e) {
+                // Поток запроса уже не ждет этот сегмент
+                log.debug("Log merge of {} interrupted", slice.getFile());
+            }
+        }
+
+        private Record take() throws IOException {
+            try {
+                Record record = queue.take();
+                if (record == END && failure != null) {
+                    throw failure;
+                }
+                return record;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while merging log segments", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.personalblog.logs;
+
+import com.example.personalblog.dto.LogEntryDto;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Value;
+import org.springframework.boot.logging.LogLevel;
+
+/**
+ * Условия поиска по логу. Все условия, кроме лимита, необязательны.
+ *
+ * <p>Время сравнивается с метками записей как строки, поэтому период
+ * {@code [from, to)} задается с точностью до нужного префикса метки.
+ */
+@Value
+@Builder
+public class LogQuery {
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 10_000;
+
+    LocalDateTime from;
+    LocalDateTime to;
+    LogLevel level;
+    String logger;
+    String text;
+    boolean regex;
+    @Builder.Default
+    int limit = DEFAULT_LIMIT;
+
+    @Getter(lazy = true)
+    Pattern pattern = regex && text != null ? Pattern.compile(text) : null;
+
+    /**
+     * Проверяет лимит и компилирует регулярное выражение.
+     *
+     * @throws IllegalArgumentException если лимит вне допустимых границ
+     *                                  или регулярное выражение некорректно
+     */
+    public void validate() {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        getPattern();
+    }
+
+    public String fromKey() {
+        return from != null ? from.toString() : "";
+    }
+
+    public String toKey() {
+        return to != null ? to.toString() : "\uffff";
+    }
+
+    public LocalDate fromDate() {
+        return from != null ? from.toLocalDate() : null;
+    }
+
+    public LocalDate toDateExclusive() {
+        return to != null ? to.toLocalDate().plusDays(1) : null;
+    }
+
+    /**
+     * Быстрая проверка по исходному тексту записи, до ее разбора. Для подстроки
+     * исключает записи, в которых ее заведомо нет; символы, которые экранируются
+     * в JSON, не проверяются.
+     */
+    public boolean mayMatch(String rawText) {
+        if (text == null || regex || text.indexOf('"') >= 0 || text.indexOf('\\') >= 0) {
+            return true;
+        }
+        return rawText.contains(text);
+    }
+
+    public boolean matches(LogEntryDto entry) {
+        if (level != null && !isAtLeast(entry.getLevel())) {
+            return false;
+        }
+        if (logger != null && (entry.getLogger() == null
+                || !entry.getLogger().contains(logger))) {
+            return false;
+        }
+        if (text == null) {
+            return true;
+        }
+        String message = entry.getMessage() != null ? entry.getMessage() : "";
+        return regex ? getPattern().matcher(message).find() : message.contains(text);
+    }
+
+    private boolean isAtLeast(String entryLevel) {
+        if (entryLevel == null) {
+            return false;
+        }
+        try {
+            return LogLevel.valueOf(entryLevel.trim()).compareTo(level) >= 0;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
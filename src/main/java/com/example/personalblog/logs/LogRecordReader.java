@@ -0,0 +1,121 @@
+package com.example.personalblog.logs;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Последовательное чтение записей из диапазона лога, в том числе сжатого gzip.
+ *
+ * <p>Запись — строка с меткой времени вместе со следующими за ней строками без метки
+ * (например, стеком вызовов). Строки без метки в начале диапазона относятся к записи
+ * из предыдущего сегмента и пропускаются.
+ */
+public final class LogRecordReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final BufferedReader reader;
+    private final StringBuilder text = new StringBuilder();
+    private String timestamp;
+    private boolean finished;
+
+    public LogRecordReader(LogSlice slice) throws IOException {
+        this.reader = new BufferedReader(new InputStreamReader(open(slice),
+                StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    /**
+     * Возвращает следующую запись или {@code null}, если диапазон прочитан.
+     * Текст записи заканчивается переводом строки.
+     */
+    public LogRecord next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String lineTimestamp = LogTimestamps.extract(line);
+            if (lineTimestamp != null) {
+                LogRecord record = timestamp != null
+                        ? new LogRecord(timestamp, text.toString())
+                        : null;
+                timestamp = lineTimestamp;
+                text.setLength(0);
+                text.append(line).append('\n');
+                if (record != null) {
+                    return record;
+                }
+            } else if (timestamp != null) {
+                text.append(line).append('\n');
+            }
+        }
+        finished = true;
+        return timestamp != null ? new LogRecord(timestamp, text.toString()) : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static InputStream open(LogSlice slice) throws IOException {
+        if (slice.isCompressed()) {
+            return new GZIPInputStream(Files.newInputStream(slice.getFile()), BUFFER_SIZE);
+        }
+        FileChannel channel = FileChannel.open(slice.getFile(), StandardOpenOption.READ);
+        channel.position(slice.getStart());
+        return new BoundedInputStream(Channels.newInputStream(channel), slice.length());
+    }
+
+    /**
+     * Запись лога: метка времени и полный текст.
+     */
+    public record LogRecord(String timestamp, String text) {
+    }
+
+    /**
+     * Поток, читающий не больше заданного числа байтов.
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        private BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int value = super.read();
+            if (value >= 0) {
+                remaining--;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+    }
+}
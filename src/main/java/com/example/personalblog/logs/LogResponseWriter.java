@@ -0,0 +1,261 @@
+package com.example.personalblog.logs;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Потоковая отдача диапазонов файлов в HTTP-ответ без промежуточных файлов.
+ *
+ * <p>Поддерживается заголовок {@code Range} (один диапазон) и сжатие gzip на лету.
+ * Если ответ состоит из одного диапазона одного файла и контейнер поддерживает
+ * sendfile, передача выполняется ядром без копирования в пространство пользователя;
+ * в остальных случаях данные передаются через {@link FileChannel#transferTo}.
+ * Несжатые сегменты одного периода не пересекаются по времени, поэтому их диапазоны
+ * просто склеиваются; если среди них есть сжатые, записи сливаются по времени
+ * через {@link LogMergeStreamer}, и {@code Range} обслуживается по распакованному
+ * слитому потоку.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LogResponseWriter {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final LogMergeStreamer logMergeStreamer;
+
+    public void write(List<LogSlice> slices, String fileName, String rangeHeader,
+                      String acceptEncoding, HttpServletRequest request,
+                      HttpServletResponse response) throws IOException {
+        long total = slices.stream().mapToLong(LogSlice::length).sum();
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + fileName + "\"");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        long offset = 0;
+        long length = total;
+        if (rangeHeader != null) {
+            HttpRange range = singleRange(rangeHeader);
+            if (range != null) {
+                offset = range.getRangeStart(total);
+                long end = range.getRangeEnd(total);
+                if (!partialContent(offset, end, total, response)) {
+                    return;
+                }
+                length = end - offset + 1;
+            }
+        } else if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            try (OutputStream gzip = new GZIPOutputStream(response.getOutputStream(), 65536)) {
+                transfer(slices, 0, total, Channels.newChannel(gzip));
+            }
+            return;
+        }
+
+        response.setContentLengthLong(length);
+        if (trySendfile(slices, offset, length, request)) {
+            return;
+        }
+        transfer(slices, offset, length, Channels.newChannel(response.getOutputStream()));
+    }
+
+    /**
+     * Отдает записи с метками времени из {@code [fromKey, toKey)}, слитые по времени.
+     *
+     * <p>Размер слитого потока заранее неизвестен, поэтому для ответа на {@code Range}
+     * записи сливаются дважды: первый проход только считает байты, второй отдает
+     * запрошенное окно. Сжатые сегменты при этом распаковываются дважды, а sendfile
+     * и {@link FileChannel#transferTo} не используются — данные идут через распаковку.
+     */
+    public void writeMerged(List<LogSlice> slices, String fromKey, String toKey,
+                            String fileName, String rangeHeader, String acceptEncoding,
+                            HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + fileName + "\"");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        HttpRange range = rangeHeader == null ? null : singleRange(rangeHeader);
+        if (range != null) {
+            CountingOutputStream counter = new CountingOutputStream();
+            logMergeStreamer.stream(slices, fromKey, toKey, counter);
+            long total = counter.count;
+            long offset = range.getRangeStart(total);
+            long end = range.getRangeEnd(total);
+            if (!partialContent(offset, end, total, response)) {
+                return;
+            }
+            long length = end - offset + 1;
+            response.setContentLengthLong(length);
+            OutputStream out = new BufferedOutputStream(response.getOutputStream(), 65536);
+            logMergeStreamer.stream(slices, fromKey, toKey,
+                    new WindowOutputStream(out, offset, length));
+            return;
+        }
+        if (rangeHeader == null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            try (OutputStream gzip = new GZIPOutputStream(response.getOutputStream(), 65536)) {
+                logMergeStreamer.stream(slices, fromKey, toKey, gzip);
+            }
+            return;
+        }
+        logMergeStreamer.stream(slices, fromKey, toKey,
+                new BufferedOutputStream(response.getOutputStream(), 65536));
+    }
+
+    /**
+     * Передает окно {@code [offset, offset + length)} конкатенации диапазонов.
+     */
+    public static void transfer(List<LogSlice> slices, long offset, long length,
+                                WritableByteChannel out) throws IOException {
+        long skip = offset;
+        long remaining = length;
+        for (LogSlice slice : slices) {
+            if (remaining <= 0) {
+                break;
+            }
+            if (skip >= slice.length()) {
+                skip -= slice.length();
+                continue;
+            }
+            long position = slice.getStart() + skip;
+            long end = Math.min(slice.getEnd(), position + remaining);
+            skip = 0;
+            try (FileChannel in = FileChannel.open(slice.getFile(), StandardOpenOption.READ)) {
+                while (position < end) {
+                    long transferred = in.transferTo(position, end - position, out);
+                    if (transferred <= 0) {
+                        break;
+                    }
+                    position += transferred;
+                    remaining -= transferred;
+                }
+            }
+        }
+    }
+
+    @Nullable
+    private static HttpRange singleRange(String rangeHeader) {
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Выставляет статус и {@code Content-Range} для окна {@code [offset, end]}.
+     *
+     * @return {@code false}, если диапазон невыполним и ответ 416 уже сформирован
+     */
+    private static boolean partialContent(long offset, long end, long total,
+                                          HttpServletResponse response) {
+        if (offset >= total || end < offset) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + total);
+            response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+            return false;
+        }
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE,
+                "bytes " + offset + "-" + end + "/" + total);
+        return true;
+    }
+
+    private boolean trySendfile(List<LogSlice> slices, long offset, long length,
+                                HttpServletRequest request) {
+        if (!Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            return false;
+        }
+        List<LogSlice> nonEmpty = slices.stream().filter(slice -> slice.length() > 0).toList();
+        if (nonEmpty.size() != 1) {
+            return false;
+        }
+        LogSlice slice = nonEmpty.get(0);
+        long start = slice.getStart() + offset;
+        request.setAttribute(SENDFILE_FILENAME, slice.getFile().toAbsolutePath().toString());
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, start + length);
+        log.debug("Serving {} bytes of {} via sendfile", length, slice.getFile());
+        return true;
+    }
+
+    /**
+     * Считает записанные байты, ничего не сохраняя.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    /**
+     * Пропускает первые {@code offset} байт и отбрасывает все после {@code length}
+     * следующих.
+     */
+    private static final class WindowOutputStream extends OutputStream {
+
+        private final OutputStream out;
+        private long skip;
+        private long remaining;
+
+        private WindowOutputStream(OutputStream out, long offset, long length) {
+            this.out = out;
+            this.skip = offset;
+            this.remaining = length;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int skipped = (int) Math.min(skip, len);
+            skip -= skipped;
+            int writable = (int) Math.min(remaining, len - skipped);
+            if (writable > 0) {
+                out.write(b, off + skipped, writable);
+                remaining -= writable;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.personalblog.logs;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import lombok.Value;
+
+/**
+ * Файл лога: активный файл или архивный сегмент, созданный при ротации.
+ * Для архивного сегмента известна дата записей из имени файла.
+ */
+@Value
+public class LogSegment {
+    Path file;
+    boolean compressed;
+    LocalDate date;
+    int index;
+
+    public boolean isActive() {
+        return date == null;
+    }
+}
@@ -0,0 +1,357 @@
+package com.example.personalblog.logs;
+
+import com.example.personalblog.dto.LogDaySummary;
+import com.example.personalblog.dto.LogEntryDto;
+import com.example.personalblog.dto.LogSegmentSummary;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Сводки по файлам лога, посчитанные заранее: число записей по уровням, частые ошибки,
+ * первая и последняя метки времени и первые записи каждого дня для предпросмотра.
+ *
+ * <p>Сводки обновляются по расписанию инкрементально: новый сегмент ротации
+ * обрабатывается один раз, а у дописываемого файла читается только то, что добавилось
+ * с прошлого обновления. Сводки сохраняются в небольшой файл индекса
+ * ({@code blog.logs.index.store}) и загружаются при старте, поэтому ответы о логах
+ * за день, включая предпросмотр, не требуют чтения файлов.
+ */
+@Component
+@Slf4j
+public class LogSegmentIndex {
+
+    private static final int MAX_ERROR_SIGNATURES = 20;
+    private static final int MAX_SIGNATURE_LENGTH = 120;
+    private static final int PREVIEW_SIZE = 10;
+    private static final int MAX_PREVIEW_LENGTH = 200;
+    private static final int TAIL_PROBE_SIZE = 8192;
+    private static final Pattern NUMBERS = Pattern.compile("\\d+");
+    private static final Comparator<LogEntryDto> BY_TIMESTAMP =
+            Comparator.comparing(LogEntryDto::getTimestamp);
+
+    private final LogSliceLocator logSliceLocator;
+    private final ObjectMapper objectMapper;
+    private final Path store;
+
+    private final ConcurrentHashMap<String, LogSegmentSummary> summaries =
+            new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    public LogSegmentIndex(LogSliceLocator logSliceLocator, ObjectMapper objectMapper,
+                           @Value("${blog.logs.index.store:}") String store) {
+        this.logSliceLocator = logSliceLocator;
+        this.objectMapper = objectMapper;
+        this.store = store.isBlank() ? null : Path.of(store);
+    }
+
+    /**
+     * Возвращает сводку за день по всем файлам лога или пустой результат,
+     * если записей за этот день нет.
+     */
+    public Optional<LogDaySummary> getDaySummary(LocalDate date) {
+        String day = date.toString();
+        LogDaySummary result = null;
+        for (LogSegmentSummary summary : summaries.values()) {
+            result = merge(result, summary.getDays().get(day));
+        }
+        return Optional.ofNullable(result);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.logs.index.refresh-ms:60000}",
+            initialDelayString = "${blog.logs.index.initial-delay-ms:5000}")
+    public void refresh() {
+        try {
+            Set<String> present = new HashSet<>();
+            for (LogSegment segment : logSliceLocator.discover(null, null)) {
+                String key = segment.getFile().toAbsolutePath().toString();
+                present.add(key);
+                update(key, segment);
+            }
+            if (summaries.keySet().retainAll(present)) {
+                dirty.set(true);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to refresh log index: {}", e.getMessage());
+        }
+        flush();
+    }
+
+    @PostConstruct
+    public void load() {
+        if (store == null || !Files.isRegularFile(store)) {
+            return;
+        }
+        try {
+            summaries.putAll(objectMapper.readValue(store.toFile(),
+                    new TypeReference<Map<String, LogSegmentSummary>>() { }));
+            log.info("Loaded {} log segment summaries from {}", summaries.size(), store);
+        } catch (IOException e) {
+            log.warn("Failed to load log index from {}: {}", store, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flush() {
+        if (store == null || !dirty.compareAndSet(true, false)) {
+            return;
+        }
+        try {
+            Path parent = store.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "log-index", ".tmp");
+            objectMapper.writeValue(temp.toFile(), Map.copyOf(summaries));
+            Files.move(temp, store, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Failed to persist log index to {}: {}", store, e.getMessage());
+        }
+    }
+
+    private void update(String key, LogSegment segment) throws IOException {
+        Path file = segment.getFile();
+        String fileId = LogSliceLocator.fileId(file);
+        long size = Files.size(file);
+        LogSegmentSummary existing = summaries.get(key);
+        if (existing != null && existing.getFileId().equals(fileId)) {
+            if (segment.isCompressed() || size == existing.getSize()) {
+                return;
+            }
+            if (size > existing.getSize()) {
+                summaries.put(key, scan(segment, fileId, existing, size));
+                dirty.set(true);
+                return;
+            }
+        }
+        // Новый файл, замененный или усеченный: считаем заново
+        LogSegmentSummary empty = new LogSegmentSummary(fileId, 0, segment.isCompressed(),
+                Map.of());
+        summaries.put(key, scan(segment, fileId, empty, size));
+        dirty.set(true);
+    }
+
+    /**
+     * Дополняет сводку записями файла начиная с уже обработанного смещения.
+     * Для несжатого файла чтение останавливается на последней полной строке.
+     */
+    private LogSegmentSummary scan(LogSegment segment, String fileId,
+                                   LogSegmentSummary summary, long size) throws IOException {
+        long start = summary.getSize();
+        long end = segment.isCompressed() ? size : lastLineEnd(segment.getFile(), start, size);
+        if (end <= start) {
+            return summary;
+        }
+        LogSlice slice = new LogSlice(segment.getFile(), fileId, start, end,
+                segment.isCompressed(), null);
+
+        Map<String, DayAccumulator> days = new TreeMap<>();
+        try (LogRecordReader reader = new LogRecordReader(slice)) {
+            LogRecordReader.LogRecord record;
+            while ((record = reader.next()) != null) {
+                String day = record.timestamp().substring(0, Math.min(10,
+                        record.timestamp().length()));
+                long length = record.text().getBytes(StandardCharsets.UTF_8).length;
+                days.computeIfAbsent(day, DayAccumulator::new).add(record, length);
+            }
+        }
+
+        Map<String, LogDaySummary> merged = new TreeMap<>(summary.getDays());
+        days.forEach((day, accumulator) ->
+                merged.merge(day, accumulator.toSummary(), LogSegmentIndex::merge));
+        log.debug("Indexed {} bytes of {}", end - start, segment.getFile());
+        return new LogSegmentSummary(fileId, end, segment.isCompressed(), merged);
+    }
+
+    /**
+     * Возвращает позицию после последнего перевода строки в {@code [start, size)}
+     * или {@code start}, если полных строк нет.
+     */
+    private static long lastLineEnd(Path file, long start, long size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(TAIL_PROBE_SIZE);
+            long end = size;
+            while (end > start) {
+                long probeStart = Math.max(start, end - TAIL_PROBE_SIZE);
+                buffer.clear().limit((int) (end - probeStart));
+                int read = channel.read(buffer, probeStart);
+                for (int i = read - 1; i >= 0; i--) {
+                    if (buffer.get(i) == '\n') {
+                        return probeStart + i + 1;
+                    }
+                }
+                end = probeStart;
+            }
+            return start;
+        }
+    }
+
+    private static LogDaySummary merge(LogDaySummary first, LogDaySummary second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        return new LogDaySummary(first.getDate(),
+                first.getRecords() + second.getRecords(),
+                first.getBytes() + second.getBytes(),
+                sum(first.getLevels(), second.getLevels()),
+                top(sum(first.getErrors(), second.getErrors())),
+                min(first.getFirstTimestamp(), second.getFirstTimestamp()),
+                max(first.getLastTimestamp(), second.getLastTimestamp()),
+                earliest(first.getPreview(), second.getPreview()));
+    }
+
+    private static List<LogEntryDto> earliest(List<LogEntryDto> first,
+                                              List<LogEntryDto> second) {
+        // Сводки из индекса, сохраненного до появления предпросмотра, его не содержат
+        List<LogEntryDto> result = new ArrayList<>();
+        if (first != null) {
+            result.addAll(first);
+        }
+        if (second != null) {
+            result.addAll(second);
+        }
+        result.sort(BY_TIMESTAMP);
+        return List.copyOf(result.subList(0, Math.min(PREVIEW_SIZE, result.size())));
+    }
+
+    private static Map<String, Long> sum(Map<String, Long> first, Map<String, Long> second) {
+        Map<String, Long> result = new TreeMap<>(first);
+        second.forEach((key, count) -> result.merge(key, count, Long::sum));
+        return result;
+    }
+
+    private static Map<String, Long> top(Map<String, Long> counts) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(MAX_ERROR_SIGNATURES)
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    private static String min(String first, String second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+    private static String max(String first, String second) {
+        return first.compareTo(second) >= 0 ? first : second;
+    }
+
+    /**
+     * Сигнатура ошибки: логгер и первая строка сообщения, в которой числа
+     * (идентификаторы, размеры) заменены на {@code #}, чтобы однотипные ошибки
+     * считались вместе.
+     */
+    static String signature(LogEntryDto entry) {
+        String message = entry.getMessage() != null ? entry.getMessage() : "";
+        int lineEnd = message.indexOf('\n');
+        String firstLine = lineEnd >= 0 ? message.substring(0, lineEnd) : message;
+        String normalized = NUMBERS.matcher(firstLine).replaceAll("#");
+        if (normalized.length() > MAX_SIGNATURE_LENGTH) {
+            normalized = normalized.substring(0, MAX_SIGNATURE_LENGTH);
+        }
+        return (entry.getLogger() != null ? entry.getLogger() : "?") + ": " + normalized;
+    }
+
+    /**
+     * Запись для предпросмотра: только первая строка сообщения, не длиннее
+     * {@value #MAX_PREVIEW_LENGTH} символов.
+     */
+    static LogEntryDto previewOf(LogEntryDto entry) {
+        String message = entry.getMessage() != null ? entry.getMessage() : "";
+        int lineEnd = message.indexOf('\n');
+        String firstLine = lineEnd >= 0 ? message.substring(0, lineEnd) : message;
+        if (firstLine.length() > MAX_PREVIEW_LENGTH) {
+            firstLine = firstLine.substring(0, MAX_PREVIEW_LENGTH);
+        }
+        return new LogEntryDto(entry.getTimestamp(), entry.getLevel(), entry.getLogger(),
+                firstLine);
+    }
+
+    private static final class DayAccumulator {
+        private final String date;
+        private final Map<String, Long> levels = new HashMap<>();
+        private final Map<String, Long> errors = new HashMap<>();
+        private final List<LogEntryDto> preview = new ArrayList<>();
+        private long records;
+        private long bytes;
+        private String firstTimestamp;
+        private String lastTimestamp;
+
+        private DayAccumulator(String date) {
+            this.date = date;
+        }
+
+        private void add(LogRecordReader.LogRecord record, long length) {
+            LogEntryDto entry = LogEntryParser.parse(record.timestamp(), record.text());
+            String level = entry.getLevel() != null ? entry.getLevel().trim() : "UNKNOWN";
+            levels.merge(level, 1L, Long::sum);
+            if ("ERROR".equals(level) || "FATAL".equals(level)) {
+                errors.merge(signature(entry), 1L, Long::sum);
+            }
+            addToPreview(entry);
+            records++;
+            bytes += length;
+            if (firstTimestamp == null || record.timestamp().compareTo(firstTimestamp) < 0) {
+                firstTimestamp = record.timestamp();
+            }
+            if (lastTimestamp == null || record.timestamp().compareTo(lastTimestamp) > 0) {
+                lastTimestamp = record.timestamp();
+            }
+        }
+
+        /**
+         * Держит {@code PREVIEW_SIZE} самых ранних записей; записи почти всегда идут
+         * по времени, поэтому обычно это просто первые записи дня.
+         */
+        private void addToPreview(LogEntryDto entry) {
+            if (preview.size() == PREVIEW_SIZE) {
+                if (BY_TIMESTAMP.compare(entry, preview.get(PREVIEW_SIZE - 1)) >= 0) {
+                    return;
+                }
+                preview.remove(PREVIEW_SIZE - 1);
+            }
+            int position = 0;
+            while (position < preview.size()
+                    && BY_TIMESTAMP.compare(preview.get(position), entry) <= 0) {
+                position++;
+            }
+            preview.add(position, previewOf(entry));
+        }
+
+        private LogDaySummary toSummary() {
+            return new LogDaySummary(date, records, bytes, new TreeMap<>(levels), top(errors),
+                    firstTimestamp, lastTimestamp, List.copyOf(preview));
+        }
+    }
+}
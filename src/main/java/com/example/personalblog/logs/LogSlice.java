@@ -0,0 +1,34 @@
+package com.example.personalblog.logs;
+
+import java.nio.file.Path;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Непрерывный диапазон байтов {@code [start, end)} в файле лога.
+ * {@code fileId} позволяет обнаружить, что файл был заменен при ротации.
+ * Для сжатого сегмента диапазон покрывает весь файл, а записи отбираются
+ * по времени при чтении.
+ */
+@Value
+@Builder
+@Jacksonized
+@AllArgsConstructor
+public class LogSlice {
+    Path file;
+    String fileId;
+    long start;
+    long end;
+    boolean compressed;
+    String firstTimestamp;
+
+    public LogSlice(Path file, String fileId, long start, long end) {
+        this(file, fileId, start, end, false, null);
+    }
+
+    public long length() {
+        return end - start;
+    }
+}
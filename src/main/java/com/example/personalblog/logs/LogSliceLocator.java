@@ -0,0 +1,191 @@
+package com.example.personalblog.logs;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Находит в файлах лога диапазоны байтов, относящиеся к заданному периоду.
+ *
+ * <p>Кроме активного файла просматриваются архивные сегменты, созданные ротацией,
+ * в том числе сжатые gzip. Сегменты обрабатываются параллельно в собственном
+ * {@link ForkJoinPool}: для несжатых файлов границы периода находятся двоичным
+ * поиском, сжатые сегменты отбираются по дате в имени и фильтруются при чтении.
+ */
+@Component
+public class LogSliceLocator {
+
+    // personal-blog-2024-05-01.0.log.gz, personal-blog-01.05.2024.3.log
+    private static final Pattern SEGMENT_NAME = Pattern.compile(
+            "personal-blog-(\\d{4}-\\d{2}-\\d{2}|\\d{2}\\.\\d{2}\\.\\d{4})\\.(\\d+)\\.log(\\.gz)?");
+    private static final DateTimeFormatter LEGACY_DATE = DateTimeFormatter.ofPattern("dd.MM.yyyy");
+
+    private final Path mainLogFile;
+    private final Path archiveDir;
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public LogSliceLocator(@Value("${logging.file.name:logs/personal-blog.log}")
+                           String mainLogFile,
+                           @Value("${blog.logs.archive-dir:logs/archive}") String archiveDir,
+                           @Value("${blog.logs.scan-parallelism:4}") int parallelism) {
+        this.mainLogFile = Path.of(mainLogFile);
+        this.archiveDir = Path.of(archiveDir);
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    public LogSliceLocator(String mainLogFile) {
+        this(mainLogFile, Path.of(mainLogFile).resolveSibling("archive").toString(), 2);
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public List<LogSlice> locate(LocalDate date) throws IOException {
+        return locate(date, date.plusDays(1));
+    }
+
+    /**
+     * Возвращает непустые диапазоны всех сегментов за период {@code [from, toExclusive)}.
+     * Несжатые диапазоны упорядочены по времени первой записи.
+     */
+    public List<LogSlice> locate(LocalDate from, LocalDate toExclusive) throws IOException {
+        String fromKey = from.toString();
+        String toKey = toExclusive.toString();
+        List<ForkJoinTask<LogSlice>> tasks = new ArrayList<>();
+        for (LogSegment segment : discover(from, toExclusive)) {
+            tasks.add(pool.submit(() -> slice(segment, fromKey, toKey)));
+        }
+
+        List<LogSlice> slices = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<LogSlice> task : tasks) {
+            LogSlice slice = join(task);
+            if (slice.length() > 0) {
+                slices.add(slice);
+            }
+        }
+        slices.sort(Comparator.comparing(LogSlice::getFirstTimestamp,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+        return slices;
+    }
+
+    /**
+     * Находит сегменты, которые могут содержать записи за период {@code [from, toExclusive)}.
+     * Если границы не заданы, возвращаются все сегменты. Активный файл возвращается всегда.
+     */
+    public List<LogSegment> discover(LocalDate from, LocalDate toExclusive) throws IOException {
+        List<LogSegment> segments = new ArrayList<>();
+        if (Files.isDirectory(archiveDir)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(archiveDir)) {
+                for (Path file : files) {
+                    LogSegment segment = parseSegment(file);
+                    if (segment != null && Files.isRegularFile(file)
+                            && (from == null || !segment.getDate().isBefore(from))
+                            && (toExclusive == null || segment.getDate().isBefore(toExclusive))) {
+                        segments.add(segment);
+                    }
+                }
+            }
+        }
+        segments.sort(Comparator.comparing(LogSegment::getDate)
+                .thenComparingInt(LogSegment::getIndex));
+        if (Files.isRegularFile(mainLogFile)) {
+            segments.add(new LogSegment(mainLogFile, false, null, Integer.MAX_VALUE));
+        }
+        return segments;
+    }
+
+    /**
+     * Проверяет, что диапазон все еще указывает на тот же файл и файл не стал короче,
+     * то есть не был заменен или усечен при ротации.
+     */
+    public boolean isCurrent(LogSlice slice) {
+        try {
+            return Files.size(slice.getFile()) >= slice.getEnd()
+                    && Objects.equals(fileId(slice.getFile()), slice.getFileId());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Возвращает диапазон записей сегмента с метками из {@code [fromKey, toKey)}.
+     * Сжатый сегмент возвращается целиком: записи отбираются при чтении.
+     */
+    public LogSlice slice(LogSegment segment, String fromKey, String toKey) throws IOException {
+        Path file = segment.getFile();
+        if (segment.isCompressed()) {
+            return new LogSlice(file, fileId(file), 0, Files.size(file), true, null);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] range = LogFileIndex.findRange(channel, fromKey, toKey);
+            String firstTimestamp = range[1] > range[0]
+                    ? LogFileIndex.timestampAt(channel, range[0])
+                    : null;
+            return new LogSlice(file, fileId(file), range[0], range[1], false, firstTimestamp);
+        }
+    }
+
+    private static LogSlice join(ForkJoinTask<LogSlice> task) throws IOException {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while locating log segments", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new IOException("Failed to locate log segment", e.getCause());
+        }
+    }
+
+    static LogSegment parseSegment(Path file) {
+        Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String date = matcher.group(1);
+        try {
+            LocalDate parsed = date.indexOf('.') > 0
+                    ? LocalDate.parse(date, LEGACY_DATE)
+                    : LocalDate.parse(date);
+            return new LogSegment(file, matcher.group(3) != null, parsed,
+                    Integer.parseInt(matcher.group(2)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static String fileId(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        Object key = attributes.fileKey();
+        return key != null ? key.toString() : attributes.creationTime().toString();
+    }
+}
@@ -0,0 +1,330 @@
+package com.example.personalblog.logs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Слежение за активным файлом лога с рассылкой новых строк подписчикам.
+ *
+ * <p>Файл читает один поток на всё приложение, сколько бы ни было подписчиков:
+ * он ждет изменений через {@link WatchService} (с опросом по таймауту, так как
+ * не все файловые системы присылают события) и дочитывает файл с последнего смещения.
+ * Ротация определяется по смене идентификатора файла или уменьшению его размера;
+ * остаток старого файла дочитывается перед переходом на новый.
+ *
+ * <p>У каждого подписчика своя ограниченная очередь, которую разбирает пул отправки.
+ * Подписчик, не успевающий забирать строки, отключается, чтобы не задерживать
+ * остальных и не копить память.
+ */
+@Component
+@Slf4j
+public class LogTailer {
+
+    private static final int READ_BUFFER_SIZE = 65536;
+
+    private final Path file;
+    private final int queueCapacity;
+    private final int maxSubscribers;
+    private final long pollMillis;
+    private final long timeoutMillis;
+    private final ExecutorService senders;
+    private final Counter droppedSubscribers;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private Thread reader;
+
+    @Autowired
+    public LogTailer(@Value("${logging.file.name:logs/personal-blog.log}") String file,
+                     @Value("${blog.logs.tail.queue-capacity:1000}") int queueCapacity,
+                     @Value("${blog.logs.tail.max-subscribers:50}") int maxSubscribers,
+                     @Value("${blog.logs.tail.poll-ms:1000}") long pollMillis,
+                     @Value("${blog.logs.tail.timeout-ms:1800000}") long timeoutMillis,
+                     MeterRegistry meterRegistry) {
+        this.file = Path.of(file).toAbsolutePath();
+        this.queueCapacity = queueCapacity;
+        this.maxSubscribers = maxSubscribers;
+        this.pollMillis = pollMillis;
+        this.timeoutMillis = timeoutMillis;
+        this.senders = Executors.newFixedThreadPool(2, new CustomizableThreadFactory("log-tail-"));
+        this.droppedSubscribers = Counter.builder("blog.logs.tail.dropped")
+                .description("Log tail subscribers dropped for not keeping up")
+                .register(meterRegistry);
+        Gauge.builder("blog.logs.tail.subscribers", subscribers, Set::size)
+                .description("Active log tail subscribers")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Подписывает клиента на новые строки лога. Каждая строка отправляется
+     * отдельным событием {@code log}.
+     *
+     * @throws RejectedExecutionException если подписчиков слишком много
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Runnable unsubscribe = subscribe(new Listener() {
+            @Override
+            public void onLine(String line) throws IOException {
+                emitter.send(SseEmitter.event().name("log").data(line));
+            }
+
+            @Override
+            public void close() {
+                emitter.complete();
+            }
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+        return emitter;
+    }
+
+    /**
+     * Подписывает получателя строк и возвращает действие для отписки.
+     */
+    Runnable subscribe(Listener listener) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new RejectedExecutionException("Too many log tail subscribers");
+        }
+        Subscriber subscriber = new Subscriber(listener, new ArrayBlockingQueue<>(queueCapacity));
+        subscribers.add(subscriber);
+        startReader();
+        return () -> subscribers.remove(subscriber);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (this) {
+            if (reader != null) {
+                reader.interrupt();
+            }
+        }
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.listener.close());
+        subscribers.clear();
+    }
+
+    private synchronized void startReader() {
+        if (reader == null) {
+            reader = new Thread(this::follow, "log-tail-reader");
+            reader.setDaemon(true);
+            reader.start();
+        }
+    }
+
+    /**
+     * Поток чтения работает, пока есть подписчики.
+     */
+    private synchronized boolean stopIfIdle() {
+        if (subscribers.isEmpty()) {
+            reader = null;
+            return true;
+        }
+        return false;
+    }
+
+    private void follow() {
+        Tail tail = new Tail();
+        try (WatchService watchService = file.getFileSystem().newWatchService()) {
+            Path directory = file.getParent();
+            if (directory != null && Files.isDirectory(directory)) {
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+            }
+            tail.open(true);
+            while (!stopIfIdle()) {
+                try {
+                    tail.read();
+                } catch (IOException e) {
+                    // Файл мог исчезнуть в момент ротации: откроем его заново
+                    log.debug("Failed to read {}", file, e);
+                    tail.close();
+                }
+                WatchKey key = watchService.poll(pollMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+        } catch (InterruptedException e) {
+            log.debug("Log tail reader stopped");
+        } catch (IOException e) {
+            log.warn("Log tail reader failed", e);
+            subscribers.forEach(subscriber -> subscriber.listener.close());
+            subscribers.clear();
+            stopIfIdle();
+        } finally {
+            tail.close();
+        }
+    }
+
+    private void publish(String line) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.offer(line)) {
+                drop(subscriber);
+            } else if (subscriber.scheduled.compareAndSet(false, true)) {
+                try {
+                    senders.execute(() -> drain(subscriber));
+                } catch (RejectedExecutionException e) {
+                    // Приложение останавливается
+                    subscriber.scheduled.set(false);
+                }
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            String line;
+            while ((line = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.listener.onLine(line);
+                } catch (IOException | IllegalStateException e) {
+                    // Клиент отключился
+                    subscribers.remove(subscriber);
+                    subscriber.queue.clear();
+                    break;
+                }
+            }
+            subscriber.scheduled.set(false);
+        } while (!subscriber.queue.isEmpty() && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            droppedSubscribers.increment();
+            subscriber.listener.close();
+            log.debug("Dropped slow log tail subscriber");
+        }
+    }
+
+    /**
+     * Получатель новых строк лога.
+     */
+    interface Listener {
+        void onLine(String line) throws IOException;
+
+        void close();
+    }
+
+    private static final class Subscriber {
+        private final Listener listener;
+        private final BlockingQueue<String> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Subscriber(Listener listener, BlockingQueue<String> queue) {
+            this.listener = listener;
+            this.queue = queue;
+        }
+    }
+
+    /**
+     * Состояние чтения: открытый файл, его идентификатор и смещение.
+     * Используется только потоком чтения.
+     */
+    private final class Tail {
+        private final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        private final ByteArrayOutputStream partialLine = new ByteArrayOutputStream();
+        private FileChannel channel;
+        private String fileId;
+        private long position;
+
+        /**
+         * Открывает файл; при первом открытии чтение начинается с конца файла,
+         * после ротации — с начала нового файла.
+         */
+        private void open(boolean fromEnd) throws IOException {
+            if (!Files.isRegularFile(file)) {
+                return;
+            }
+            channel = FileChannel.open(file, StandardOpenOption.READ);
+            fileId = LogSliceLocator.fileId(file);
+            position = fromEnd ? channel.size() : 0;
+            partialLine.reset();
+        }
+
+        private void read() throws IOException {
+            if (channel == null) {
+                open(false);
+                if (channel == null) {
+                    return;
+                }
+            }
+            String currentId = Files.isRegularFile(file) ? LogSliceLocator.fileId(file) : null;
+            boolean rotated = !Objects.equals(currentId, fileId);
+            if (rotated || channel.size() < position) {
+                if (rotated) {
+                    // Дочитываем то, что успело попасть в старый файл
+                    readAvailable();
+                }
+                close();
+                open(false);
+                if (channel == null) {
+                    return;
+                }
+            }
+            readAvailable();
+        }
+
+        private void readAvailable() throws IOException {
+            while (true) {
+                buffer.clear();
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    return;
+                }
+                position += read;
+                for (int i = 0; i < read; i++) {
+                    byte b = buffer.get(i);
+                    if (b == '\n') {
+                        publish(partialLine.toString(StandardCharsets.UTF_8));
+                        partialLine.reset();
+                    } else if (b != '\r') {
+                        partialLine.write(b);
+                    }
+                }
+            }
+        }
+
+        private void close() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    log.debug("Failed to close {}", file, e);
+                }
+                channel = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.personalblog.logs;
+
+import com.example.personalblog.dto.LogTaskInfo;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Реестр задач выгрузки логов.
+ *
+ * <p>Завершенные задачи удаляются по истечении {@code blog.logs.tasks.ttl}, а общее число
+ * задач ограничено {@code blog.logs.tasks.max-size}: при переполнении вытесняются самые
+ * старые завершенные задачи. Новые задачи добавляет только {@link #register}, и проверка
+ * размера, вытеснение и вставка выполняются в нем под одной блокировкой, поэтому
+ * одновременные регистрации не выводят реестр за предел. Незавершенные задачи
+ * не вытесняются: если весь реестр занят ими, новая задача все равно добавляется,
+ * но их число ограничено емкостью пула задач выгрузки. Переходы состояний атомарны —
+ * новое неизменяемое значение записывается через {@link ConcurrentHashMap#computeIfPresent}.
+ * Если задан {@code blog.logs.tasks.store}, реестр периодически сохраняется в файл
+ * и загружается при старте; задачи, прерванные перезапуском, помечаются как {@code FAILED}.
+ */
+@Component
+@Slf4j
+public class LogTaskRegistry {
+
+    private final ConcurrentHashMap<String, LogTaskInfo> tasks = new ConcurrentHashMap<>();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final int maxSize;
+    private final Path store;
+    private final Clock clock;
+
+    @Autowired
+    public LogTaskRegistry(ObjectMapper objectMapper,
+                           @Value("${blog.logs.tasks.ttl:1h}") Duration ttl,
+                           @Value("${blog.logs.tasks.max-size:1000}") int maxSize,
+                           @Value("${blog.logs.tasks.store:}") String store) {
+        this(objectMapper, ttl, maxSize, store.isBlank() ? null : Path.of(store),
+                Clock.systemUTC());
+    }
+
+    LogTaskRegistry(ObjectMapper objectMapper, Duration ttl, int maxSize, Path store,
+                    Clock clock) {
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.store = store;
+        this.clock = clock;
+    }
+
+    /**
+     * Регистрирует новую задачу в состоянии {@link LogTaskStatus#PENDING}.
+     */
+    public synchronized LogTaskInfo register(String logId, String date) {
+        if (tasks.size() >= maxSize) {
+            evictOldestFinished(tasks.size() - maxSize + 1);
+        }
+        LogTaskInfo task = new LogTaskInfo(LogTaskStatus.PENDING, List.of(), date,
+                clock.instant(), null);
+        tasks.put(logId, task);
+        dirty.set(true);
+        return task;
+    }
+
+    public Optional<LogTaskInfo> get(String logId) {
+        return Optional.ofNullable(tasks.get(logId));
+    }
+
+    /**
+     * Атомарно переводит задачу из состояния {@code from} в {@code to}.
+     *
+     * @return {@code true}, если задача была в состоянии {@code from} и переход выполнен
+     */
+    public boolean transition(String logId, LogTaskStatus from, LogTaskStatus to,
+                              UnaryOperator<LogTaskInfo> update) {
+        return transition(logId, Set.of(from), to, update);
+    }
+
+    /**
+     * Атомарно переводит задачу в состояние {@code to} из любого состояния {@code from}.
+     *
+     * @return {@code true}, если задача была в одном из состояний {@code from}
+     *         и переход выполнен
+     */
+    public boolean transition(String logId, Set<LogTaskStatus> from, LogTaskStatus to,
+                              UnaryOperator<LogTaskInfo> update) {
+        boolean[] applied = new boolean[1];
+        tasks.computeIfPresent(logId, (id, task) -> {
+            if (!from.contains(task.getStatus())) {
+                return task;
+            }
+            applied[0] = true;
+            LogTaskInfo updated = update.apply(task).withStatus(to);
+            return to.isFinished() ? updated.withFinishedAt(clock.instant()) : updated;
+        });
+        if (applied[0]) {
+            dirty.set(true);
+        }
+        return applied[0];
+    }
+
+    /**
+     * Атомарно заменяет данные задачи, не меняя ее состояния.
+     */
+    public void update(String logId, UnaryOperator<LogTaskInfo> update) {
+        if (tasks.computeIfPresent(logId, (id, task) -> update.apply(task)) != null) {
+            dirty.set(true);
+        }
+    }
+
+    public int size() {
+        return tasks.size();
+    }
+
+    @Scheduled(fixedDelayString = "${blog.logs.tasks.cleanup-ms:60000}")
+    public void removeExpired() {
+        Instant threshold = clock.instant().minus(ttl);
+        if (tasks.values().removeIf(task -> task.getFinishedAt() != null
+                && task.getFinishedAt().isBefore(threshold))) {
+            dirty.set(true);
+        }
+    }
+
+    @PostConstruct
+    public void load() {
+        if (store == null || !Files.isRegularFile(store)) {
+            return;
+        }
+        try {
+            Map<String, LogTaskInfo> saved = objectMapper.readValue(store.toFile(),
+                    new TypeReference<Map<String, LogTaskInfo>>() { });
+            Instant now = clock.instant();
+            saved.forEach((logId, task) -> tasks.put(logId, task.getStatus().isFinished()
+                    ? task
+                    : task.withStatus(LogTaskStatus.FAILED).withFinishedAt(now)));
+            removeExpired();
+            log.info("Loaded {} log tasks from {}", tasks.size(), store);
+        } catch (IOException e) {
+            log.warn("Failed to load log tasks from {}: {}", store, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.logs.tasks.flush-ms:5000}")
+    @PreDestroy
+    public void flush() {
+        if (store == null || !dirty.compareAndSet(true, false)) {
+            return;
+        }
+        try {
+            Path parent = store.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, "log-tasks", ".tmp");
+            objectMapper.writeValue(temp.toFile(), Map.copyOf(tasks));
+            Files.move(temp, store, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty.set(true);
+            log.warn("Failed to persist log tasks to {}: {}", store, e.getMessage());
+        }
+    }
+
+    private void evictOldestFinished(int count) {
+        tasks.entrySet().stream()
+                .filter(entry -> entry.getValue().getFinishedAt() != null)
+                .sorted(Comparator.comparing(entry -> entry.getValue().getFinishedAt()))
+                .limit(count)
+                .forEach(entry -> tasks.remove(entry.getKey(), entry.getValue()));
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.personalblog.logs;
+
+/**
+ * Состояние задачи выгрузки логов.
+ */
+public enum LogTaskStatus {
+    PENDING,
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this != PENDING && this != IN_PROGRESS;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.personalblog.logs;
+
+/**
+ * Извлечение метки времени из строки лога.
+ *
+ * <p>Метки в формате ISO-8601 сравниваются как строки, поэтому разбор даты не нужен:
+ * достаточно вернуть префикс строки, начинающийся с даты {@code yyyy-MM-dd}.
+ * Для структурированных записей в JSON метка берется из первого поля {@code @timestamp}.
+ */
+public final class LogTimestamps {
+
+    private static final int DATE_LENGTH = 10;
+    private static final String JSON_PREFIX = "{\"@timestamp\":\"";
+
+    private LogTimestamps() {
+    }
+
+    /**
+     * Возвращает метку времени, с которой начинается строка, или {@code null},
+     * если строка не начинается с даты (например, это продолжение стека вызовов).
+     */
+    public static String extract(CharSequence line) {
+        int start = isJson(line) ? JSON_PREFIX.length() : 0;
+        if (!startsWithDate(line, start)) {
+            return null;
+        }
+        int end = start + DATE_LENGTH;
+        while (end < line.length() && !Character.isWhitespace(line.charAt(end))
+                && line.charAt(end) != '"') {
+            end++;
+        }
+        return line.subSequence(start, end).toString();
+    }
+
+    /**
+     * Проверяет, что строка — структурированная запись в JSON.
+     */
+    public static boolean isJson(CharSequence line) {
+        if (line.length() < JSON_PREFIX.length()) {
+            return false;
+        }
+        for (int i = 0; i < JSON_PREFIX.length(); i++) {
+            if (line.charAt(i) != JSON_PREFIX.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean startsWithDate(CharSequence line, int start) {
+        if (line.length() < start + DATE_LENGTH) {
+            return false;
+        }
+        for (int i = 0; i < DATE_LENGTH; i++) {
+            char c = line.charAt(start + i);
+            boolean separator = i == 4 || i == 7;
+            if (separator ? c != '-' : c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -9,14 +9,19 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Сущность, представляющая категорию для постов блога.
@@ -26,6 +31,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@ToString(exclude = "posts")
+@EqualsAndHashCode(exclude = {"posts", "updatedAt"})
 @Table(name = "categories")
 @Schema(description = "Модель категории для постов блога")
 public class Category {
@@ -51,6 +58,12 @@ public class Category {
     )
     private String name;
 
+    // Меняется при каждой записи: по нему снимок кэша постов замечает переименования
+    @JsonIgnore
+    @Column(name = "updated_at")
+    @Schema(hidden = true)
+    private LocalDateTime updatedAt;
+
     @JsonIgnore
     @ManyToMany(mappedBy = "categories", fetch = FetchType.LAZY)
     @Schema(
@@ -81,4 +94,10 @@ public class Category {
         this.posts.remove(post);
         post.getCategories().remove(this);
     }
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
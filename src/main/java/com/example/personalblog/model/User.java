@@ -10,7 +10,10 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 import lombok.AllArgsConstructor;
@@ -25,7 +28,7 @@ import lombok.ToString;
 @AllArgsConstructor
 @Entity
 @ToString(exclude = "posts")
-@EqualsAndHashCode(exclude = "posts")
+@EqualsAndHashCode(exclude = {"posts", "updatedAt"})
 @Table(name = "users")
 public class User {
 
@@ -62,6 +65,12 @@ public class User {
     @Column(name = "email", nullable = false, unique = true)
     private String email;
 
+    // Время последнего изменения; снимок кэша постов сверяет по нему логины авторов
+    @JsonIgnore
+    @Column(name = "updated_at")
+    @Schema(hidden = true)
+    private LocalDateTime updatedAt;
+
     @Schema(
             description = "Список постов пользователя",
             implementation = Post.class,
@@ -75,4 +84,10 @@ public class User {
     )
     @JsonIgnore
     private Set<Post> posts = new HashSet<>();
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
 }
\ No newline at end of file
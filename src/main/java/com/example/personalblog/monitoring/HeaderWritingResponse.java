@@ -0,0 +1,66 @@
+package com.example.personalblog.monitoring;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Добавляет заголовки в момент, когда ответ начинают записывать, пока заголовки
+ * еще можно изменить. Фильтр вызывает {@link #writeHeaders()} и после обработки
+ * запроса — на случай ответа без тела; заголовки пишутся один раз.
+ */
+public final class HeaderWritingResponse extends HttpServletResponseWrapper {
+    private final Runnable headerWriter;
+    private boolean headersWritten;
+
+    public HeaderWritingResponse(HttpServletResponse response, Runnable headerWriter) {
+        super(response);
+        this.headerWriter = headerWriter;
+    }
+
+    public void writeHeaders() {
+        if (headersWritten || isCommitted()) {
+            return;
+        }
+        headersWritten = true;
+        headerWriter.run();
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        writeHeaders();
+        return super.getOutputStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        writeHeaders();
+        return super.getWriter();
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        writeHeaders();
+        super.flushBuffer();
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        writeHeaders();
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        writeHeaders();
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        writeHeaders();
+        super.sendRedirect(location);
+    }
+}
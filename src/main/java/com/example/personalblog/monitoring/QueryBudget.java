@@ -0,0 +1,43 @@
+package com.example.personalblog.monitoring;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Допустимое число SQL-запросов на один вызов обработчика. Аннотация на методе
+ * контроллера переопределяет аннотацию на классе.
+ *
+ * <p>Для пакетных обработчиков бюджет растет с размером пакета: к {@link #value()}
+ * добавляется {@link #perItem()} на каждый элемент. Размер пакета — число элементов
+ * в аргументах обработчика, которые являются коллекциями или реализуют {@link Batch}.
+ *
+ * <p>Превышение учитывается метрикой {@code blog.requests.sql.budget.exceeded}
+ * и пишется в лог, а при {@code blog.requests.query-budget.fail=true} (только в тестах,
+ * см. {@link RequestStatsFilter}) завершает запрос исключением
+ * {@link QueryBudgetExceededException}.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface QueryBudget {
+
+    /**
+     * Максимальное число SQL-запросов, а для пакета — его постоянная часть.
+     */
+    int value();
+
+    /**
+     * Дополнительное число SQL-запросов на каждый элемент пакета.
+     */
+    int perItem() default 0;
+
+    /**
+     * Аргумент обработчика, содержащий пакет элементов не в виде коллекции.
+     */
+    interface Batch {
+        int batchSize();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.personalblog.monitoring;
+
+/**
+ * Обработчик выполнил больше SQL-запросов, чем разрешено {@link QueryBudget}.
+ */
+public class QueryBudgetExceededException extends IllegalStateException {
+
+    public QueryBudgetExceededException(String route, int statements, int budget) {
+        super("Query budget exceeded for " + route + ": " + statements
+                + " statements, budget " + budget);
+    }
+}
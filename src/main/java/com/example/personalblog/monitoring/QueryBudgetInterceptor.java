@@ -0,0 +1,48 @@
+package com.example.personalblog.monitoring;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Передает в {@link RequestStats} бюджет SQL-запросов обработчика из {@link QueryBudget}.
+ * Аннотация ищется один раз для каждого метода.
+ */
+@Component
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    private static final Budget NO_BUDGET = new Budget(RequestStats.NO_BUDGET, 0);
+
+    private final Map<Method, Budget> budgets = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request,
+                             @NonNull HttpServletResponse response,
+                             @NonNull Object handler) {
+        RequestStats stats = RequestStats.current();
+        if (stats != null && handler instanceof HandlerMethod handlerMethod) {
+            Budget budget = budgets.computeIfAbsent(handlerMethod.getMethod(),
+                    method -> findBudget(method, handlerMethod.getBeanType()));
+            stats.setQueryBudget(budget.value(), budget.perItem());
+        }
+        return true;
+    }
+
+    private static Budget findBudget(Method method, Class<?> beanType) {
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(method, QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(beanType, QueryBudget.class);
+        }
+        return budget != null ? new Budget(budget.value(), budget.perItem()) : NO_BUDGET;
+    }
+
+    private record Budget(int value, int perItem) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.personalblog.monitoring;
+
+import java.util.Collection;
+import org.springframework.lang.Nullable;
+
+/**
+ * Статистика текущего HTTP-запроса: число SQL-запросов, время в базе данных
+ * и вызванный обработчик с аргументами.
+ *
+ * <p>Состояние привязано к потоку запроса через {@link ThreadLocal} и изменяется
+ * только этим потоком, поэтому обновление стоит одного обращения к полю.
+ * Работа, вынесенная в другие потоки, в статистику не попадает.
+ */
+public final class RequestStats {
+
+    public static final int NO_BUDGET = -1;
+
+    private static final ThreadLocal<RequestStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long dbNanos;
+    private long statementStart;
+    private String handler;
+    private Object[] handlerArgs;
+    private int queryBudget = NO_BUDGET;
+    private int perItemBudget;
+    private int batchItems;
+
+    RequestStats() {
+    }
+
+    /**
+     * Начинает сбор статистики для запроса, выполняемого текущим потоком.
+     */
+    public static RequestStats start() {
+        RequestStats stats = new RequestStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Статистика запроса текущего потока или {@code null}, если поток не обслуживает запрос.
+     */
+    @Nullable
+    public static RequestStats current() {
+        return CURRENT.get();
+    }
+
+    void statementStarted() {
+        statementStart = System.nanoTime();
+    }
+
+    void statementFinished(int count) {
+        statements += count;
+        if (statementStart != 0) {
+            dbNanos += System.nanoTime() - statementStart;
+            statementStart = 0;
+        }
+    }
+
+    /**
+     * Запоминает обработчик запроса; аргументы описываются, только если запрос
+     * окажется медленным.
+     */
+    public void handlerInvoked(String handler, Object[] args) {
+        this.handler = handler;
+        this.handlerArgs = args;
+        if (perItemBudget > 0) {
+            batchItems = 0;
+            for (Object arg : args) {
+                if (arg instanceof Collection<?> collection) {
+                    batchItems += collection.size();
+                } else if (arg instanceof QueryBudget.Batch batch) {
+                    batchItems += batch.batchSize();
+                }
+            }
+        }
+    }
+
+    /**
+     * Задает допустимое число SQL-запросов для обработчика запроса.
+     */
+    public void setQueryBudget(int queryBudget) {
+        setQueryBudget(queryBudget, 0);
+    }
+
+    /**
+     * Задает постоянную часть бюджета и добавку на каждый элемент пакета, который
+     * определится по аргументам обработчика.
+     */
+    public void setQueryBudget(int queryBudget, int perItemBudget) {
+        this.queryBudget = queryBudget;
+        this.perItemBudget = perItemBudget;
+    }
+
+    public boolean isOverBudget() {
+        return queryBudget != NO_BUDGET && statements > getQueryBudget();
+    }
+
+    public int getQueryBudget() {
+        return queryBudget == NO_BUDGET ? NO_BUDGET : queryBudget + perItemBudget * batchItems;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getDbNanos() {
+        return dbNanos;
+    }
+
+    @Nullable
+    public String getHandler() {
+        return handler;
+    }
+
+    @Nullable
+    public Object[] getHandlerArgs() {
+        return handlerArgs;
+    }
+}
@@ -0,0 +1,176 @@
+package com.example.personalblog.monitoring;
+
+import com.example.personalblog.aspect.LoggingAspect;
+import com.example.personalblog.config.MetricsConfig;
+import com.example.personalblog.dto.SlowRequestDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Собирает {@link RequestStats} для каждого запроса: число SQL-запросов и время в базе
+ * публикуются метриками {@code blog.requests.sql.*} по шаблону маршрута, запросы дольше
+ * {@code blog.requests.slow.threshold} сохраняются в {@link SlowRequestLog}, а превышение
+ * {@link QueryBudget} учитывается и при {@code blog.requests.query-budget.fail}
+ * завершается исключением.
+ *
+ * <p>Длительность измеряется по {@link System#nanoTime()} от входа в цепочку фильтров
+ * до ее завершения. Для асинхронных ответов учитывается только первичная обработка.
+ * Описание аргументов строится лишь для медленных запросов.
+ *
+ * <p>{@code blog.requests.query-budget.fail} — переключатель только для тестов: исключение
+ * бросается после цепочки фильтров, когда ответ обычно уже записан и отправлен.
+ * MockMvc передает его в тест, а на настоящем контейнере клиент получит исходный ответ,
+ * и исключение попадет лишь в лог контейнера. Поэтому в рабочей конфигурации превышение
+ * только учитывается метрикой и пишется в лог.
+ *
+ * <p>При {@code blog.requests.stats-headers=true} (профиль {@code dev}) статистика
+ * добавляется в заголовки ответа перед записью тела; запросы, выполненные во время
+ * записи тела, попадают только в метрики.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class RequestStatsFilter extends OncePerRequestFilter {
+
+    public static final String SQL_COUNT_HEADER = "X-Sql-Count";
+    public static final String DB_TIME_HEADER = "X-Db-Time-Ms";
+    public static final String QUERY_BUDGET_HEADER = "X-Query-Budget";
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+    private static final String UNMATCHED_ROUTE = "UNMATCHED";
+
+    private final SlowRequestLog slowRequestLog;
+    private final MeterRegistry meterRegistry;
+    private final long thresholdNanos;
+    private final boolean statsHeaders;
+    private final boolean failOnBudgetExceeded;
+    private final Map<String, RouteMeters> routeMeters = new ConcurrentHashMap<>();
+
+    public RequestStatsFilter(SlowRequestLog slowRequestLog,
+                              MeterRegistry meterRegistry,
+                              @Value("${blog.requests.slow.threshold:500ms}")
+                              Duration threshold,
+                              @Value("${blog.requests.stats-headers:false}")
+                              boolean statsHeaders,
+                              @Value("${blog.requests.query-budget.fail:false}")
+                              boolean failOnBudgetExceeded) {
+        this.slowRequestLog = slowRequestLog;
+        this.meterRegistry = meterRegistry;
+        this.thresholdNanos = threshold.toNanos();
+        this.statsHeaders = statsHeaders;
+        this.failOnBudgetExceeded = failOnBudgetExceeded;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        RequestStats stats = RequestStats.start();
+        HeaderWritingResponse headerResponse = statsHeaders
+                ? new HeaderWritingResponse(response, () -> writeHeaders(response, stats))
+                : null;
+        try {
+            filterChain.doFilter(request, headerResponse != null ? headerResponse : response);
+        } finally {
+            RequestStats.end();
+            if (headerResponse != null) {
+                headerResponse.writeHeaders();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        String route = route(request);
+        RouteMeters meters = routeMeters.computeIfAbsent(route, this::createRouteMeters);
+        meters.statements.record(stats.getStatements());
+        meters.dbTime.record(stats.getDbNanos(), TimeUnit.NANOSECONDS);
+        if (elapsed >= thresholdNanos) {
+            recordSlow(request, response, route, stats, elapsed);
+        }
+        if (stats.isOverBudget()) {
+            meters.budgetExceeded.increment();
+            log.warn("Query budget exceeded for {} {}: {} statements, budget {}",
+                    request.getMethod(), route, stats.getStatements(), stats.getQueryBudget());
+            if (failOnBudgetExceeded) {
+                throw new QueryBudgetExceededException(request.getMethod() + " " + route,
+                        stats.getStatements(), stats.getQueryBudget());
+            }
+        }
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof String value ? value : UNMATCHED_ROUTE;
+    }
+
+    private RouteMeters createRouteMeters(String route) {
+        return new RouteMeters(
+                DistributionSummary.builder("blog.requests.sql.statements")
+                        .description("SQL statements per request")
+                        .tag(MetricsConfig.ROUTE_TAG, route)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry),
+                Timer.builder("blog.requests.sql.time")
+                        .description("Time spent executing SQL per request")
+                        .tag(MetricsConfig.ROUTE_TAG, route)
+                        .publishPercentiles(0.5, 0.99)
+                        .register(meterRegistry),
+                Counter.builder("blog.requests.sql.budget.exceeded")
+                        .description("Requests that executed more SQL statements than allowed")
+                        .tag(MetricsConfig.ROUTE_TAG, route)
+                        .register(meterRegistry));
+    }
+
+    private void recordSlow(HttpServletRequest request, HttpServletResponse response,
+                            String route, RequestStats stats, long elapsedNanos) {
+        Object[] args = stats.getHandlerArgs();
+        SlowRequestDto slowRequest = SlowRequestDto.builder()
+                .timestamp(Instant.now())
+                .method(request.getMethod())
+                .route(UNMATCHED_ROUTE.equals(route) ? request.getRequestURI() : route)
+                .status(response.getStatus())
+                .durationMs(elapsedNanos / NANOS_PER_MILLI)
+                .handler(stats.getHandler())
+                .args(args != null ? LoggingAspect.summarizeAll(args) : null)
+                .sqlCount(stats.getStatements())
+                .dbTimeMs(stats.getDbNanos() / NANOS_PER_MILLI)
+                .build();
+        slowRequestLog.add(slowRequest);
+        log.debug("Slow request {} {} took {} ms", slowRequest.getMethod(),
+                slowRequest.getRoute(), slowRequest.getDurationMs());
+    }
+
+    private static void writeHeaders(HttpServletResponse response, RequestStats stats) {
+        response.setHeader(SQL_COUNT_HEADER, Integer.toString(stats.getStatements()));
+        response.setHeader(DB_TIME_HEADER, String.format(Locale.ROOT, "%.3f",
+                stats.getDbNanos() / NANOS_PER_MILLI));
+        if (stats.getQueryBudget() != RequestStats.NO_BUDGET) {
+            response.setHeader(QUERY_BUDGET_HEADER, Integer.toString(stats.getQueryBudget()));
+        }
+    }
+
+    private record RouteMeters(DistributionSummary statements, Timer dbTime,
+                               Counter budgetExceeded) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.personalblog.monitoring;
+
+import com.example.personalblog.dto.SlowRequestDto;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Кольцевой буфер последних медленных запросов. Запись не блокирует потоки
+ * запросов: позиция берется атомарным счетчиком, и новая запись вытесняет самую старую.
+ */
+@Component
+public class SlowRequestLog {
+
+    private final AtomicReferenceArray<SlowRequestDto> entries;
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowRequestLog(@Value("${blog.requests.slow.capacity:100}") int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Slow request log capacity must be positive");
+        }
+        this.entries = new AtomicReferenceArray<>(capacity);
+    }
+
+    public void add(SlowRequestDto request) {
+        entries.set((int) (next.getAndIncrement() % entries.length()), request);
+    }
+
+    /**
+     * Возвращает сохраненные запросы, начиная с самого свежего.
+     */
+    public List<SlowRequestDto> snapshot() {
+        List<SlowRequestDto> result = new ArrayList<>(entries.length());
+        for (int i = 0; i < entries.length(); i++) {
+            SlowRequestDto entry = entries.get(i);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        result.sort(Comparator.comparing(SlowRequestDto::getTimestamp).reversed());
+        return result;
+    }
+
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.personalblog.monitoring;
+
+import java.util.List;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Учитывает выполненные SQL-запросы в статистике текущего HTTP-запроса.
+ * Время измеряется по {@link System#nanoTime()}, а не по миллисекундам
+ * datasource-proxy, чтобы короткие запросы не округлялись до нуля.
+ */
+public class SqlStatsListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestStats stats = RequestStats.current();
+        if (stats != null) {
+            stats.statementStarted();
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestStats stats = RequestStats.current();
+        if (stats != null) {
+            stats.statementFinished(Math.max(queryInfoList.size(), 1));
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.personalblog.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Обработка одного пакета массового создания постов.
+ */
+@Name("personalblog.BulkImportChunk")
+@Label("Bulk Import Chunk")
+@Category({"Personal Blog", "Import"})
+@Description("Пакет постов, созданных одним массовым запросом")
+public class BulkImportChunkEvent extends Event {
+
+    @Label("User Id")
+    public long userId;
+
+    @Label("Posts")
+    public int posts;
+
+    @Label("Categories")
+    @Description("Число различных категорий в пакете")
+    public int categories;
+}
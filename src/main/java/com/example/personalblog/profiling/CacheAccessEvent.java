@@ -0,0 +1,38 @@
+package com.example.personalblog.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Обращение к {@code CacheService}: попадание или промах по ключу.
+ * Событий много, поэтому стек вызовов не записывается.
+ */
+@Name("personalblog.CacheAccess")
+@Label("Cache Access")
+@Category({"Personal Blog", "Cache"})
+@Description("Попадание или промах кэша приложения")
+@StackTrace(false)
+public class CacheAccessEvent extends Event {
+
+    @Label("Key")
+    public String key;
+
+    @Label("Hit")
+    public boolean hit;
+
+    /**
+     * Записывает событие, если оно включено в активной записи JFR.
+     */
+    public static void emit(String key, boolean hit) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        if (event.shouldCommit()) {
+            event.key = key;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.personalblog.profiling;
+
+import com.example.personalblog.dto.JfrRecordingInfo;
+import com.example.personalblog.dto.JfrRecordingRequest;
+import com.example.personalblog.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Записи Java Flight Recorder по запросу.
+ *
+ * <p>Запись строится из стандартных настроек JFR ({@code default} или {@code profile})
+ * с переопределениями отдельных событий. Данные пишутся в файл
+ * {@code <blog.profiling.jfr.dir>/<имя>.jfr} при остановке записи, в том числе
+ * по истечении заданной длительности; для идущей записи файл обновляется снимком
+ * текущих данных перед выгрузкой. Одновременно идет не больше
+ * {@code blog.profiling.jfr.max-recordings} записей.
+ *
+ * <p>API записей не требует аутентификации, поэтому по умолчанию выключено
+ * ({@code blog.profiling.jfr.enabled}) и отвечает 404. События, которые сохраняют
+ * переменные окружения, системные свойства и аргументы командной строки JVM
+ * (в них бывают пароли, например {@code SPRING_DATASOURCE_PASSWORD}), выключаются
+ * в любой записи независимо от настроек запроса.
+ */
+@Service
+@Slf4j
+public class FlightRecorderService {
+
+    private static final DateTimeFormatter NAME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.JVMInformation");
+
+    private final boolean enabled;
+    private final Path directory;
+    private final int maxRecordings;
+    private final Map<Long, ManagedRecording> recordings = new ConcurrentHashMap<>();
+
+    public FlightRecorderService(
+            @Value("${blog.profiling.jfr.enabled:false}") boolean enabled,
+            @Value("${blog.profiling.jfr.dir:logs/jfr}") String directory,
+            @Value("${blog.profiling.jfr.max-recordings:2}") int maxRecordings) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.maxRecordings = maxRecordings;
+    }
+
+    private record ManagedRecording(Recording recording, String settings, Path file) {
+    }
+
+    public synchronized JfrRecordingInfo start(JfrRecordingRequest request) throws IOException {
+        checkEnabled();
+        long running = recordings.values().stream()
+                .filter(managed -> managed.recording().getState() == RecordingState.RUNNING)
+                .count();
+        if (running >= maxRecordings) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Too many running JFR recordings");
+        }
+
+        String settingsName = request.getSettings() != null ? request.getSettings() : "default";
+        Map<String, String> settings = new HashMap<>(configuration(settingsName).getSettings());
+        if (request.getOptions() != null) {
+            settings.putAll(request.getOptions());
+        }
+        for (String event : SENSITIVE_EVENTS) {
+            settings.put(event + "#enabled", "false");
+        }
+        String name = request.getName() != null
+                ? request.getName()
+                : "recording-" + NAME_FORMAT.format(Instant.now());
+        Path file = directory.resolve(name + ".jfr");
+        boolean nameTaken = recordings.values().stream()
+                .anyMatch(managed -> managed.file().equals(file));
+        if (nameTaken) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Recording name is already used: " + name);
+        }
+
+        Files.createDirectories(directory);
+        Recording recording = new Recording(settings);
+        recording.setName(name);
+        recording.setToDisk(true);
+        recording.setDestination(file);
+        if (request.getDuration() != null) {
+            recording.setDuration(request.getDuration());
+        }
+        if (request.getMaxSizeMb() != null) {
+            recording.setMaxSize(request.getMaxSizeMb() * 1024 * 1024);
+        }
+        recording.start();
+        recordings.put(recording.getId(), new ManagedRecording(recording, settingsName, file));
+        log.info("Started JFR recording {} ({}) with settings {}", recording.getId(), name,
+                settingsName);
+        return info(recordings.get(recording.getId()));
+    }
+
+    public List<JfrRecordingInfo> list() {
+        checkEnabled();
+        return recordings.values().stream()
+                .sorted(Comparator.comparingLong(managed -> managed.recording().getId()))
+                .map(FlightRecorderService::info)
+                .toList();
+    }
+
+    public JfrRecordingInfo get(long id) {
+        return info(find(id));
+    }
+
+    /**
+     * Останавливает запись; JFR сохраняет данные в ее файл и закрывает запись.
+     */
+    public JfrRecordingInfo stop(long id) {
+        ManagedRecording managed = find(id);
+        if (managed.recording().getState() == RecordingState.RUNNING) {
+            managed.recording().stop();
+            log.info("Stopped JFR recording {} ({})", id, managed.recording().getName());
+        }
+        return info(managed);
+    }
+
+    /**
+     * Возвращает файл записи для выгрузки. Для идущей записи файл сначала
+     * перезаписывается снимком данных, собранных к этому моменту.
+     */
+    public Path file(long id) throws IOException {
+        ManagedRecording managed = find(id);
+        synchronized (managed) {
+            if (managed.recording().getState() == RecordingState.RUNNING) {
+                managed.recording().dump(managed.file());
+            }
+        }
+        if (!Files.exists(managed.file())) {
+            throw new ResourceNotFoundException("Recording file not found: " + id);
+        }
+        return managed.file();
+    }
+
+    /**
+     * Закрывает запись и удаляет ее файл.
+     */
+    public void delete(long id) throws IOException {
+        ManagedRecording managed = find(id);
+        recordings.remove(id);
+        managed.recording().close();
+        Files.deleteIfExists(managed.file());
+    }
+
+    /**
+     * При остановке приложения идущие записи останавливаются, чтобы их данные
+     * попали в файлы.
+     */
+    @PreDestroy
+    public void stopAll() {
+        recordings.values().stream()
+                .filter(managed -> managed.recording().getState() == RecordingState.RUNNING)
+                .forEach(managed -> managed.recording().stop());
+    }
+
+    private void checkEnabled() {
+        if (!enabled) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "JFR API is disabled");
+        }
+    }
+
+    private ManagedRecording find(long id) {
+        checkEnabled();
+        ManagedRecording managed = recordings.get(id);
+        if (managed == null) {
+            throw new ResourceNotFoundException("JFR recording not found: " + id);
+        }
+        return managed;
+    }
+
+    private static Configuration configuration(String name) throws IOException {
+        try {
+            return Configuration.getConfiguration(name);
+        } catch (NoSuchFileException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + name);
+        } catch (ParseException e) {
+            throw new IOException("Invalid JFR settings: " + name, e);
+        }
+    }
+
+    private static JfrRecordingInfo info(ManagedRecording managed) {
+        Recording recording = managed.recording();
+        return JfrRecordingInfo.builder()
+                .id(recording.getId())
+                .name(recording.getName())
+                .state(recording.getState().name())
+                .settings(managed.settings())
+                .startTime(recording.getStartTime())
+                .stopTime(recording.getState() == RecordingState.RUNNING
+                        ? null
+                        : recording.getStopTime())
+                .duration(recording.getDuration())
+                .sizeBytes(recording.getSize())
+                .build();
+    }
+}
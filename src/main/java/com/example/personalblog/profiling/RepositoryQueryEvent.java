@@ -0,0 +1,27 @@
+package com.example.personalblog.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Вызов метода репозитория Spring Data вместе с длительностью и размером результата.
+ */
+@Name("personalblog.RepositoryQuery")
+@Label("Repository Query")
+@Category({"Personal Blog", "Database"})
+@Description("Вызов метода репозитория")
+public class RepositoryQueryEvent extends Event {
+
+    @Label("Repository")
+    public String repository;
+
+    @Label("Method")
+    public String method;
+
+    @Label("Result Size")
+    @Description("Число элементов результата; -1, если результат не коллекция")
+    public int resultSize;
+}
@@ -1,13 +1,21 @@
 package com.example.personalblog.repository;
 
 import com.example.personalblog.model.Category;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
     Optional<Category> findByName(String name);
 
+    List<Category> findByNameIn(Collection<String> names);
+
     public boolean existsByName(String name);
+
+    @Query("SELECT COUNT(c) AS count, MAX(c.updatedAt) AS updatedAt FROM Category c")
+    TableVersion findTableVersion();
 }
\ No newline at end of file
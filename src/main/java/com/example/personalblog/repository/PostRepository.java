@@ -1,7 +1,11 @@
 package com.example.personalblog.repository;
 
 import com.example.personalblog.model.Post;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,14 +13,27 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
+    // Автор и категории загружаются тем же запросом, а не отдельным на каждый пост
+    @Override
+    @EntityGraph(attributePaths = {"author", "categories"})
+    List<Post> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"author", "categories"})
+    Optional<Post> findById(Long id);
+
     public Post findByTitle(String title);
 
     public boolean existsByTitle(String title);
 
-    @Query("SELECT p FROM Post p JOIN FETCH p.author a WHERE a.username = :username")
+    @Query("SELECT DISTINCT p FROM Post p "
+            + "JOIN FETCH p.author a "
+            + "LEFT JOIN FETCH p.categories "
+            + "WHERE a.username = :username")
     List<Post> findAllByAuthorUsername(@Param("username") String username);
 
     @Query("SELECT DISTINCT p FROM Post p "
+            + "JOIN FETCH p.author "
             + "JOIN FETCH p.categories c "
             + "WHERE c.name = :categoryName")
     List<Post> findAllByCategoryName(@Param("categoryName") String categoryName);
@@ -30,4 +47,19 @@ public interface PostRepository extends JpaRepository<Post, Long> {
             @Param("categoryName") String categoryName,
             @Param("authorUsername") String authorUsername
     );
-}
\ No newline at end of file
+
+    @Query("SELECT MAX(p.updatedAt) FROM Post p")
+    LocalDateTime findMaxUpdatedAt();
+
+    @Query("SELECT p.id AS id, p.updatedAt AS updatedAt FROM Post p WHERE p.id IN :ids")
+    List<PostVersion> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Идентификатор поста и время его последнего изменения.
+     */
+    interface PostVersion {
+        Long getId();
+
+        LocalDateTime getUpdatedAt();
+    }
+}
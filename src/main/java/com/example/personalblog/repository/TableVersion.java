@@ -0,0 +1,13 @@
+package com.example.personalblog.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Число строк таблицы и наибольшее время их изменения: меняется при любой вставке,
+ * изменении или удалении строки.
+ */
+public interface TableVersion {
+    long getCount();
+
+    LocalDateTime getUpdatedAt();
+}
@@ -18,4 +18,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
             + "JOIN p.categories c "
             + "WHERE c.name = :categoryName")
     List<User> findUsersByPostCategory(@Param("categoryName") String categoryName);
+
+    @Query("SELECT COUNT(u) AS count, MAX(u.updatedAt) AS updatedAt FROM User u")
+    TableVersion findTableVersion();
 }
\ No newline at end of file
@@ -1,147 +1,266 @@
 package com.example.personalblog.service;
 
+import com.example.personalblog.dto.LogDaySummary;
 import com.example.personalblog.dto.LogFileInfo;
 import com.example.personalblog.dto.LogStatusResponse;
 import com.example.personalblog.dto.LogTaskInfo;
 import com.example.personalblog.exception.ResourceNotFoundException;
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import com.example.personalblog.logs.LogSegmentIndex;
+import com.example.personalblog.logs.LogSlice;
+import com.example.personalblog.logs.LogSliceLocator;
+import com.example.personalblog.logs.LogTaskRegistry;
+import com.example.personalblog.logs.LogTaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.UnaryOperator;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
+/**
+ * Задачи выгрузки логов за дату.
+ *
+ * <p>Задачи выполняются на собственном ограниченном пуле потоков, а не в общем
+ * {@code ForkJoinPool}: очередь ограничена, при переполнении запрос отклоняется.
+ * Одновременные запросы за одну и ту же дату получают одну общую задачу. Задача
+ * регистрируется в состоянии {@code PENDING} раньше, чем ее идентификатор получит
+ * кто-либо из вызывающих, и переходит в {@code IN_PROGRESS} при запуске. Глубина
+ * очереди публикуется метриками пула {@code executor.*{name=logJobs}}, время выполнения
+ * и число сбоев — таймером {@code blog.logs.jobs{outcome}}.
+ */
 @Service
 @Slf4j
 public class AsyncLogService {
 
-    private static final String LOG_PATH = "logs";
-    private static final String LOG_FILE_PREFIX = "personal-blog-";
-    private static final String LOG_FILE_EXTENSION = ".log";
-    private static final String MAIN_LOG_FILE = LOG_PATH + "/personal-blog.log";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final Set<LogTaskStatus> UNFINISHED =
+            EnumSet.of(LogTaskStatus.PENDING, LogTaskStatus.IN_PROGRESS);
 
-    private final ConcurrentHashMap<String, LogTaskInfo> logTasks = new ConcurrentHashMap<>();
+    private final LogSliceLocator logSliceLocator;
+    private final LogTaskRegistry logTaskRegistry;
+    private final LogSegmentIndex logSegmentIndex;
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService executor;
+    private final Counter rejectedJobs;
+    private final Counter cancelledJobs;
 
-    @Async
-    public CompletableFuture<String> createLogFile(String date) {
-        String logId = UUID.randomUUID().toString();
-        LocalDate dateObj = LocalDate.parse(date, DATE_FORMATTER);
-        String fileName = buildLogFilePath(dateObj);
-        logTasks.put(logId, new LogTaskInfo("IN_PROGRESS", fileName, date));
+    private final ConcurrentHashMap<String, LogJob> activeJobs = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LogJob> jobsById = new ConcurrentHashMap<>();
 
-        CompletableFuture.runAsync(() -> {
+    public AsyncLogService(LogSliceLocator logSliceLocator, LogTaskRegistry logTaskRegistry,
+                           LogSegmentIndex logSegmentIndex, MeterRegistry meterRegistry,
+                           @Value("${blog.logs.jobs.threads:2}") int threads,
+                           @Value("${blog.logs.jobs.queue-capacity:32}") int queueCapacity) {
+        this.logSliceLocator = logSliceLocator;
+        this.logTaskRegistry = logTaskRegistry;
+        this.logSegmentIndex = logSegmentIndex;
+        this.meterRegistry = meterRegistry;
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("log-job-"), new ThreadPoolExecutor.AbortPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "logJobs");
+        this.rejectedJobs = Counter.builder("blog.logs.jobs.rejected")
+                .description("Log jobs rejected because the queue was full")
+                .register(meterRegistry);
+        this.cancelledJobs = Counter.builder("blog.logs.jobs.cancelled")
+                .description("Log jobs cancelled before completion")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ставит в очередь задачу выгрузки логов за дату и возвращает ее идентификатор.
+     * Если задача за эту дату уже выполняется, возвращается ее идентификатор.
+     *
+     * @throws RejectedExecutionException если очередь задач переполнена
+     */
+    public String createLogFile(String date) {
+        LocalDate dateObj = parseDate(date);
+        // Регистрация внутри computeIfAbsent: идентификатор становится виден другим
+        // вызывающим только вместе с задачей в реестре
+        LogJob job = activeJobs.computeIfAbsent(date, key -> {
+            LogJob created = new LogJob(UUID.randomUUID().toString(), key);
+            logTaskRegistry.register(created.logId, key);
+            jobsById.put(created.logId, created);
+            return created;
+        });
+        if (job.started.compareAndSet(false, true)) {
             try {
-                // Имитация долгой операции
-                Thread.sleep(20000);
-                LocalDate logDate = parseDate(date);
-                createLogFileIfNotExists(logDate, fileName);
-                logTasks.get(logId).setStatus("COMPLETED");
-            } catch (Exception e) {
-                logTasks.get(logId).setStatus("FAILED");
-                log.error("Log creation failed", e);
+                job.future = executor.submit(() -> run(job, dateObj));
+            } catch (RejectedExecutionException e) {
+                finish(job, LogTaskStatus.FAILED);
+                rejectedJobs.increment();
+                throw e;
             }
-        });
-        return CompletableFuture.completedFuture(logId);
+        }
+        return job.logId;
     }
 
-    public LogStatusResponse getLogStatus(String logId) {
-        LogTaskInfo taskInfo = logTasks.get(logId);
-        if (taskInfo == null) {
-            return new LogStatusResponse(logId, "NOT_FOUND", null);
+    /**
+     * Отменяет задачу, если она еще не завершена.
+     *
+     * @return {@code true}, если задача была отменена
+     */
+    public boolean cancelLogJob(String logId) {
+        LogJob job = jobsById.get(logId);
+        if (job == null) {
+            // Задача уже завершена либо неизвестна
+            logTaskRegistry.get(logId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Log task not found"));
+            return false;
         }
+        Future<?> future = job.future;
+        if (future == null || !future.cancel(true)) {
+            return false;
+        }
+        finish(job, LogTaskStatus.CANCELLED);
+        cancelledJobs.increment();
+        return true;
+    }
 
-        // Дополнительная проверка существования файла
-        if ("COMPLETED".equals(taskInfo.getStatus())) {
-            File logFile = new File(taskInfo.getFilePath());
-            if (!logFile.exists()) {
-                taskInfo.setStatus("FAILED");
-            }
+    public LogStatusResponse getLogStatus(String logId) {
+        return logTaskRegistry.get(logId)
+                .map(taskInfo -> new LogStatusResponse(
+                        logId,
+                        taskInfo.getStatus().name(),
+                        taskInfo.getDate(),
+                        taskInfo.getStatus() == LogTaskStatus.COMPLETED
+                                ? taskInfo.getSlices().stream().mapToLong(LogSlice::length).sum()
+                                : null
+                ))
+                .orElseGet(() -> new LogStatusResponse(logId, "NOT_FOUND", null, null));
+    }
+
+    /**
+     * Возвращает состояние задачи, как только она завершится. Для завершенной
+     * или неизвестной задачи результат готов сразу.
+     */
+    public CompletableFuture<LogStatusResponse> awaitLogStatus(String logId) {
+        LogJob job = jobsById.get(logId);
+        if (job == null) {
+            return CompletableFuture.completedFuture(getLogStatus(logId));
         }
+        return job.completion.thenApply(status -> getLogStatus(logId));
+    }
 
-        return new LogStatusResponse(
-                logId,
-                taskInfo.getStatus(),
-                taskInfo.getDate()
-        );
+    /**
+     * Возвращает сводку по записям за дату задачи из заранее посчитанного индекса.
+     */
+    public LogDaySummary getLogSummary(String logId) {
+        LogTaskInfo taskInfo = logTaskRegistry.get(logId)
+                .orElseThrow(() -> new ResourceNotFoundException("Log task not found"));
+        return logSegmentIndex.getDaySummary(parseDate(taskInfo.getDate()))
+                .orElseThrow(() -> new ResourceNotFoundException("No log records for date"));
     }
 
+    /**
+     * Возвращает диапазоны исходных файлов лога за дату задачи. Если файл успел
+     * смениться при ротации, диапазоны находятся заново — это быстрый двоичный поиск.
+     */
     public LogFileInfo getLogFile(String logId) throws IOException {
-        LogTaskInfo taskInfo = logTasks.get(logId);
-        if (taskInfo == null) {
-            throw new ResourceNotFoundException("Log task not found");
+        LogTaskInfo taskInfo = logTaskRegistry.get(logId)
+                .orElseThrow(() -> new ResourceNotFoundException("Log task not found"));
+        if (taskInfo.getStatus() != LogTaskStatus.COMPLETED) {
+            throw new ResourceNotFoundException("Log file not found or empty");
         }
 
-        File logFile = new File(taskInfo.getFilePath());
-        if (!logFile.exists() || logFile.length() == 0) {
+        List<LogSlice> slices = taskInfo.getSlices();
+        if (!slices.stream().allMatch(logSliceLocator::isCurrent)) {
+            List<LogSlice> relocated = logSliceLocator.locate(parseDate(taskInfo.getDate()));
+            logTaskRegistry.update(logId, task -> task.withSlices(relocated));
+            slices = relocated;
+        }
+        if (slices.stream().mapToLong(LogSlice::length).sum() == 0) {
             throw new ResourceNotFoundException("Log file not found or empty");
         }
 
-        return new LogFileInfo(logFile, taskInfo.getDate());
+        return new LogFileInfo(slices, taskInfo.getDate());
     }
 
-    private LocalDate parseDate(String date) {
-        return LocalDate.parse(date, DATE_FORMATTER);
-    }
-
-    private String buildLogFilePath(LocalDate date) {
-        return LOG_PATH + "/" + LOG_FILE_PREFIX + date + LOG_FILE_EXTENSION;
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
     }
 
-    private void createLogFileIfNotExists(LocalDate date, String fileName)
-            throws InterruptedException, IOException {
-        File logFile = new File(fileName);
-        if (!logFile.exists()) {
-            ensureLogDirectoryExists();
-            writeLogEntriesToFile(date, logFile);
+    private void run(LogJob job, LocalDate date) {
+        if (!logTaskRegistry.transition(job.logId, LogTaskStatus.PENDING,
+                LogTaskStatus.IN_PROGRESS, UnaryOperator.identity())) {
+            // Задача отменена, пока ждала в очереди
+            return;
         }
-    }
-
-    private void ensureLogDirectoryExists() throws IOException {
-        File logDir = new File(LOG_PATH);
-        if (!logDir.exists() && !logDir.mkdirs()) {
-            throw new IOException("Failed to create log directory");
+        long start = System.nanoTime();
+        try {
+            List<LogSlice> slices = logSliceLocator.locate(date);
+            finish(job, LogTaskStatus.COMPLETED, task -> task.withSlices(slices));
+            record(job, "completed", start);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException || e instanceof ClosedByInterruptException
+                    || Thread.currentThread().isInterrupted()) {
+                // Задача отменена или приложение останавливается
+                log.debug("Log job {} interrupted", job.logId);
+                return;
+            }
+            finish(job, LogTaskStatus.FAILED);
+            record(job, "failed", start);
+            log.error("Log creation failed", e);
         }
     }
 
-    private void writeLogEntriesToFile(LocalDate date, File logFile) throws IOException {
-        try (FileWriter writer = new FileWriter(logFile)) {
-            for (String entry : collectLogEntries(date)) {
-                writer.write(entry + System.lineSeparator());
-            }
-        }
+    private void finish(LogJob job, LogTaskStatus status) {
+        finish(job, status, UnaryOperator.identity());
     }
 
-    private List<String> collectLogEntries(LocalDate date) throws IOException {
-        List<String> entries = new ArrayList<>();
-        String datePrefix = date.toString();
+    private void finish(LogJob job, LogTaskStatus status, UnaryOperator<LogTaskInfo> update) {
+        activeJobs.remove(job.date, job);
+        jobsById.remove(job.logId, job);
+        logTaskRegistry.transition(job.logId, UNFINISHED, status, update);
+        job.completion.complete(status);
+    }
 
-        collectEntriesFromFile(new File(MAIN_LOG_FILE), datePrefix, entries);
-        collectEntriesFromFile(new File(buildLogFilePath(date)), datePrefix, entries);
+    private void record(LogJob job, String outcome, long startNanos) {
+        Timer.builder("blog.logs.jobs")
+                .description("Log job run time by outcome")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        log.debug("Log job {} for {} finished: {}", job.logId, job.date, outcome);
+    }
 
-        return entries;
+    private LocalDate parseDate(String date) {
+        return LocalDate.parse(date, DATE_FORMATTER);
     }
 
-    private void collectEntriesFromFile(File file, String datePrefix, List<String> entries)
-            throws IOException {
-        if (file.exists()) {
-            try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (line.startsWith(datePrefix)) {
-                        entries.add(line);
-                    }
-                }
-            }
+    private static final class LogJob {
+        private final String logId;
+        private final String date;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final CompletableFuture<LogTaskStatus> completion = new CompletableFuture<>();
+        private volatile Future<?> future;
+
+        private LogJob(String logId, String date) {
+            this.logId = logId;
+            this.date = date;
         }
     }
-}
\ No newline at end of file
+}
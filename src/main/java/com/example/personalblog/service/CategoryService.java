@@ -7,6 +7,7 @@ import com.example.personalblog.model.Post;
 import com.example.personalblog.repository.CategoryRepository;
 import com.example.personalblog.repository.PostRepository;
 import jakarta.transaction.Transactional;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -88,6 +89,7 @@ public class CategoryService {
         Set<Post> posts = new HashSet<>(category.getPosts());
         for (Post post : posts) {
             post.getCategories().remove(category);
+            post.setUpdatedAt(LocalDateTime.now());
             postRepository.save(post);
         }
         cacheService.invalidateByPrefix("posts:");
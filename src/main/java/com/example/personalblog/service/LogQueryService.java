@@ -0,0 +1,192 @@
+package com.example.personalblog.service;
+
+import com.example.personalblog.dto.LogEntryDto;
+import com.example.personalblog.logs.LogEntryParser;
+import com.example.personalblog.logs.LogQuery;
+import com.example.personalblog.logs.LogRecordReader;
+import com.example.personalblog.logs.LogSegment;
+import com.example.personalblog.logs.LogSlice;
+import com.example.personalblog.logs.LogSliceLocator;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Поиск записей лога по времени, уровню, логгеру и тексту.
+ *
+ * <p>Сегменты находятся тем же {@link LogSliceLocator}, что и для выгрузки логов,
+ * и просматриваются параллельно в его пуле. Каждая задача передает совпадения через
+ * ограниченную очередь, а поток запроса отдает их в порядке сегментов, то есть
+ * по времени. В памяти одновременно держится не больше {@value #QUEUE_CAPACITY}
+ * записей на сегмент независимо от лимита. Общий остаток лимита — сколько не дали
+ * уже отданные сегменты — виден всем задачам: сегмент не собирает больше совпадений,
+ * чем еще может понадобиться, а когда лимит набран, оставшиеся задачи прекращают чтение.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class LogQueryService {
+
+    private static final int QUEUE_CAPACITY = 256;
+    private static final long POLL_MILLIS = 50;
+    private static final LogEntryDto END = new LogEntryDto(null, null, null, null);
+
+    private final LogSliceLocator logSliceLocator;
+
+    /**
+     * Передает в {@code sink} записи, удовлетворяющие запросу, в порядке времени.
+     *
+     * @throws IllegalArgumentException если запрос некорректен
+     */
+    public void query(LogQuery query, EntrySink sink) throws IOException {
+        query.validate();
+
+        AtomicInteger remaining = new AtomicInteger(query.getLimit());
+        List<Scan> scans = new ArrayList<>();
+        for (LogSegment segment : logSliceLocator.discover(query.fromDate(),
+                query.toDateExclusive())) {
+            Scan scan = new Scan(segment, query, remaining);
+            scan.task = logSliceLocator.getPool().submit(scan::produce);
+            scans.add(scan);
+        }
+
+        int emitted = 0;
+        try {
+            for (Scan scan : scans) {
+                int fromSegment = 0;
+                LogEntryDto entry;
+                while ((entry = scan.take()) != END) {
+                    sink.accept(entry);
+                    fromSegment++;
+                    if (++emitted == query.getLimit()) {
+                        return;
+                    }
+                }
+                // Следующим сегментам нужно столько, сколько не дали все предыдущие
+                remaining.addAndGet(-fromSegment);
+            }
+        } finally {
+            for (Scan scan : scans) {
+                scan.cancelled = true;
+                scan.task.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Просмотр одного сегмента в фоне.
+     */
+    private final class Scan {
+        private final LogSegment segment;
+        private final LogQuery query;
+        private final AtomicInteger remaining;
+        private final BlockingQueue<LogEntryDto> queue =
+                new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private volatile boolean cancelled;
+        private volatile IOException failure;
+        private ForkJoinTask<?> task;
+
+        private Scan(LogSegment segment, LogQuery query, AtomicInteger remaining) {
+            this.segment = segment;
+            this.query = query;
+            this.remaining = remaining;
+        }
+
+        private void produce() {
+            int matches = 0;
+            try {
+                LogSlice slice = logSliceLocator.slice(segment, query.fromKey(), query.toKey());
+                if (slice.length() == 0) {
+                    return;
+                }
+                try (LogRecordReader reader = new LogRecordReader(slice)) {
+                    LogRecordReader.LogRecord record;
+                    // Остаток уменьшают только предыдущие сегменты, поэтому больше
+                    // совпадений, чем он составляет сейчас, этому сегменту не понадобится
+                    while (!cancelled && matches < remaining.get()
+                            && (record = reader.next()) != null) {
+                        if (record.timestamp().compareTo(query.toKey()) >= 0) {
+                            break;
+                        }
+                        if (record.timestamp().compareTo(query.fromKey()) < 0
+                                || !query.mayMatch(record.text())) {
+                            continue;
+                        }
+                        LogEntryDto entry = LogEntryParser.parse(record.timestamp(),
+                                record.text());
+                        if (query.matches(entry)) {
+                            put(entry);
+                            matches++;
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                failure = e;
+            } catch (RuntimeException e) {
+                failure = new IOException("Failed to query " + segment.getFile(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                putEnd();
+            }
+            log.debug("Scanned {} for log query: {} matches", segment.getFile(), matches);
+        }
+
+        private void put(LogEntryDto entry) throws InterruptedException {
+            ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+                private boolean done;
+
+                @Override
+                public boolean block() throws InterruptedException {
+                    done = cancelled
+                            || queue.offer(entry, POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    return done;
+                }
+
+                @Override
+                public boolean isReleasable() {
+                    return done || (done = cancelled || queue.offer(entry));
+                }
+            });
+        }
+
+        private void putEnd() {
+            try {
+                put(END);
+            } catch (InterruptedException e) {
+                // Поток запроса уже не ждет этот сегмент
+                log.debug("Log query of {} interrupted", segment.getFile());
+            }
+        }
+
+        private LogEntryDto take() throws IOException {
+            try {
+                LogEntryDto entry = queue.take();
+                if (entry == END && failure != null) {
+                    throw failure;
+                }
+                return entry;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while querying logs", e);
+            }
+        }
+    }
+
+    /**
+     * Получатель найденных записей, например поток ответа.
+     */
+    @FunctionalInterface
+    public interface EntrySink {
+        void accept(LogEntryDto entry) throws IOException;
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.personalblog.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Очистка и сжатие файлов логов.
+ *
+ * <p>Файлы делятся на категории со своим сроком хранения: несжатые сегменты ротации
+ * ({@code main}), файлы выгрузок за день, оставшиеся от прежней версии сервиса
+ * ({@code extracted}), и сжатые архивы ({@code archive}). Несжатые сегменты старше
+ * {@code compress-after} сжимаются gzip. Если после этого общий объем превышает
+ * {@code max-total-size}, удаляются самые старые файлы. Активный файл лога не трогается.
+ * Освобожденный объем и время работы публикуются метриками
+ * {@code blog.logs.retention.*}.
+ */
+@Service
+@Slf4j
+public class LogRetentionService {
+
+    // personal-blog-2024-05-01.log: выгрузка за день прежней версии сервиса
+    private static final Pattern EXTRACTED_NAME =
+            Pattern.compile("personal-blog-\\d{4}-\\d{2}-\\d{2}\\.log");
+    private static final Pattern SEGMENT_NAME = Pattern.compile("personal-blog-.+\\.log");
+    private static final Pattern ARCHIVE_NAME = Pattern.compile("personal-blog-.+\\.log\\.gz");
+
+    private final Path logDir;
+    private final Path archiveDir;
+    private final Duration mainCompressAfter;
+    private final Duration mainMaxAge;
+    private final Duration extractedMaxAge;
+    private final Duration archiveMaxAge;
+    private final long maxTotalBytes;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Timer runTimer;
+
+    @Autowired
+    public LogRetentionService(
+            @Value("${logging.file.name:logs/personal-blog.log}") String mainLogFile,
+            @Value("${blog.logs.archive-dir:logs/archive}") String archiveDir,
+            @Value("${blog.logs.retention.main.compress-after:1d}") Duration mainCompressAfter,
+            @Value("${blog.logs.retention.main.max-age:30d}") Duration mainMaxAge,
+            @Value("${blog.logs.retention.extracted.max-age:7d}") Duration extractedMaxAge,
+            @Value("${blog.logs.retention.archive.max-age:30d}") Duration archiveMaxAge,
+            @Value("${blog.logs.retention.max-total-size:1GB}") DataSize maxTotalSize,
+            MeterRegistry meterRegistry) {
+        this(Path.of(mainLogFile).toAbsolutePath().getParent(), Path.of(archiveDir),
+                mainCompressAfter, mainMaxAge, extractedMaxAge, archiveMaxAge,
+                maxTotalSize.toBytes(), meterRegistry, Clock.systemUTC());
+    }
+
+    LogRetentionService(Path logDir, Path archiveDir, Duration mainCompressAfter,
+                        Duration mainMaxAge, Duration extractedMaxAge, Duration archiveMaxAge,
+                        long maxTotalBytes, MeterRegistry meterRegistry, Clock clock) {
+        this.logDir = logDir;
+        this.archiveDir = archiveDir;
+        this.mainCompressAfter = mainCompressAfter;
+        this.mainMaxAge = mainMaxAge;
+        this.extractedMaxAge = extractedMaxAge;
+        this.archiveMaxAge = archiveMaxAge;
+        this.maxTotalBytes = maxTotalBytes;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+        this.runTimer = Timer.builder("blog.logs.retention.run")
+                .description("Log retention run time")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.logs.retention.interval-ms:3600000}",
+            initialDelayString = "${blog.logs.retention.initial-delay-ms:60000}")
+    public void enforce() {
+        runTimer.record(() -> {
+            try {
+                enforceRetention();
+            } catch (IOException e) {
+                log.warn("Log retention failed", e);
+            }
+        });
+    }
+
+    private void enforceRetention() throws IOException {
+        Instant now = clock.instant();
+        List<LogFile> kept = new ArrayList<>();
+        for (LogFile file : listFiles()) {
+            Duration age = Duration.between(file.modified.toInstant(), now);
+            if (age.compareTo(maxAge(file.category)) > 0) {
+                delete(file, "expired");
+            } else if (file.category == Category.MAIN && age.compareTo(mainCompressAfter) > 0) {
+                kept.add(compress(file));
+            } else {
+                kept.add(file);
+            }
+        }
+
+        long total = kept.stream().mapToLong(file -> file.size).sum();
+        if (total <= maxTotalBytes) {
+            return;
+        }
+        kept.sort(Comparator.comparing((LogFile file) -> file.modified));
+        for (LogFile file : kept) {
+            if (total <= maxTotalBytes) {
+                break;
+            }
+            delete(file, "budget");
+            total -= file.size;
+        }
+        log.info("Log files exceeded the {} byte budget, evicted oldest down to {} bytes",
+                maxTotalBytes, total);
+    }
+
+    private List<LogFile> listFiles() throws IOException {
+        List<LogFile> files = new ArrayList<>();
+        collect(logDir, files);
+        if (!archiveDir.toAbsolutePath().equals(logDir)) {
+            collect(archiveDir, files);
+        }
+        return files;
+    }
+
+    private void collect(Path directory, List<LogFile> files) throws IOException {
+        if (directory == null || !Files.isDirectory(directory)) {
+            return;
+        }
+        boolean archive = directory.toAbsolutePath().equals(archiveDir.toAbsolutePath());
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path path : stream) {
+                Category category = categorize(path.getFileName().toString(), archive);
+                if (category != null && Files.isRegularFile(path)) {
+                    files.add(new LogFile(path, category, Files.size(path),
+                            Files.getLastModifiedTime(path)));
+                }
+            }
+        }
+    }
+
+    private static Category categorize(String name, boolean archive) {
+        if (ARCHIVE_NAME.matcher(name).matches()) {
+            return Category.ARCHIVE;
+        }
+        if (!archive) {
+            return EXTRACTED_NAME.matcher(name).matches() ? Category.EXTRACTED : null;
+        }
+        return SEGMENT_NAME.matcher(name).matches() ? Category.MAIN : null;
+    }
+
+    private Duration maxAge(Category category) {
+        return switch (category) {
+            case MAIN -> mainMaxAge;
+            case EXTRACTED -> extractedMaxAge;
+            case ARCHIVE -> archiveMaxAge;
+        };
+    }
+
+    /**
+     * Сжимает файл во временный и атомарно переименовывает, сохраняя время изменения,
+     * чтобы возраст файла не сбрасывался.
+     */
+    private LogFile compress(LogFile file) throws IOException {
+        Path target = file.path.resolveSibling(file.path.getFileName() + ".gz");
+        Path temp = file.path.resolveSibling(file.path.getFileName() + ".gz.tmp");
+        try (InputStream in = Files.newInputStream(file.path);
+             OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp), 65536)) {
+            in.transferTo(out);
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.setLastModifiedTime(temp, file.modified);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(file.path);
+
+        long compressedSize = Files.size(target);
+        cleaned(file.category, "compressed").increment(file.size - compressedSize);
+        log.debug("Compressed {} from {} to {} bytes", file.path, file.size, compressedSize);
+        return new LogFile(target, Category.ARCHIVE, compressedSize, file.modified);
+    }
+
+    private void delete(LogFile file, String reason) throws IOException {
+        if (Files.deleteIfExists(file.path)) {
+            cleaned(file.category, "deleted").increment(file.size);
+            log.debug("Deleted {} log file {} ({})", file.category, file.path, reason);
+        }
+    }
+
+    private Counter cleaned(Category category, String action) {
+        return Counter.builder("blog.logs.retention.cleaned")
+                .description("Bytes freed by log retention")
+                .baseUnit("bytes")
+                .tag("category", category.name().toLowerCase(Locale.ROOT))
+                .tag("action", action)
+                .register(meterRegistry);
+    }
+
+    private enum Category {
+        MAIN, EXTRACTED, ARCHIVE
+    }
+
+    private record LogFile(Path path, Category category, long size, FileTime modified) {
+    }
+}
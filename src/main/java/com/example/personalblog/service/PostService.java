@@ -6,11 +6,16 @@ import com.example.personalblog.dto.UpdatePostRequest;
 import com.example.personalblog.model.Category;
 import com.example.personalblog.model.Post;
 import com.example.personalblog.model.User;
+import com.example.personalblog.profiling.BulkImportChunkEvent;
 import com.example.personalblog.repository.CategoryRepository;
 import com.example.personalblog.repository.PostRepository;
 import com.example.personalblog.repository.UserRepository;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -48,19 +53,9 @@ public class PostService {
         post.setContent(request.getContent());
         post.setAuthor(author);
 
-        Set<Category> categories = Optional.ofNullable(request.getCategoryNames())
-                .orElse(Collections.emptyList())
-                .stream()
-                .map(String::trim)
-                .map(name -> categoryRepository.findByName(name)
-                        .orElseGet(() -> {
-                            Category newCategory = new Category();
-                            newCategory.setName(name);
-                            return categoryRepository.save(newCategory);
-                        }))
-                .collect(Collectors.toSet());
-
-        post.setCategories(categories);
+        Map<String, Category> categories = resolveCategories(
+                categoryNames(request.getCategoryNames()));
+        post.setCategories(categoriesOf(request.getCategoryNames(), categories));
         Post savedPost = postRepository.save(post);
         cacheService.invalidateByPrefix("posts:");
         return savedPost;
@@ -71,34 +66,35 @@ public class PostService {
             return Collections.emptyList();
         }
 
+        BulkImportChunkEvent event = new BulkImportChunkEvent();
+        event.begin();
         User author = userRepository.findById(userId)
                 .orElseThrow(() -> new ResponseStatusException(
                         HttpStatus.NOT_FOUND, "User not found"));
 
+        // Категории всех постов находятся одним запросом
+        Map<String, Category> categories = resolveCategories(requests.stream()
+                .flatMap(request -> categoryNames(request.getCategoryNames()).stream())
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+
         List<Post> posts = requests.stream().map(request -> {
             Post post = new Post();
             post.setTitle(request.getTitle());
             post.setContent(request.getContent());
             post.setAuthor(author);
-
-            Set<Category> categories = Optional.ofNullable(request.getCategoryNames())
-                    .orElse(Collections.emptyList())
-                    .stream()
-                    .map(String::trim)
-                    .map(name -> categoryRepository.findByName(name)
-                            .orElseGet(() -> {
-                                Category newCategory = new Category();
-                                newCategory.setName(name);
-                                return categoryRepository.save(newCategory);
-                            }))
-                    .collect(Collectors.toSet());
-
-            post.setCategories(categories);
+            post.setCategories(categoriesOf(request.getCategoryNames(), categories));
             return post;
         }).toList();
 
         List<Post> savedPosts = postRepository.saveAll(posts);
         cacheService.invalidateByPrefix("posts:");
+        event.end();
+        if (event.shouldCommit()) {
+            event.userId = userId;
+            event.posts = savedPosts.size();
+            event.categories = categories.size();
+            event.commit();
+        }
         return savedPosts;
     }
 
@@ -114,21 +110,14 @@ public class PostService {
             post.setContent(request.getContent());
         }
 
-        Set<Category> categories = Optional.ofNullable(request.getCategoryNames())
-                .orElse(Collections.emptyList())
-                .stream()
-                .map(String::trim)
-                .map(name -> categoryRepository.findByName(name)
-                        .orElseGet(() -> {
-                            Category newCategory = new Category();
-                            newCategory.setName(name);
-                            return categoryRepository.save(newCategory);
-                        }))
-                .collect(Collectors.toSet());
-
-        post.setCategories(categories);
+        Map<String, Category> categories = resolveCategories(
+                categoryNames(request.getCategoryNames()));
+        post.setCategories(categoriesOf(request.getCategoryNames(), categories));
+        // Изменение одних категорий не делает пост грязным, и @PreUpdate не сработает
+        post.setUpdatedAt(LocalDateTime.now());
         Post savedPost = postRepository.save(post);
         cacheService.invalidateByPrefix("posts:");
+        cacheService.invalidate(TrendingPostService.POST_CACHE_PREFIX + postId);
         return savedPost;
     }
 
@@ -139,6 +128,7 @@ public class PostService {
 
         postRepository.delete(post);
         cacheService.invalidateByPrefix("posts:");
+        cacheService.invalidate(TrendingPostService.POST_CACHE_PREFIX + postId);
     }
 
     public Post getPostById(Long postId) {
@@ -188,9 +178,47 @@ public class PostService {
 
         boolean categoryAdded = post.getCategories().add(category);
         if (categoryAdded) {
+            post.setUpdatedAt(LocalDateTime.now());
             postRepository.save(post);
         }
         cacheService.invalidateByPrefix("posts:");
+        cacheService.invalidate(TrendingPostService.POST_CACHE_PREFIX + postId);
         return post;
     }
+
+    private static Set<String> categoryNames(List<String> names) {
+        return Optional.ofNullable(names)
+                .orElse(Collections.emptyList())
+                .stream()
+                .map(String::trim)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static Set<Category> categoriesOf(List<String> names,
+                                              Map<String, Category> categories) {
+        return categoryNames(names).stream()
+                .map(categories::get)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Находит категории по названиям одним запросом и создает недостающие.
+     */
+    private Map<String, Category> resolveCategories(Set<String> names) {
+        if (names.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, Category> categories = new HashMap<>();
+        for (Category category : categoryRepository.findByNameIn(names)) {
+            categories.put(category.getName(), category);
+        }
+        for (String name : names) {
+            if (!categories.containsKey(name)) {
+                Category newCategory = new Category();
+                newCategory.setName(name);
+                categories.put(name, categoryRepository.save(newCategory));
+            }
+        }
+        return categories;
+    }
 }
\ No newline at end of file
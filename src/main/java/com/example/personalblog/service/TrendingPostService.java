@@ -0,0 +1,211 @@
+package com.example.personalblog.service;
+
+import com.example.personalblog.cache.CacheService;
+import com.example.personalblog.dto.PostDto;
+import com.example.personalblog.dto.TrendingPostDto;
+import com.example.personalblog.model.Post;
+import com.example.personalblog.repository.PostRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Рейтинг популярных постов на основе просмотров с экспоненциальным затуханием.
+ *
+ * <p>Каждый просмотр добавляет к рейтингу поста вес {@code exp((t - epoch) / tau)}, поэтому
+ * затухание не требует обхода всех счетчиков на каждом запросе: текущий рейтинг равен
+ * накопленной сумме, умноженной на {@code exp(-(now - epoch) / tau)}. Запись просмотра —
+ * это одно сложение в {@link DoubleAdder} без блокировок. Топ постов пересчитывается
+ * по расписанию и отдается из памяти.
+ *
+ * <p>Эпоха и счетчики, посчитанные относительно нее, публикуются вместе одним
+ * неизменяемым объектом {@link Scores}, поэтому вес просмотра всегда попадает в счетчик
+ * той же эпохи, по которой он вычислен.
+ */
+@Service
+@Slf4j
+public class TrendingPostService {
+
+    static final String POST_CACHE_PREFIX = "trending:post:";
+
+    // Перенос эпохи выполняется заранее, задолго до переполнения double (exp(709))
+    private static final double MAX_EXPONENT = 20.0;
+    // Посты, чей рейтинг упал ниже этого значения, перестают отслеживаться
+    private static final double MIN_TRACKED_SCORE = 0.01;
+
+    private final PostRepository postRepository;
+    private final CacheService cacheService;
+    private final double decayRatePerMilli;
+    private final int maxSize;
+
+    private final LongSupplier clock;
+
+    private volatile Scores scores;
+    // Счетчики прошлой эпохи: в них еще могут дописать потоки, прочитавшие ее до переноса
+    private Retired retired;
+    private volatile List<TrendingPostDto> trending = List.of();
+
+    @Autowired
+    public TrendingPostService(PostRepository postRepository, CacheService cacheService,
+                               @Value("${blog.trending.half-life-minutes:60}")
+                               long halfLifeMinutes,
+                               @Value("${blog.trending.size:20}") int maxSize) {
+        this(postRepository, cacheService, halfLifeMinutes, maxSize, System::currentTimeMillis);
+    }
+
+    TrendingPostService(PostRepository postRepository, CacheService cacheService,
+                        long halfLifeMinutes, int maxSize, LongSupplier clock) {
+        this.postRepository = postRepository;
+        this.cacheService = cacheService;
+        this.decayRatePerMilli = Math.log(2) / TimeUnit.MINUTES.toMillis(halfLifeMinutes);
+        this.maxSize = maxSize;
+        this.clock = clock;
+        this.scores = new Scores(clock.getAsLong(), new ConcurrentHashMap<>());
+    }
+
+    public void recordHit(Long postId) {
+        Scores current = scores;
+        double weight = Math.exp((clock.getAsLong() - current.epochMillis())
+                * decayRatePerMilli);
+        DoubleAdder score = current.adders().get(postId);
+        if (score == null) {
+            score = current.adders().computeIfAbsent(postId, id -> new DoubleAdder());
+        }
+        score.add(weight);
+    }
+
+    public List<TrendingPostDto> getTrending(int limit) {
+        List<TrendingPostDto> current = trending;
+        return current.subList(0, Math.min(Math.max(limit, 0), current.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${blog.trending.refresh-ms:5000}")
+    public synchronized void refresh() {
+        long now = clock.getAsLong();
+        foldRetired();
+        if ((now - scores.epochMillis()) * decayRatePerMilli > MAX_EXPONENT) {
+            rebaseEpoch(now);
+        }
+        Scores current = scores;
+        double decay = Math.exp(-(now - current.epochMillis()) * decayRatePerMilli);
+
+        PriorityQueue<Map.Entry<Long, Double>> top =
+                new PriorityQueue<>(maxSize + 1, Map.Entry.comparingByValue());
+        current.adders().forEach((postId, adder) -> {
+            double score = adder.sum() * decay;
+            if (score < MIN_TRACKED_SCORE) {
+                current.adders().remove(postId, adder);
+                return;
+            }
+            top.offer(Map.entry(postId, score));
+            if (top.size() > maxSize) {
+                top.poll();
+            }
+        });
+
+        List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+        ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+        trending = joinWithPosts(ranked);
+    }
+
+    /**
+     * Переносит точку отсчета весов на текущий момент: публикует новую эпоху вместе
+     * с новыми счетчиками, в которые перенесены пересчитанные суммы старых.
+     *
+     * <p>Старые счетчики не сбрасываются. Просмотры, попавшие в них после копирования
+     * сумм, переносятся при следующем обновлении в {@link #foldRetired()}; потерять
+     * просмотр можно, только если поток задержится между чтением {@link #scores}
+     * и сложением дольше интервала обновления.
+     */
+    private void rebaseEpoch(long now) {
+        Scores old = scores;
+        double factor = Math.exp(-(now - old.epochMillis()) * decayRatePerMilli);
+        ConcurrentHashMap<Long, DoubleAdder> adders = new ConcurrentHashMap<>();
+        Map<Long, Double> copied = new HashMap<>();
+        old.adders().forEach((postId, adder) -> {
+            double sum = adder.sum();
+            copied.put(postId, sum);
+            DoubleAdder rebased = new DoubleAdder();
+            rebased.add(sum * factor);
+            adders.put(postId, rebased);
+        });
+        scores = new Scores(now, adders);
+        retired = new Retired(old, copied, factor);
+        log.debug("Trending scores rebased, factor {}", factor);
+    }
+
+    private void foldRetired() {
+        Retired previous = retired;
+        if (previous == null) {
+            return;
+        }
+        retired = null;
+        ConcurrentHashMap<Long, DoubleAdder> adders = scores.adders();
+        previous.scores().adders().forEach((postId, adder) -> {
+            double late = adder.sum() - previous.copied().getOrDefault(postId, 0.0);
+            if (late > 0) {
+                adders.computeIfAbsent(postId, id -> new DoubleAdder())
+                        .add(late * previous.factor());
+            }
+        });
+    }
+
+    private List<TrendingPostDto> joinWithPosts(List<Map.Entry<Long, Double>> ranked) {
+        Map<Long, PostDto> posts = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Map.Entry<Long, Double> entry : ranked) {
+            // Фоновое обновление не считается попаданием, иначе трендовые посты
+            // вытеснили бы из горячих записей то, что читают пользователи
+            PostDto cached = (PostDto) cacheService.peek(POST_CACHE_PREFIX + entry.getKey());
+            if (cached != null) {
+                posts.put(entry.getKey(), cached);
+            } else {
+                missing.add(entry.getKey());
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (Post post : postRepository.findAllById(missing)) {
+                PostDto postDto = PostDto.fromEntity(post);
+                cacheService.put(POST_CACHE_PREFIX + post.getId(), postDto);
+                posts.put(post.getId(), postDto);
+            }
+        }
+
+        List<TrendingPostDto> result = new ArrayList<>(ranked.size());
+        for (Map.Entry<Long, Double> entry : ranked) {
+            PostDto postDto = posts.get(entry.getKey());
+            if (postDto == null) {
+                // Пост удален: больше не отслеживаем его
+                scores.adders().remove(entry.getKey());
+                continue;
+            }
+            result.add(new TrendingPostDto(postDto, entry.getValue()));
+        }
+        return List.copyOf(result);
+    }
+
+    /**
+     * Эпоха и счетчики, веса в которых посчитаны относительно нее.
+     */
+    private record Scores(long epochMillis, ConcurrentHashMap<Long, DoubleAdder> adders) {
+    }
+
+    /**
+     * Счетчики прошлой эпохи, суммы, скопированные из них при переносе, и множитель
+     * пересчета в новую эпоху.
+     */
+    private record Retired(Scores scores, Map<Long, Double> copied, double factor) {
+    }
+}
@@ -1,23 +1,187 @@
 package com.example.personalblog.service;
 
+import com.example.personalblog.dto.VisitCountDto;
+import com.example.personalblog.dto.VisitCountPage;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+/**
+ * Счетчик посещений URL.
+ *
+ * <p>При обычной нагрузке каждое посещение учитывается точно. Когда поток запросов
+ * превышает {@code blog.visits.sampling.threshold-rps}, счетчик переходит в режим
+ * выборки: учитывается одно посещение из {@code N}, выбранное потоково-локальным
+ * генератором, и засчитывается с весом {@code N}. Для выборочной части счетчик
+ * сообщает границу погрешности {@code z * sqrt(s * N * (N - 1))}, где {@code s} —
+ * число учтенных выборочных посещений. Режим выключается, когда нагрузка падает ниже
+ * половины порога.
+ */
 @Service
-public class VisitCounterService {
-    private final ConcurrentHashMap<String, AtomicInteger>
+@Slf4j
+public class VisitCounterService implements MeterBinder {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final Comparator<VisitCountDto> BY_COUNT_DESC =
+            Comparator.comparingLong(VisitCountDto::getCount).reversed()
+                    .thenComparing(VisitCountDto::getUrl);
+
+    private final ConcurrentHashMap<String, VisitCounter>
             urlVisitCounts = new ConcurrentHashMap<>();
 
+    private final long samplingThresholdRps;
+    private final int sampleRate;
+    private final double confidenceZ;
+
+    private final LongAdder recentVisits = new LongAdder();
+    private volatile long windowStartNanos = System.nanoTime();
+    private volatile boolean sampling;
+
+    public VisitCounterService(
+            @Value("${blog.visits.sampling.threshold-rps:5000}") long samplingThresholdRps,
+            @Value("${blog.visits.sampling.rate:16}") int sampleRate,
+            @Value("${blog.visits.sampling.confidence-z:1.96}") double confidenceZ) {
+        this.samplingThresholdRps = samplingThresholdRps;
+        this.sampleRate = sampleRate;
+        this.confidenceZ = confidenceZ;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("blog.visits.urls", urlVisitCounts, ConcurrentHashMap::size)
+                .description("Number of distinct URLs with visit counters")
+                .register(registry);
+        Gauge.builder("blog.visits.sampling", this, service -> service.sampling ? 1 : 0)
+                .description("1 while visits are counted in sampling mode")
+                .register(registry);
+    }
+
     public void incrementVisit(String url) {
-        urlVisitCounts.computeIfAbsent(url, k -> new AtomicInteger(0)).incrementAndGet();
+        recentVisits.increment();
+        if (sampling) {
+            if (ThreadLocalRandom.current().nextInt(sampleRate) != 0) {
+                return;
+            }
+            counterFor(url).sampled.increment();
+        } else {
+            counterFor(url).exact.increment();
+        }
+    }
+
+    public VisitCountDto getVisits(String url) {
+        VisitCounter counter = urlVisitCounts.get(url);
+        return counter == null ? new VisitCountDto(url, 0, 0) : toDto(url, counter);
+    }
+
+    public boolean isSampling() {
+        return sampling;
+    }
+
+    /**
+     * Пересчитывает частоту запросов за прошедшее окно и включает или выключает
+     * режим выборки.
+     */
+    @Scheduled(fixedRateString = "${blog.visits.sampling.check-ms:1000}")
+    public void updateCountingMode() {
+        long now = System.nanoTime();
+        long elapsedNanos = Math.max(now - windowStartNanos, 1);
+        windowStartNanos = now;
+        updateCountingMode(recentVisits.sumThenReset() * (double) TimeUnit.SECONDS.toNanos(1)
+                / elapsedNanos);
+    }
+
+    void updateCountingMode(double rps) {
+        if (sampleRate <= 1) {
+            return;
+        }
+        if (!sampling && rps > samplingThresholdRps) {
+            sampling = true;
+            log.warn("Visit counting switched to 1-in-{} sampling at {} req/s",
+                    sampleRate, Math.round(rps));
+        } else if (sampling && rps < samplingThresholdRps / 2.0) {
+            sampling = false;
+            log.info("Visit counting switched back to exact mode at {} req/s", Math.round(rps));
+        }
+    }
+
+    /**
+     * Возвращает страницу счетчиков, отсортированную по убыванию количества посещений.
+     * Для страницы {@code page} хранится не больше {@code (page + 1) * size} элементов,
+     * поэтому запрос топа не сортирует весь набор URL.
+     */
+    public VisitCountPage getVisitsPage(String prefix, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page index must not be negative");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        long window = (long) (page + 1) * size;
+        PriorityQueue<VisitCountDto> top = new PriorityQueue<>(BY_COUNT_DESC.reversed());
+        long[] total = new long[1];
+        forEachVisit(prefix, visit -> {
+            total[0]++;
+            top.offer(visit);
+            if (top.size() > window) {
+                top.poll();
+            }
+        });
+
+        List<VisitCountDto> ranked = new ArrayList<>(top);
+        ranked.sort(BY_COUNT_DESC);
+        // page * size может не поместиться в int
+        int from = (int) Math.min((long) page * size, ranked.size());
+        return new VisitCountPage(List.copyOf(ranked.subList(from, ranked.size())),
+                page, size, total[0]);
+    }
+
+    /**
+     * Передает потребителю снимок каждого счетчика, URL которого начинается с префикса.
+     * Значения читаются по одному во время обхода, внутренняя карта наружу не отдается.
+     */
+    public void forEachVisit(String prefix, Consumer<VisitCountDto> consumer) {
+        urlVisitCounts.forEach((url, counter) -> {
+            if (prefix == null || url.startsWith(prefix)) {
+                consumer.accept(toDto(url, counter));
+            }
+        });
+    }
+
+    private VisitCounter counterFor(String url) {
+        VisitCounter counter = urlVisitCounts.get(url);
+        return counter != null
+                ? counter
+                : urlVisitCounts.computeIfAbsent(url, k -> new VisitCounter());
     }
 
-    public int getVisits(String url) {
-        return urlVisitCounts.getOrDefault(url, new AtomicInteger(0)).get();
+    private VisitCountDto toDto(String url, VisitCounter counter) {
+        long sampled = counter.sampled.sum();
+        long count = counter.exact.sum() + sampled * sampleRate;
+        long error = sampled == 0
+                ? 0
+                : (long) Math.ceil(confidenceZ
+                        * Math.sqrt((double) sampled * sampleRate * (sampleRate - 1)));
+        return new VisitCountDto(url, count, error);
     }
 
-    public ConcurrentHashMap<String, AtomicInteger> getAllVisits() {
-        return urlVisitCounts;
+    private static final class VisitCounter {
+        private final LongAdder exact = new LongAdder();
+        private final LongAdder sampled = new LongAdder();
     }
 }
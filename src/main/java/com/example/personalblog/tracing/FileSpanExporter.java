@@ -0,0 +1,67 @@
+package com.example.personalblog.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Дописывает трассы в файл: одна строка OTLP JSON на пакет. Такой файл читает
+ * приемник {@code otlpjsonfile} коллектора OpenTelemetry.
+ *
+ * <p>Когда файл дорастает до {@code maxFileSize}, он переименовывается в
+ * {@code <файл>.1}, прежние копии сдвигаются на номер дальше, а копии старше
+ * {@code maxHistory} удаляются. Поэтому трассы занимают на диске не больше
+ * {@code maxFileSize * (maxHistory + 1)}.
+ */
+public class FileSpanExporter implements SpanExporter {
+
+    private final Path file;
+    private final OtlpJsonEncoder encoder;
+    private final long maxFileSize;
+    private final int maxHistory;
+
+    public FileSpanExporter(Path file, ObjectMapper objectMapper, String serviceName,
+                            long maxFileSize, int maxHistory) {
+        this.file = file;
+        this.encoder = new OtlpJsonEncoder(objectMapper, serviceName);
+        this.maxFileSize = maxFileSize;
+        this.maxHistory = maxHistory;
+    }
+
+    @Override
+    public void export(List<Trace> traces) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        byte[] line = (encoder.encode(traces) + "\n").getBytes(StandardCharsets.UTF_8);
+        if (Files.exists(file) && Files.size(file) + line.length > maxFileSize) {
+            rotate();
+        }
+        Files.write(file, line, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private void rotate() throws IOException {
+        Files.deleteIfExists(archived(maxHistory));
+        for (int index = maxHistory - 1; index >= 1; index--) {
+            Path source = archived(index);
+            if (Files.exists(source)) {
+                Files.move(source, archived(index + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        if (maxHistory > 0) {
+            Files.move(file, archived(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(file);
+        }
+    }
+
+    private Path archived(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
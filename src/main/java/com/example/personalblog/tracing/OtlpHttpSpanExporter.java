@@ -0,0 +1,49 @@
+package com.example.personalblog.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Отправляет трассы коллектору по OTLP/HTTP в формате JSON.
+ */
+public class OtlpHttpSpanExporter implements SpanExporter {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final URI endpoint;
+    private final OtlpJsonEncoder encoder;
+    private final HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .build();
+
+    public OtlpHttpSpanExporter(URI endpoint, ObjectMapper objectMapper, String serviceName) {
+        this.endpoint = endpoint;
+        this.encoder = new OtlpJsonEncoder(objectMapper, serviceName);
+    }
+
+    @Override
+    public void export(List<Trace> traces) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(encoder.encode(traces)))
+                .build();
+        try {
+            HttpResponse<Void> response = client.send(request,
+                    HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 != 2) {
+                throw new IOException("OTLP collector responded with status "
+                        + response.statusCode());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while exporting spans", e);
+        }
+    }
+}
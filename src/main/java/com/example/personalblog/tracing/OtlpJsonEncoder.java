@@ -0,0 +1,85 @@
+package com.example.personalblog.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Кодирует трассы в JSON-представление OTLP ({@code ExportTraceServiceRequest}),
+ * которое принимают коллектор OpenTelemetry по HTTP ({@code /v1/traces})
+ * и его приемник {@code otlpjsonfile}.
+ */
+final class OtlpJsonEncoder {
+
+    private static final String SCOPE_NAME = "com.example.personalblog.tracing";
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int SPAN_KIND_SERVER = 2;
+    private static final int STATUS_CODE_ERROR = 2;
+
+    private final ObjectMapper objectMapper;
+    private final String serviceName;
+
+    OtlpJsonEncoder(ObjectMapper objectMapper, String serviceName) {
+        this.objectMapper = objectMapper;
+        this.serviceName = serviceName;
+    }
+
+    String encode(List<Trace> traces) {
+        ObjectNode request = objectMapper.createObjectNode();
+        ObjectNode resourceSpans = request.putArray("resourceSpans").addObject();
+        attributes(resourceSpans.putObject("resource"), Map.of("service.name", serviceName));
+        ObjectNode scopeSpans = resourceSpans.putArray("scopeSpans").addObject();
+        scopeSpans.putObject("scope").put("name", SCOPE_NAME);
+        ArrayNode spans = scopeSpans.putArray("spans");
+        for (Trace trace : traces) {
+            for (Span span : trace.getSpans()) {
+                span(spans.addObject(), trace, span);
+            }
+        }
+        return request.toString();
+    }
+
+    private void span(ObjectNode node, Trace trace, Span span) {
+        node.put("traceId", trace.getTraceId());
+        node.put("spanId", span.getSpanId());
+        String parentId = span.getParent() != null
+                ? span.getParent().getSpanId()
+                : trace.getRemoteParentId();
+        if (parentId != null) {
+            node.put("parentSpanId", parentId);
+        }
+        node.put("name", span.getName());
+        node.put("kind", span.getLayer() == SpanLayer.HTTP ? SPAN_KIND_SERVER : SPAN_KIND_INTERNAL);
+        // 64-битные числа в OTLP JSON передаются строками
+        node.put("startTimeUnixNano",
+                Long.toString(trace.toEpochNanos(span.getStartNanos())));
+        node.put("endTimeUnixNano", Long.toString(trace.toEpochNanos(span.getEndNanos())));
+        Map<String, Object> attributes = new LinkedHashMap<>(span.getAttributes());
+        attributes.put("blog.layer", span.getLayer().getMetricName());
+        attributes(node, attributes);
+        if (span.isError()) {
+            node.putObject("status").put("code", STATUS_CODE_ERROR);
+        }
+    }
+
+    private static void attributes(ObjectNode node, Map<String, ?> attributes) {
+        ArrayNode array = node.putArray("attributes");
+        attributes.forEach((key, value) -> {
+            ObjectNode attribute = array.addObject();
+            attribute.put("key", key);
+            ObjectNode anyValue = attribute.putObject("value");
+            if (value instanceof Integer || value instanceof Long) {
+                anyValue.put("intValue", value.toString());
+            } else if (value instanceof Number number) {
+                anyValue.put("doubleValue", number.doubleValue());
+            } else if (value instanceof Boolean bool) {
+                anyValue.put("boolValue", bool);
+            } else {
+                anyValue.put("stringValue", String.valueOf(value));
+            }
+        });
+    }
+}
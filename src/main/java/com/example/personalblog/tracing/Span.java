@@ -0,0 +1,90 @@
+package com.example.personalblog.tracing;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.lang.Nullable;
+
+/**
+ * Участок обработки запроса: вызов контроллера, сервиса, кэша или репозитория.
+ * Время хранится по {@link System#nanoTime()} и переводится во время эпохи
+ * только при экспорте.
+ */
+public final class Span {
+
+    private final long spanId;
+    private final SpanLayer layer;
+    @Nullable
+    private final Span parent;
+    private final long startNanos;
+    private String name;
+    private long endNanos;
+    private boolean error;
+    @Nullable
+    private Map<String, Object> attributes;
+
+    Span(String name, SpanLayer layer, @Nullable Span parent, long startNanos) {
+        this.spanId = ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE);
+        this.name = name;
+        this.layer = layer;
+        this.parent = parent;
+        this.startNanos = startNanos;
+    }
+
+    void end(long endNanos, boolean error) {
+        this.endNanos = endNanos;
+        this.error = error;
+    }
+
+    void rename(String name) {
+        this.name = name;
+    }
+
+    public void setAttribute(String key, Object value) {
+        if (attributes == null) {
+            attributes = new LinkedHashMap<>();
+        }
+        attributes.put(key, value);
+    }
+
+    public String getSpanId() {
+        return Trace.hex(spanId);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SpanLayer getLayer() {
+        return layer;
+    }
+
+    @Nullable
+    public Span getParent() {
+        return parent;
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getEndNanos() {
+        return endNanos;
+    }
+
+    public long getDurationNanos() {
+        return endNanos - startNanos;
+    }
+
+    public boolean isFinished() {
+        return endNanos != 0;
+    }
+
+    public boolean isError() {
+        return error;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes != null ? attributes : Map.of();
+    }
+}
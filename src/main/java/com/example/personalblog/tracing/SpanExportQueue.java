@@ -0,0 +1,111 @@
+package com.example.personalblog.tracing;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Передает завершенные трассы экспортеру в отдельном потоке пакетами до
+ * {@code blog.tracing.batch-size} трасс. Очередь ограничена
+ * {@code blog.tracing.queue-capacity}: если экспорт не успевает, новые трассы
+ * отбрасываются и учитываются метрикой {@code blog.tracing.dropped}, а потоки
+ * запросов никогда не ждут.
+ */
+@Component
+@Slf4j
+public class SpanExportQueue {
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+    private static final long POLL_MILLIS = 200;
+
+    private final SpanExporter exporter;
+    private final int batchSize;
+    private final BlockingQueue<Trace> queue;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Thread worker;
+    private volatile boolean stopping;
+
+    public SpanExportQueue(SpanExporter exporter,
+                           MeterRegistry meterRegistry,
+                           @Value("${blog.tracing.queue-capacity:1000}") int queueCapacity,
+                           @Value("${blog.tracing.batch-size:100}") int batchSize) {
+        this.exporter = exporter;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.dropped = Counter.builder("blog.tracing.dropped")
+                .description("Traces dropped because the export queue was full")
+                .register(meterRegistry);
+        this.failed = Counter.builder("blog.tracing.export.failed")
+                .description("Traces that could not be exported")
+                .register(meterRegistry);
+        this.worker = new Thread(this::run, "span-export");
+        this.worker.setDaemon(true);
+        if (exporter != SpanExporter.NONE) {
+            this.worker.start();
+        }
+    }
+
+    public void offer(Trace trace) {
+        if (exporter != SpanExporter.NONE && !queue.offer(trace)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Останавливает поток и экспортирует трассы, оставшиеся в очереди. Очередь
+     * разбирается только после завершения потока, чтобы два потока не писали
+     * в экспортер одновременно.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Без interrupt: прерывание оборвало бы запись текущего пакета в файл или по сети
+        stopping = true;
+        worker.join(SHUTDOWN_TIMEOUT_MILLIS);
+        if (worker.isAlive()) {
+            log.warn("Span export thread did not stop in {} ms, {} traces are not exported",
+                    SHUTDOWN_TIMEOUT_MILLIS, queue.size());
+            return;
+        }
+        List<Trace> batch = new ArrayList<>();
+        while (queue.drainTo(batch, batchSize) > 0) {
+            export(batch);
+        }
+    }
+
+    private void run() {
+        List<Trace> batch = new ArrayList<>(batchSize);
+        try {
+            while (!stopping) {
+                Trace trace = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (trace == null) {
+                    continue;
+                }
+                batch.add(trace);
+                queue.drainTo(batch, batchSize - 1);
+                export(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void export(List<Trace> batch) {
+        try {
+            exporter.export(batch);
+        } catch (IOException | RuntimeException e) {
+            failed.increment(batch.size());
+            log.warn("Failed to export {} traces: {}", batch.size(), e.getMessage());
+        }
+        batch.clear();
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.personalblog.tracing;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Получатель завершенных трасс. Вызывается из потока {@link SpanExportQueue},
+ * поэтому может выполнять блокирующий ввод-вывод.
+ */
+public interface SpanExporter {
+
+    /**
+     * Экспортер, который ничего не отправляет: трассы нужны только для
+     * заголовка {@code Server-Timing}.
+     */
+    SpanExporter NONE = traces -> {
+    };
+
+    void export(List<Trace> traces) throws IOException;
+}
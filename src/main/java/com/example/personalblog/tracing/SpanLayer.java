@@ -0,0 +1,23 @@
+package com.example.personalblog.tracing;
+
+/**
+ * Слой приложения, к которому относится span. Имя слоя используется
+ * в заголовке {@code Server-Timing}.
+ */
+public enum SpanLayer {
+    HTTP("http"),
+    CONTROLLER("controller"),
+    SERVICE("service"),
+    CACHE("cache"),
+    REPOSITORY("repository");
+
+    private final String metricName;
+
+    SpanLayer(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.personalblog.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.lang.Nullable;
+
+/**
+ * Трасса одного HTTP-запроса: завершенные span-ы и текущий span, к которому
+ * привязываются вложенные вызовы.
+ *
+ * <p>Как и {@link com.example.personalblog.monitoring.RequestStats}, трасса привязана
+ * к потоку запроса через {@link ThreadLocal} и изменяется только им. Для запросов,
+ * не попавших в выборку, трассы нет, и проверка {@link #current()} — все, что
+ * стоит трассировка. Работа в других потоках в трассу не попадает.
+ */
+public final class Trace {
+
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String traceId;
+    @Nullable
+    private final String remoteParentId;
+    private final long startEpochNanos;
+    private final long startNanos;
+    private final List<Span> spans = new ArrayList<>();
+    @Nullable
+    private Span current;
+
+    Trace(String traceId, @Nullable String remoteParentId) {
+        Instant now = Instant.now();
+        this.startNanos = System.nanoTime();
+        this.startEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+        this.traceId = traceId;
+        this.remoteParentId = remoteParentId;
+    }
+
+    /**
+     * Начинает трассу для запроса текущего потока.
+     *
+     * @param traceId        идентификатор из заголовка {@code traceparent} или
+     *                       {@code null} для новой трассы
+     * @param remoteParentId span вызывающей стороны или {@code null}
+     */
+    public static Trace start(@Nullable String traceId, @Nullable String remoteParentId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Trace trace = new Trace(traceId != null
+                ? traceId
+                : hex(random.nextLong()) + hex(random.nextLong(1, Long.MAX_VALUE)),
+                remoteParentId);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Трасса запроса текущего потока или {@code null}, если запрос не трассируется.
+     */
+    @Nullable
+    public static Trace current() {
+        return CURRENT.get();
+    }
+
+    public Span startSpan(String name, SpanLayer layer) {
+        Span span = new Span(name, layer, current, System.nanoTime());
+        current = span;
+        return span;
+    }
+
+    public void endSpan(Span span, boolean error) {
+        span.end(System.nanoTime(), error);
+        spans.add(span);
+        current = span.getParent();
+    }
+
+    /**
+     * Значение заголовка {@code Server-Timing}: собственное время каждого слоя
+     * (без вложенных вызовов других слоев) и общее время с начала запроса.
+     * Учитываются только завершенные span-ы.
+     */
+    public String serverTiming() {
+        long[] selfNanos = new long[SpanLayer.values().length];
+        boolean[] present = new boolean[selfNanos.length];
+        for (Span span : spans) {
+            int layer = span.getLayer().ordinal();
+            selfNanos[layer] += span.getDurationNanos();
+            present[layer] = true;
+            Span parent = span.getParent();
+            if (parent != null && parent.isFinished()) {
+                selfNanos[parent.getLayer().ordinal()] -= span.getDurationNanos();
+            }
+        }
+        StringBuilder header = new StringBuilder();
+        for (SpanLayer layer : SpanLayer.values()) {
+            if (present[layer.ordinal()]) {
+                appendMetric(header, layer.getMetricName(), selfNanos[layer.ordinal()]);
+            }
+        }
+        appendMetric(header, "total", System.nanoTime() - startNanos);
+        return header.toString();
+    }
+
+    private static void appendMetric(StringBuilder header, String name, long nanos) {
+        if (!header.isEmpty()) {
+            header.append(", ");
+        }
+        header.append(name).append(";dur=")
+                .append(String.format(Locale.ROOT, "%.3f", nanos / NANOS_PER_MILLI));
+    }
+
+    /**
+     * Переводит время {@link System#nanoTime()} во время эпохи в наносекундах.
+     */
+    public long toEpochNanos(long nanos) {
+        return startEpochNanos + (nanos - startNanos);
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    @Nullable
+    public String getRemoteParentId() {
+        return remoteParentId;
+    }
+
+    public List<Span> getSpans() {
+        return Collections.unmodifiableList(spans);
+    }
+
+    static String hex(long value) {
+        String digits = Long.toHexString(value);
+        return "0".repeat(16 - digits.length()) + digits;
+    }
+}
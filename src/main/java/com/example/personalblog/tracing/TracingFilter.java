@@ -0,0 +1,109 @@
+package com.example.personalblog.tracing;
+
+import com.example.personalblog.monitoring.HeaderWritingResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Начинает {@link Trace} для запросов, попавших в выборку, и завершает ее корневым
+ * span-ом запроса. В выборку попадает один запрос из {@code blog.tracing.sample-rate}
+ * (0 — трассировка выключена); если вызывающая сторона передала заголовок
+ * {@code traceparent} (W3C Trace Context), решение о выборке и идентификатор трассы
+ * берутся из него.
+ *
+ * <p>При {@code blog.tracing.server-timing=true} собственное время слоев добавляется
+ * в заголовок {@code Server-Timing} перед записью тела ответа. Завершенная трасса
+ * передается в {@link SpanExportQueue}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+    public static final String TRACEPARENT_HEADER = "traceparent";
+
+    private static final Pattern TRACEPARENT =
+            Pattern.compile("^00-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})$");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+
+    private final SpanExportQueue exportQueue;
+    private final int sampleRate;
+    private final boolean serverTiming;
+
+    public TracingFilter(SpanExportQueue exportQueue,
+                         @Value("${blog.tracing.sample-rate:0}") int sampleRate,
+                         @Value("${blog.tracing.server-timing:true}") boolean serverTiming) {
+        this.exportQueue = exportQueue;
+        this.sampleRate = sampleRate;
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+        Trace trace = sampleRate > 0 ? startTrace(request) : null;
+        if (trace == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Span root = trace.startSpan(request.getMethod(), SpanLayer.HTTP);
+        HeaderWritingResponse timingResponse = serverTiming
+                ? new HeaderWritingResponse(response, () ->
+                        response.setHeader(SERVER_TIMING_HEADER, trace.serverTiming()))
+                : null;
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, timingResponse != null ? timingResponse : response);
+            failed = false;
+        } finally {
+            trace.endSpan(root, failed || response.getStatus() >= 500);
+            Trace.end();
+            if (timingResponse != null) {
+                timingResponse.writeHeaders();
+            }
+            describe(root, request, response);
+            exportQueue.offer(trace);
+        }
+    }
+
+    private Trace startTrace(HttpServletRequest request) {
+        String traceparent = request.getHeader(TRACEPARENT_HEADER);
+        if (traceparent != null) {
+            Matcher matcher = TRACEPARENT.matcher(traceparent);
+            if (matcher.matches() && !INVALID_TRACE_ID.equals(matcher.group(1))) {
+                boolean sampled = (Integer.parseInt(matcher.group(3), 16) & 1) != 0;
+                return sampled ? Trace.start(matcher.group(1), matcher.group(2)) : null;
+            }
+        }
+        boolean sampled = sampleRate == 1
+                || ThreadLocalRandom.current().nextInt(sampleRate) == 0;
+        return sampled ? Trace.start(null, null) : null;
+    }
+
+    private static void describe(Span root, HttpServletRequest request,
+                                 HttpServletResponse response) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern instanceof String route) {
+            root.rename(request.getMethod() + " " + route);
+            root.setAttribute("http.route", route);
+        }
+        root.setAttribute("http.request.method", request.getMethod());
+        root.setAttribute("url.path", request.getRequestURI());
+        root.setAttribute("http.response.status_code", response.getStatus());
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.personalblog.aspect;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.personalblog.dto.VisitCountDto;
+import com.example.personalblog.exceptionhandler.GlobalExceptionHandler;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LoggingAspectTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(LoggingAspect.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void logAround_ClientErrorResponse_ShouldLogWarn() throws Throwable {
+        ResponseStatusException ex = new ResponseStatusException(HttpStatus.NOT_FOUND,
+                "JFR API is disabled");
+
+        handle("handleResponseStatusException", ResponseStatusException.class, ex,
+                ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+
+        assertThat(appender.list).extracting(ILoggingEvent::getLevel)
+                .containsExactly(Level.WARN);
+    }
+
+    @Test
+    void logAround_ServerErrorResponse_ShouldLogError() throws Throwable {
+        handle("handleGenericException", Exception.class, new IllegalStateException("boom"),
+                ResponseEntity.internalServerError().build());
+
+        assertThat(appender.list).extracting(ILoggingEvent::getLevel)
+                .containsExactly(Level.ERROR);
+        assertThat(appender.list.get(0).getFormattedMessage()).contains("500", "boom");
+    }
+
+    @Test
+    void summarize_ShouldKeepScalarsAndShortStrings() {
+        assertThat(LoggingAspect.summarize(42L)).isEqualTo("42");
+        assertThat(LoggingAspect.summarize("/api/posts")).isEqualTo("\"/api/posts\"");
+        assertThat(LoggingAspect.summarize(null)).isEqualTo("null");
+    }
+
+    @Test
+    void summarize_ShouldReplacePayloadsWithSizes() {
+        assertThat(LoggingAspect.summarize("x".repeat(10_000)))
+                .isEqualTo("String(length=10000)");
+        assertThat(LoggingAspect.summarize(List.of(1, 2, 3))).endsWith("(size=3)");
+        assertThat(LoggingAspect.summarize(Map.of("a", 1))).endsWith("(size=1)");
+        assertThat(LoggingAspect.summarize(new byte[16])).isEqualTo("byte[16]");
+    }
+
+    @Test
+    void summarize_ShouldDescribeObjectsByTypeAndId() {
+        assertThat(LoggingAspect.summarize(new Identified(7L))).isEqualTo("Identified#7");
+        assertThat(LoggingAspect.summarize(new VisitCountDto("/", 1, 0)))
+                .isEqualTo("VisitCountDto");
+        assertThat(LoggingAspect.summarize(ResponseEntity.ok(List.of())))
+                .startsWith("200 ");
+    }
+
+    private static void handle(String handler, Class<?> parameter, Exception ex,
+                               ResponseEntity<?> response) throws Throwable {
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        MethodSignature signature = mock(MethodSignature.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(signature.getMethod())
+                .thenReturn(GlobalExceptionHandler.class.getMethod(handler, parameter));
+        when(signature.toShortString()).thenReturn("GlobalExceptionHandler." + handler + "(..)");
+        when(joinPoint.getArgs()).thenReturn(new Object[]{ex});
+        when(joinPoint.proceed()).thenReturn(response);
+
+        new LoggingAspect(1).logAround(joinPoint);
+    }
+
+    public static class Identified {
+        private final Long id;
+
+        Identified(Long id) {
+            this.id = id;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+}
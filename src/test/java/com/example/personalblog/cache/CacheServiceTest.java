@@ -0,0 +1,26 @@
+package com.example.personalblog.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class CacheServiceTest {
+
+    private final CacheService cacheService = new CacheService();
+
+    @Test
+    void peek_ShouldReturnValueWithoutCountingHit() {
+        cacheService.put("trending:post:1", "background");
+        cacheService.put("posts:", "user");
+        cacheService.get("posts:");
+
+        assertThat(cacheService.peek("trending:post:1")).isEqualTo("background");
+        assertThat(cacheService.peek("trending:post:1")).isEqualTo("background");
+        assertThat(cacheService.peek("missing")).isNull();
+        assertThat(cacheService.hottest(2)).extracting(CacheService.HotEntry::key,
+                        CacheService.HotEntry::hits)
+                .containsExactly(tuple("posts:", 1L),
+                        tuple("trending:post:1", 0L));
+    }
+}
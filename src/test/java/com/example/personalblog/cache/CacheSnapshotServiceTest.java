@@ -0,0 +1,289 @@
+package com.example.personalblog.cache;
+
+import com.example.personalblog.dto.PostDto;
+import com.example.personalblog.model.Category;
+import com.example.personalblog.model.Post;
+import com.example.personalblog.model.User;
+import com.example.personalblog.repository.CategoryRepository;
+import com.example.personalblog.repository.PostRepository;
+import com.example.personalblog.repository.PostRepository.PostVersion;
+import com.example.personalblog.repository.TableVersion;
+import com.example.personalblog.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheSnapshotServiceTest {
+
+    private static final LocalDateTime WATERMARK =
+            LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_456_000);
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private Post first;
+    private Post second;
+
+    @BeforeEach
+    void setUp() {
+        file = tempDir.resolve("snapshot/cache.bin");
+        first = post(1L, "alice", WATERMARK.minusHours(1));
+        second = post(2L, "bob", WATERMARK);
+        lenient().when(categoryRepository.findTableVersion())
+                .thenReturn(tableVersion(30, WATERMARK.minusDays(3)));
+        lenient().when(userRepository.findTableVersion())
+                .thenReturn(tableVersion(200, WATERMARK.minusDays(2)));
+    }
+
+    @Test
+    void restore_Unchanged_RestoresHotEntriesWithHits() {
+        CacheService cacheService = new CacheService();
+        cacheService.put("posts:", List.of(first, second));
+        cacheService.put("trending:post:1", PostDto.fromEntity(first));
+        cacheService.put("users:", List.of(new User()));
+        cacheService.get("posts:");
+        cacheService.get("posts:");
+        snapshotTaken(cacheService, 2);
+
+        CacheService restoredCache = new CacheService();
+        when(postRepository.findMaxUpdatedAt()).thenReturn(WATERMARK);
+        when(postRepository.count()).thenReturn(2L);
+        when(userRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(first.getAuthor(), second.getAuthor()));
+
+        int restored = service(restoredCache, file).restore();
+
+        assertThat(restored).isEqualTo(2);
+        assertThat(restoredCache.hottest(10)).extracting(CacheService.HotEntry::key,
+                        CacheService.HotEntry::hits)
+                .startsWith(tuple("posts:", 2L));
+        assertThat(restoredCache.get("users:")).isNull();
+        @SuppressWarnings("unchecked")
+        List<Post> posts = (List<Post>) restoredCache.get("posts:");
+        assertThat(posts).hasSize(2);
+        Post restoredFirst = posts.get(0);
+        assertThat(restoredFirst.getId()).isEqualTo(1L);
+        assertThat(restoredFirst.getContent()).isEqualTo(first.getContent()).hasSize(70_000);
+        assertThat(restoredFirst.getUpdatedAt()).isEqualTo(first.getUpdatedAt());
+        assertThat(restoredFirst.getAuthor()).isSameAs(first.getAuthor());
+        assertThat(restoredFirst.getCategories()).extracting(Category::getName)
+                .containsExactly("Java");
+        assertThat(restoredCache.get("trending:post:1")).isEqualTo(PostDto.fromEntity(first));
+        verify(postRepository, never()).findVersionsByIdIn(any());
+    }
+
+    @Test
+    void restore_PostUpdatedAfterSnapshot_DropsStaleEntriesAndLists() {
+        CacheService cacheService = new CacheService();
+        cacheService.put("posts:", List.of(first, second));
+        cacheService.put("trending:post:1", PostDto.fromEntity(first));
+        cacheService.put("trending:post:2", PostDto.fromEntity(second));
+        snapshotTaken(cacheService, 2);
+
+        CacheService restoredCache = new CacheService();
+        LocalDateTime updated = WATERMARK.plusMinutes(5);
+        when(postRepository.findMaxUpdatedAt()).thenReturn(updated);
+        when(postRepository.findVersionsByIdIn(any()))
+                .thenReturn(List.of(version(1L, updated), version(2L, WATERMARK)));
+
+        int restored = service(restoredCache, file).restore();
+
+        assertThat(restored).isEqualTo(1);
+        assertThat(restoredCache.get("trending:post:2")).isNotNull();
+        assertThat(restoredCache.get("trending:post:1")).isNull();
+        assertThat(restoredCache.get("posts:")).isNull();
+    }
+
+    @Test
+    void restore_PostDeleted_KeepsListsWithoutIt() {
+        CacheService cacheService = new CacheService();
+        cacheService.put("posts:", List.of(first, second));
+        cacheService.put("posts:author:bob", List.of(second));
+        snapshotTaken(cacheService, 2);
+
+        CacheService restoredCache = new CacheService();
+        when(postRepository.findMaxUpdatedAt()).thenReturn(WATERMARK);
+        when(postRepository.count()).thenReturn(1L);
+        when(postRepository.findVersionsByIdIn(any()))
+                .thenReturn(List.of(version(2L, WATERMARK)));
+        when(userRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(second.getAuthor()));
+
+        int restored = service(restoredCache, file).restore();
+
+        assertThat(restored).isEqualTo(1);
+        assertThat(restoredCache.get("posts:author:bob")).isNotNull();
+        assertThat(restoredCache.get("posts:")).isNull();
+    }
+
+    @Test
+    void restore_CategoryRenamedAfterSnapshot_RestoresNothing() {
+        CacheService cacheService = new CacheService();
+        cacheService.put("posts:category:Java", List.of(first, second));
+        cacheService.put("trending:post:1", PostDto.fromEntity(first));
+        snapshotTaken(cacheService, 2);
+
+        CacheService restoredCache = new CacheService();
+        when(categoryRepository.findTableVersion())
+                .thenReturn(tableVersion(30, WATERMARK.plusMinutes(1)));
+
+        int restored = service(restoredCache, file).restore();
+
+        assertThat(restored).isZero();
+        assertThat(restoredCache.size()).isZero();
+    }
+
+    @Test
+    void save_ShouldNotWriteAuthorEmails() throws IOException {
+        CacheService cacheService = new CacheService();
+        cacheService.put("posts:", List.of(first, second));
+        snapshotTaken(cacheService, 2);
+
+        String content;
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        assertThat(content).contains("Post 1").doesNotContain("@example.com");
+    }
+
+    @Test
+    void restore_AuthorDeleted_DropsListsWithItsPosts() {
+        CacheService cacheService = new CacheService();
+        cacheService.put("posts:author:alice", List.of(first));
+        cacheService.put("posts:author:bob", List.of(second));
+        snapshotTaken(cacheService, 2);
+
+        CacheService restoredCache = new CacheService();
+        when(postRepository.findMaxUpdatedAt()).thenReturn(WATERMARK);
+        when(postRepository.count()).thenReturn(2L);
+        when(userRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(second.getAuthor()));
+
+        int restored = service(restoredCache, file).restore();
+
+        assertThat(restored).isEqualTo(1);
+        assertThat(restoredCache.get("posts:author:alice")).isNull();
+        assertThat(restoredCache.get("posts:author:bob")).isNotNull();
+    }
+
+    @Test
+    void restore_CorruptFile_RestoresNothing() throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[]{1, 2, 3});
+        CacheService cacheService = new CacheService();
+
+        int restored = service(cacheService, file).restore();
+
+        assertThat(restored).isZero();
+        assertThat(cacheService.size()).isZero();
+        verifyNoInteractions(postRepository);
+    }
+
+    @Test
+    void save_WithoutFile_DoesNothing() {
+        CacheService cacheService = new CacheService();
+        cacheService.put("posts:", List.of(first));
+
+        service(cacheService, null).save();
+
+        verifyNoInteractions(postRepository);
+    }
+
+    private CacheSnapshotService service(CacheService cacheService, Path file) {
+        return new CacheSnapshotService(cacheService, postRepository, categoryRepository,
+                userRepository, file, 10);
+    }
+
+    private void snapshotTaken(CacheService cacheService, long postCount) {
+        when(postRepository.findMaxUpdatedAt()).thenReturn(WATERMARK);
+        when(postRepository.count()).thenReturn(postCount);
+        service(cacheService, file).save();
+        assertThat(file).exists();
+    }
+
+    private static Post post(Long id, String username, LocalDateTime updatedAt) {
+        User author = new User();
+        author.setId(id + 100);
+        author.setUsername(username);
+        author.setVisibleName(username.toUpperCase());
+        author.setEmail(username + "@example.com");
+        Category category = new Category();
+        category.setId(7L);
+        category.setName("Java");
+        char[] content = new char[70_000];
+        Arrays.fill(content, 'ж');
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("Post " + id);
+        post.setContent(new String(content));
+        post.setCreatedAt(updatedAt.minusDays(1));
+        post.setUpdatedAt(updatedAt);
+        post.setAuthor(author);
+        post.setCategories(Set.of(category));
+        return post;
+    }
+
+    private static TableVersion tableVersion(long count, LocalDateTime updatedAt) {
+        return new TableVersion() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+
+    private static PostVersion version(Long id, LocalDateTime updatedAt) {
+        return new PostVersion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public LocalDateTime getUpdatedAt() {
+                return updatedAt;
+            }
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.personalblog.cache;
+
+import com.example.personalblog.model.Category;
+import com.example.personalblog.repository.CategoryRepository;
+import com.example.personalblog.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @Mock
+    private CacheSnapshotService snapshotService;
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private CacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        cacheService = new CacheService();
+    }
+
+    @Test
+    void warmUp_LoadsPostListsAndBecomesReady() {
+        Category science = new Category();
+        science.setName("Science");
+        when(categoryRepository.findAll(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(science)));
+        CacheWarmer warmer = new CacheWarmer(snapshotService, postService,
+                categoryRepository, cacheService, true, 5);
+        CacheWarmHealthIndicator indicator = new CacheWarmHealthIndicator(warmer, cacheService);
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        warmer.warmUp();
+
+        verify(snapshotService).restore();
+        verify(postService).getPosts(null, null);
+        verify(postService).getPosts("Science", null);
+        assertThat(warmer.isWarm()).isTrue();
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(indicator.health().getDetails()).containsKeys("entries", "warmupMs");
+    }
+
+    @Test
+    void warmUp_Failure_StillBecomesReady() {
+        when(postService.getPosts(null, null)).thenThrow(new IllegalStateException("db down"));
+        CacheWarmer warmer = new CacheWarmer(snapshotService, postService,
+                categoryRepository, cacheService, true, 5);
+
+        warmer.warmUp();
+
+        assertThat(warmer.isWarm()).isTrue();
+    }
+
+    @Test
+    void disabled_IsReadyWithoutWarmup() {
+        CacheWarmer warmer = new CacheWarmer(snapshotService, postService,
+                categoryRepository, cacheService, false, 5);
+
+        warmer.startWarmup();
+
+        assertThat(warmer.isWarm()).isTrue();
+        assertThat(warmer.getWarmupMillis()).isEqualTo(-1);
+    }
+}
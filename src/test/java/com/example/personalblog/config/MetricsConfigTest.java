@@ -0,0 +1,71 @@
+package com.example.personalblog.config;
+
+import com.example.personalblog.interceptor.VisitCounterInterceptor;
+import com.example.personalblog.service.TrendingPostService;
+import com.example.personalblog.service.VisitCounterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MetricsConfigTest {
+
+    private static final int MAX_ROUTE_TAGS = 100;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private VisitCounterInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry.config().meterFilter(
+                new MetricsConfig().routeTagCardinalityFilter(MAX_ROUTE_TAGS));
+        interceptor = new VisitCounterInterceptor(mock(VisitCounterService.class),
+                mock(TrendingPostService.class), meterRegistry, List.of("/**"), List.of());
+    }
+
+    @Test
+    void visitsCounter_ShouldIncrementPerRoute() {
+        visit("/api/posts/{id}");
+        visit("/api/posts/{id}");
+        visit("/api/users");
+
+        assertThat(visits("/api/posts/{id}")).isEqualTo(2.0);
+        assertThat(visits("/api/users")).isEqualTo(1.0);
+    }
+
+    @Test
+    void routeTagCardinalityFilter_ShouldDenyRoutesOverLimit() {
+        for (int i = 0; i < MAX_ROUTE_TAGS; i++) {
+            visit("/api/route" + i);
+        }
+        visit("/api/route" + MAX_ROUTE_TAGS);
+
+        assertThat(meterRegistry.find("blog.visits").counters()).hasSize(MAX_ROUTE_TAGS);
+        assertThat(visits("/api/route0")).isEqualTo(1.0);
+        assertThat(meterRegistry.find("blog.visits")
+                .tag(MetricsConfig.ROUTE_TAG, "/api/route" + MAX_ROUTE_TAGS)
+                .counter()).isNull();
+    }
+
+    private void visit(String route) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", route);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+    }
+
+    private double visits(String route) {
+        Counter counter = meterRegistry.find("blog.visits")
+                .tag(MetricsConfig.ROUTE_TAG, route)
+                .counter();
+        assertThat(counter).isNotNull();
+        return counter.count();
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.personalblog.controller;
+
+import com.example.personalblog.cache.CacheService;
+import com.example.personalblog.model.Category;
+import com.example.personalblog.model.Post;
+import com.example.personalblog.model.User;
+import com.example.personalblog.repository.CategoryRepository;
+import com.example.personalblog.repository.PostRepository;
+import com.example.personalblog.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.personalblog.monitoring.RequestStatsFilter.QUERY_BUDGET_HEADER;
+import static com.example.personalblog.monitoring.RequestStatsFilter.SQL_COUNT_HEADER;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверяет бюджеты SQL-запросов маршрутов постов. При превышении бюджета
+ * {@code RequestStatsFilter} завершает запрос исключением, и тест падает.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PostControllerQueryBudgetTest {
+
+    private static final int POST_COUNT = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CacheService cacheService;
+
+    private User author;
+    private Category science;
+    private List<Post> posts;
+
+    @BeforeEach
+    void setUp() {
+        cacheService.invalidateByPrefix("");
+        author = new User();
+        author.setUsername("budget_author");
+        author.setVisibleName("Budget Author");
+        author.setEmail("author@example.com");
+        author = userRepository.save(author);
+
+        Category technology = new Category();
+        technology.setName("Technology");
+        science = new Category();
+        science.setName("Science");
+        Category news = new Category();
+        news.setName("News");
+        categoryRepository.saveAll(List.of(technology, science, news));
+
+        posts = new ArrayList<>();
+        for (int i = 0; i < POST_COUNT; i++) {
+            Post post = new Post();
+            post.setTitle("Post number " + i);
+            post.setContent("Content of post number " + i);
+            post.setAuthor(author);
+            post.setCategories(new HashSet<>(Set.of(technology, news)));
+            posts.add(post);
+        }
+        posts = postRepository.saveAll(posts);
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheService.invalidateByPrefix("");
+    }
+
+    @Test
+    void getPosts_ShouldLoadAuthorsAndCategoriesWithinBudget() throws Exception {
+        perform(get("/api/posts"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(POST_COUNT))
+                .andExpect(jsonPath("$[0].categoryNames.length()").value(2));
+    }
+
+    @Test
+    void getPostsByAuthor_ShouldStayWithinBudget() throws Exception {
+        perform(get("/api/posts").param("author", author.getUsername()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(POST_COUNT));
+    }
+
+    @Test
+    void getPostsByCategory_ShouldStayWithinBudget() throws Exception {
+        perform(get("/api/posts").param("category", "Technology"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(POST_COUNT));
+    }
+
+    @Test
+    void getPostById_ShouldStayWithinBudget() throws Exception {
+        perform(get("/api/posts/{id}", posts.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authorName").value(author.getUsername()));
+    }
+
+    @Test
+    void createPost_ShouldResolveCategoriesWithinBudget() throws Exception {
+        perform(post("/api/posts/user/{userId}", author.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"title": "Budget post", "content": "Content within budget",
+                         "categoryNames": ["Technology", "Science", "News", "Travel"]}
+                        """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.categoryNames.length()").value(4));
+    }
+
+    @Test
+    void createPostsBulk_ShouldResolveCategoriesOnceWithinBudget() throws Exception {
+        perform(post("/api/posts/bulk/user/{userId}", author.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        [{"title": "Bulk post one", "content": "First bulk content",
+                          "categoryNames": ["Technology", "Science"]},
+                         {"title": "Bulk post two", "content": "Second bulk content",
+                          "categoryNames": ["Science", "News"]},
+                         {"title": "Bulk post three", "content": "Third bulk content",
+                          "categoryNames": ["News", "Technology"]}]
+                        """))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    void createPostsBulk_LargeBatch_ShouldScaleBudgetWithBatchSize() throws Exception {
+        perform(post("/api/posts/bulk/user/{userId}", author.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(bulkPosts(12)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(QUERY_BUDGET_HEADER, "28"));
+    }
+
+    @Test
+    void createPostsBulkRequest_LargeBatch_ShouldScaleBudgetWithBatchSize() throws Exception {
+        perform(post("/api/posts/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userId\": " + author.getId() + ", \"posts\": "
+                        + bulkPosts(12) + "}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(QUERY_BUDGET_HEADER, "28"));
+    }
+
+    @Test
+    void updatePost_ShouldStayWithinBudget() throws Exception {
+        perform(put("/api/posts/{id}", posts.get(0).getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"title": "Updated title", "content": "Updated content here",
+                         "categoryNames": ["Science"]}
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoryNames[0]").value("Science"));
+    }
+
+    @Test
+    void addCategoryToPost_ShouldStayWithinBudget() throws Exception {
+        perform(post("/api/posts/{postId}/categories/{categoryId}",
+                posts.get(0).getId(), science.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.categoryNames.length()").value(3));
+    }
+
+    @Test
+    void deletePost_ShouldStayWithinBudget() throws Exception {
+        perform(delete("/api/posts/{id}", posts.get(0).getId()))
+                .andExpect(status().isNoContent());
+    }
+
+    /**
+     * JSON-массив постов, у каждого из которых своя новая категория.
+     */
+    private static String bulkPosts(int count) {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add("{\"title\": \"Bulk post " + i + "\", \"content\": \"Bulk content "
+                    + i + "\", \"categoryNames\": [\"Technology\", \"Topic " + i + "\"]}");
+        }
+        return "[" + String.join(", ", items) + "]";
+    }
+
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(header().exists(QUERY_BUDGET_HEADER))
+                .andExpect(header().exists(SQL_COUNT_HEADER));
+    }
+}
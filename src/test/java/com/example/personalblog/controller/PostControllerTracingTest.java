@@ -0,0 +1,53 @@
+package com.example.personalblog.controller;
+
+import com.example.personalblog.cache.CacheService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.personalblog.tracing.TracingFilter.SERVER_TIMING_HEADER;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверяет, что при трассировке каждого запроса {@code GET /api/posts} проходит
+ * через все слои и время каждого слоя попадает в {@code Server-Timing}.
+ */
+@SpringBootTest(properties = {
+        "blog.tracing.sample-rate=1",
+        "blog.tracing.exporter=none"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PostControllerTracingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheService cacheService;
+
+    @BeforeEach
+    void setUp() {
+        cacheService.invalidateByPrefix("");
+    }
+
+    @Test
+    void getPosts_ReportsTimePerLayer() throws Exception {
+        mockMvc.perform(get("/api/posts"))
+                .andExpect(status().is2xxSuccessful())
+                .andExpect(header().string(SERVER_TIMING_HEADER, allOf(
+                        containsString("controller;dur="),
+                        containsString("service;dur="),
+                        containsString("cache;dur="),
+                        containsString("repository;dur="),
+                        containsString("total;dur="))));
+    }
+}
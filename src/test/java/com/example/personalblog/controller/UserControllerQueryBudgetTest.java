@@ -0,0 +1,159 @@
+package com.example.personalblog.controller;
+
+import com.example.personalblog.cache.CacheService;
+import com.example.personalblog.model.Category;
+import com.example.personalblog.model.Post;
+import com.example.personalblog.model.User;
+import com.example.personalblog.repository.CategoryRepository;
+import com.example.personalblog.repository.PostRepository;
+import com.example.personalblog.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.example.personalblog.monitoring.RequestStatsFilter.QUERY_BUDGET_HEADER;
+import static com.example.personalblog.monitoring.RequestStatsFilter.SQL_COUNT_HEADER;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверяет бюджеты SQL-запросов маршрутов пользователей. При превышении бюджета
+ * {@code RequestStatsFilter} завершает запрос исключением, и тест падает.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserControllerQueryBudgetTest {
+
+    private static final int USER_COUNT = 5;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CacheService cacheService;
+
+    private List<User> users;
+
+    @BeforeEach
+    void setUp() {
+        cacheService.invalidateByPrefix("");
+        Category technology = new Category();
+        technology.setName("Technology");
+        categoryRepository.save(technology);
+
+        users = new ArrayList<>();
+        for (int i = 0; i < USER_COUNT; i++) {
+            User user = new User();
+            user.setUsername("budget_user_" + i);
+            user.setVisibleName("Budget User " + i);
+            user.setEmail("user" + i + "@example.com");
+            users.add(user);
+        }
+        users = userRepository.saveAll(users);
+
+        List<Post> posts = new ArrayList<>();
+        for (User user : users) {
+            for (int i = 0; i < 2; i++) {
+                Post post = new Post();
+                post.setTitle("Post " + i + " of " + user.getUsername());
+                post.setContent("Content of post " + i);
+                post.setAuthor(user);
+                post.setCategories(new HashSet<>(Set.of(technology)));
+                posts.add(post);
+            }
+        }
+        postRepository.saveAll(posts);
+    }
+
+    @AfterEach
+    void tearDown() {
+        postRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheService.invalidateByPrefix("");
+    }
+
+    @Test
+    void getUsers_ShouldStayWithinBudget() throws Exception {
+        perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(USER_COUNT));
+    }
+
+    @Test
+    void getUsersByPostCategory_ShouldStayWithinBudget() throws Exception {
+        perform(get("/api/users").param("withCategory", "Technology"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(USER_COUNT));
+    }
+
+    @Test
+    void getUserById_ShouldStayWithinBudget() throws Exception {
+        perform(get("/api/users/{id}", users.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("budget_user_0"));
+    }
+
+    @Test
+    void createUser_ShouldStayWithinBudget() throws Exception {
+        perform(post("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"visibleName": "New User", "username": "new_user",
+                         "email": "new@example.com"}
+                        """))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void updateUser_ShouldStayWithinBudget() throws Exception {
+        perform(put("/api/users/{id}", users.get(0).getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"visibleName": "Renamed User", "username": "renamed_user",
+                         "email": "renamed@example.com"}
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("renamed_user"));
+    }
+
+    @Test
+    void deleteUser_ShouldRemovePostsWithinBudget() throws Exception {
+        perform(delete("/api/users/{id}", users.get(0).getId()))
+                .andExpect(status().isNoContent());
+    }
+
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        return mockMvc.perform(request)
+                .andExpect(header().exists(QUERY_BUDGET_HEADER))
+                .andExpect(header().exists(SQL_COUNT_HEADER));
+    }
+}
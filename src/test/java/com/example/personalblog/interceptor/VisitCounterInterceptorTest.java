@@ -0,0 +1,137 @@
+package com.example.personalblog.interceptor;
+
+import com.example.personalblog.config.MetricsConfig;
+import com.example.personalblog.service.TrendingPostService;
+import com.example.personalblog.service.VisitCounterService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.lang.Nullable;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class VisitCounterInterceptorTest {
+
+    @Mock
+    private VisitCounterService visitCounterService;
+
+    @Mock
+    private TrendingPostService trendingPostService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void preHandle_ShouldCountIncludedRoute() {
+        VisitCounterInterceptor interceptor = interceptor(List.of("/api/**"), List.of());
+
+        handle(interceptor, "/api/posts/1", "/api/posts/{id}");
+
+        verify(visitCounterService).incrementVisit("/api/posts/1");
+        assertThat(visits("/api/posts/{id}")).isEqualTo(1.0);
+    }
+
+    @Test
+    void preHandle_ShouldSkipRouteOutsideIncludes() {
+        VisitCounterInterceptor interceptor = interceptor(List.of("/api/**"), List.of());
+
+        handle(interceptor, "/actuator/health", "/actuator/health");
+
+        verify(visitCounterService, never()).incrementVisit(anyString());
+        assertThat(meterRegistry.find("blog.visits").counters()).isEmpty();
+    }
+
+    @Test
+    void preHandle_ShouldSkipExcludedRoute() {
+        VisitCounterInterceptor interceptor =
+                interceptor(List.of("/api/**"), List.of("/api/admin/**"));
+
+        handle(interceptor, "/api/admin/logs", "/api/admin/logs");
+
+        verify(visitCounterService, never()).incrementVisit(anyString());
+    }
+
+    @Test
+    void preHandle_ShouldMatchExcludesAgainstRouteTemplate() {
+        VisitCounterInterceptor interceptor =
+                interceptor(List.of("/api/**"), List.of("/api/posts/1"));
+
+        handle(interceptor, "/api/posts/1", "/api/posts/{id}");
+
+        // Конкретный путь не совпадает с шаблоном маршрута
+        verify(visitCounterService).incrementVisit("/api/posts/1");
+    }
+
+    @Test
+    void preHandle_ShouldReuseCachedDecisionPerRouteTemplate() {
+        VisitCounterInterceptor interceptor = interceptor(List.of("/api/**"), List.of());
+
+        handle(interceptor, "/api/posts/1", "/api/posts/{id}");
+        handle(interceptor, "/api/posts/2", "/api/posts/{id}");
+
+        verify(visitCounterService).incrementVisit("/api/posts/1");
+        verify(visitCounterService).incrementVisit("/api/posts/2");
+        assertThat(meterRegistry.find("blog.visits").counters()).hasSize(1);
+        assertThat(visits("/api/posts/{id}")).isEqualTo(2.0);
+    }
+
+    @Test
+    void preHandle_WithoutRouteTemplate_ShouldMatchRequestPath() {
+        VisitCounterInterceptor interceptor =
+                interceptor(List.of("/api/**"), List.of("/api/admin/**"));
+
+        handle(interceptor, "/api/static/file.txt", null);
+        handle(interceptor, "/api/admin/file.txt", null);
+
+        verify(visitCounterService).incrementVisit("/api/static/file.txt");
+        verify(visitCounterService, never()).incrementVisit("/api/admin/file.txt");
+        assertThat(visits("UNMATCHED")).isEqualTo(1.0);
+    }
+
+    @Test
+    void preHandle_ShouldCountRequestOnlyOnce() {
+        VisitCounterInterceptor interceptor = interceptor(List.of("/api/**"), List.of());
+        MockHttpServletRequest request = request("/api/posts/1", "/api/posts/{id}");
+
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        verify(visitCounterService).incrementVisit("/api/posts/1");
+    }
+
+    private VisitCounterInterceptor interceptor(List<String> includes, List<String> excludes) {
+        return new VisitCounterInterceptor(visitCounterService, trendingPostService,
+                meterRegistry, includes, excludes);
+    }
+
+    private void handle(VisitCounterInterceptor interceptor, String uri,
+                        @Nullable String route) {
+        interceptor.preHandle(request(uri, route), new MockHttpServletResponse(), new Object());
+    }
+
+    private static MockHttpServletRequest request(String uri, @Nullable String route) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        if (route != null) {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+        }
+        return request;
+    }
+
+    private double visits(String route) {
+        Counter counter = meterRegistry.find("blog.visits")
+                .tag(MetricsConfig.ROUTE_TAG, route)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.personalblog.logs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogFileIndexTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path logFile;
+    private String content;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int day = 1; day <= 3; day++) {
+            for (int hour = 0; hour < 24; hour++) {
+                builder.append(String.format(
+                        "2024-05-%02dT%02d:00:00.000+03:00  INFO 1 --- [main] c.e.Test : line%n",
+                        day, hour));
+                if (hour == 12) {
+                    builder.append("java.lang.IllegalStateException: boom")
+                            .append(System.lineSeparator())
+                            .append("\tat com.example.Test.run(Test.java:1)")
+                            .append(System.lineSeparator());
+                }
+            }
+        }
+        content = builder.toString();
+        logFile = tempDir.resolve("app.log");
+        Files.writeString(logFile, content);
+    }
+
+    @Test
+    void findRange_ShouldReturnWholeDayIncludingContinuationLines() throws IOException {
+        String day = slice("2024-05-02", "2024-05-03");
+
+        assertThat(day).startsWith("2024-05-02T00:00");
+        assertThat(day).contains("\tat com.example.Test.run");
+        assertThat(day.lines().filter(line -> line.startsWith("2024-05-02"))).hasSize(24);
+        assertThat(day.lines().filter(line -> line.startsWith("2024-05-0")))
+                .allMatch(line -> line.startsWith("2024-05-02"));
+    }
+
+    @Test
+    void findRange_ShouldSupportHourPrecision() throws IOException {
+        String hours = slice("2024-05-03T05", "2024-05-03T07");
+
+        assertThat(hours.lines()).hasSize(2);
+        assertThat(hours).startsWith("2024-05-03T05:00");
+    }
+
+    @Test
+    void findRange_ShouldBeEmptyOutsideOfFile() throws IOException {
+        assertThat(slice("2024-04-01", "2024-04-02")).isEmpty();
+        assertThat(slice("2024-06-01", "2024-06-02")).isEmpty();
+    }
+
+    @Test
+    void findFirstAtOrAfter_ShouldReturnZeroForEarlierKey() throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            assertThat(LogFileIndex.findFirstAtOrAfter(channel, "2000-01-01")).isZero();
+            assertThat(LogFileIndex.findFirstAtOrAfter(channel, "2100-01-01"))
+                    .isEqualTo(channel.size());
+        }
+    }
+
+    private String slice(String fromKey, String toKey) throws IOException {
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.READ)) {
+            long[] range = LogFileIndex.findRange(channel, fromKey, toKey);
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            return new String(bytes, (int) range[0], (int) (range[1] - range[0]),
+                    StandardCharsets.UTF_8);
+        }
+    }
+}
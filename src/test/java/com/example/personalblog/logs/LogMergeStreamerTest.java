@@ -0,0 +1,107 @@
+package com.example.personalblog.logs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogMergeStreamerTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 5, 1);
+
+    @TempDir
+    Path tempDir;
+
+    private LogSliceLocator locator;
+    private LogMergeStreamer streamer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path archive = Files.createDirectory(tempDir.resolve("archive"));
+        gzip(archive.resolve("personal-blog-2024-05-01.0.log.gz"),
+                "2024-05-01T00:00:01 INFO first\n"
+                        + "2024-05-01T00:00:03 ERROR boom\n\tat Foo.bar\n");
+        gzip(archive.resolve("personal-blog-2024-04-30.0.log.gz"),
+                "2024-04-30T23:59:59 INFO yesterday\n"
+                        + "2024-05-01T00:00:00 INFO late flush\n");
+        Files.writeString(archive.resolve("personal-blog-01.05.2024.1.log"),
+                "2024-05-01T00:00:02 INFO legacy\n");
+        Files.writeString(archive.resolve("unrelated.log"), "2024-05-01T00:00:09 INFO x\n");
+        Files.writeString(tempDir.resolve("app.log"),
+                "2024-05-01T00:00:04 INFO current\n2024-05-02T00:00:00 INFO tomorrow\n");
+
+        locator = new LogSliceLocator(tempDir.resolve("app.log").toString(),
+                archive.toString(), 2);
+        streamer = new LogMergeStreamer(locator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        locator.shutdown();
+    }
+
+    @Test
+    void discover_ShouldFindRolledSegmentsForRange() throws IOException {
+        List<LogSegment> segments = locator.discover(DATE, DATE.plusDays(1));
+
+        assertThat(segments).extracting(segment -> segment.getFile().getFileName().toString())
+                .containsExactly("personal-blog-2024-05-01.0.log.gz",
+                        "personal-blog-01.05.2024.1.log", "app.log");
+        assertThat(segments.get(0).isCompressed()).isTrue();
+        assertThat(segments.get(2).isActive()).isTrue();
+    }
+
+    @Test
+    void locate_ShouldSearchPlainSegmentsAndKeepCompressedWhole() throws IOException {
+        List<LogSlice> slices = locator.locate(DATE);
+
+        assertThat(slices).hasSize(3);
+        assertThat(slices.get(0).getFirstTimestamp()).isEqualTo("2024-05-01T00:00:02");
+        assertThat(slices.get(1).getFirstTimestamp()).isEqualTo("2024-05-01T00:00:04");
+        assertThat(slices.get(1).length()).isEqualTo(33);
+        assertThat(slices.get(2).isCompressed()).isTrue();
+    }
+
+    @Test
+    void stream_ShouldMergeSegmentsInTimestampOrder() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        streamer.stream(locator.locate(DATE), "2024-05-01", "2024-05-02", out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+                "2024-05-01T00:00:01 INFO first\n"
+                        + "2024-05-01T00:00:02 INFO legacy\n"
+                        + "2024-05-01T00:00:03 ERROR boom\n\tat Foo.bar\n"
+                        + "2024-05-01T00:00:04 INFO current\n");
+    }
+
+    @Test
+    void stream_ShouldFilterCompressedSegmentByRange() throws IOException {
+        Path file = tempDir.resolve("archive/personal-blog-2024-04-30.0.log.gz");
+        LogSlice slice = new LogSlice(file, "id", 0, Files.size(file), true, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        streamer.stream(List.of(slice), "2024-05-01", "2024-05-02", out);
+
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("2024-05-01T00:00:00 INFO late flush\n");
+    }
+
+    private static void gzip(Path file, String content) throws IOException {
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
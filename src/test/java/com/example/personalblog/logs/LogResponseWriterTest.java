@@ -0,0 +1,158 @@
+package com.example.personalblog.logs;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class LogResponseWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final LogResponseWriter writer = new LogResponseWriter(null);
+    private List<LogSlice> slices;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path first = tempDir.resolve("first.log");
+        Path second = tempDir.resolve("second.log");
+        Files.writeString(first, "xxABCDEyy");
+        Files.writeString(second, "FGHIJ");
+        slices = List.of(new LogSlice(first, "1", 2, 7), new LogSlice(second, "2", 0, 5));
+    }
+
+    @Test
+    void write_ShouldStreamConcatenatedSlices() throws IOException {
+        MockHttpServletResponse response = write(null, null);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("ABCDEFGHIJ");
+        assertThat(response.getContentLengthLong()).isEqualTo(10);
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+    }
+
+    @Test
+    void write_ShouldServeRangeAcrossSlices() throws IOException {
+        MockHttpServletResponse response = write("bytes=3-6", null);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("DEFG");
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 3-6/10");
+    }
+
+    @Test
+    void write_ShouldServeSuffixRange() throws IOException {
+        MockHttpServletResponse response = write("bytes=-3", null);
+
+        assertThat(response.getContentAsString()).isEqualTo("HIJ");
+    }
+
+    @Test
+    void write_ShouldRejectUnsatisfiableRange() throws IOException {
+        MockHttpServletResponse response = write("bytes=20-30", null);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void write_ShouldCompressWhenClientAcceptsGzip() throws IOException {
+        MockHttpServletResponse response = write(null, "gzip, deflate");
+
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        try (GZIPInputStream in = new GZIPInputStream(
+                new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("ABCDEFGHIJ");
+        }
+    }
+
+    @Test
+    void write_ShouldUseSendfileForSingleSliceWhenSupported() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(slices.subList(0, 1), "logs.log", "bytes=1-2", null, request, response);
+
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(3L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(5L);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void writeMerged_ShouldServeRangeOverMergedStream() throws IOException {
+        MockHttpServletResponse response = writeMerged("bytes=3-6");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("DEFG");
+        assertThat(response.getContentLengthLong()).isEqualTo(4);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes 3-6/10");
+        assertThat(response.getHeader("Accept-Ranges")).isEqualTo("bytes");
+    }
+
+    @Test
+    void writeMerged_ShouldServeSuffixRange() throws IOException {
+        MockHttpServletResponse response = writeMerged("bytes=-3");
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("HIJ");
+    }
+
+    @Test
+    void writeMerged_ShouldRejectUnsatisfiableRange() throws IOException {
+        MockHttpServletResponse response = writeMerged("bytes=20-30");
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader("Content-Range")).isEqualTo("bytes */10");
+    }
+
+    @Test
+    void writeMerged_WithoutRange_ShouldStreamWholeMergedLog() throws IOException {
+        MockHttpServletResponse response = writeMerged(null);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsString()).isEqualTo("ABCDEFGHIJ");
+    }
+
+    private MockHttpServletResponse writeMerged(String range) throws IOException {
+        LogMergeStreamer streamer = mock(LogMergeStreamer.class);
+        doAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(3);
+            out.write("ABCDE".getBytes(StandardCharsets.UTF_8));
+            out.write("FGHIJ".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            return null;
+        }).when(streamer).stream(anyList(), anyString(), anyString(), any());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        new LogResponseWriter(streamer).writeMerged(slices, "2024-05-01", "2024-05-02",
+                "logs.log", range, null, response);
+        return response;
+    }
+
+    private MockHttpServletResponse write(String range, String acceptEncoding)
+            throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        writer.write(slices, "logs.log", range, acceptEncoding,
+                new MockHttpServletRequest(), response);
+        return response;
+    }
+}
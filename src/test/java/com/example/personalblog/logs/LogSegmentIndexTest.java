@@ -0,0 +1,113 @@
+package com.example.personalblog.logs;
+
+import com.example.personalblog.dto.LogDaySummary;
+import com.example.personalblog.dto.LogEntryDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+class LogSegmentIndexTest {
+
+    private static final LocalDate DATE = LocalDate.of(2024, 5, 1);
+
+    @TempDir
+    Path tempDir;
+
+    private Path activeLog;
+    private Path store;
+    private LogSliceLocator locator;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path archive = Files.createDirectory(tempDir.resolve("archive"));
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(
+                archive.resolve("personal-blog-2024-05-01.0.log.gz")))) {
+            out.write((line("2024-05-01T10:00:00", "INFO", "Started")
+                    + line("2024-05-01T10:01:00", "ERROR", "Post 17 not found")
+                    + "java.lang.IllegalStateException: boom\n"
+                    + line("2024-05-01T10:02:00", "ERROR", "Post 42 not found"))
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        activeLog = tempDir.resolve("app.log");
+        Files.writeString(activeLog, line("2024-05-01T23:59:00", "WARN", "Late")
+                + line("2024-05-02T00:00:01", "INFO", "Next day"));
+        store = tempDir.resolve("index.json");
+        locator = new LogSliceLocator(activeLog.toString(), archive.toString(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        locator.shutdown();
+    }
+
+    @Test
+    void refresh_ShouldSummarizeDayAcrossSegments() {
+        LogSegmentIndex index = index();
+        index.refresh();
+
+        LogDaySummary summary = index.getDaySummary(DATE).orElseThrow();
+        assertThat(summary.getRecords()).isEqualTo(4);
+        assertThat(summary.getLevels()).containsEntry("INFO", 1L)
+                .containsEntry("ERROR", 2L)
+                .containsEntry("WARN", 1L);
+        assertThat(summary.getErrors())
+                .containsExactly(entry("c.e.p.Service: Post # not found", 2L));
+        assertThat(summary.getFirstTimestamp()).isEqualTo("2024-05-01T10:00:00");
+        assertThat(summary.getLastTimestamp()).isEqualTo("2024-05-01T23:59:00");
+        assertThat(summary.getPreview()).extracting(LogEntryDto::getMessage)
+                .containsExactly("Started", "Post 17 not found", "Post 42 not found", "Late");
+        assertThat(index.getDaySummary(DATE.plusDays(1)).orElseThrow().getRecords())
+                .isEqualTo(1);
+        assertThat(index.getDaySummary(DATE.minusDays(1))).isEmpty();
+    }
+
+    @Test
+    void refresh_ShouldIndexAppendedRecordsIncrementally() throws IOException {
+        LogSegmentIndex index = index();
+        index.refresh();
+
+        Files.writeString(activeLog, line("2024-05-02T00:00:02", "ERROR", "Failed")
+                + "2024-05-02T00:00:03 INFO partial", StandardOpenOption.APPEND);
+        index.refresh();
+
+        LogDaySummary summary = index.getDaySummary(DATE.plusDays(1)).orElseThrow();
+        assertThat(summary.getRecords()).isEqualTo(2);
+        assertThat(summary.getLevels()).containsEntry("ERROR", 1L);
+    }
+
+    @Test
+    void flush_ShouldPersistSummariesForNextStart() {
+        LogSegmentIndex index = index();
+        index.refresh();
+        assertThat(store).exists();
+
+        LogSegmentIndex reloaded = index();
+        reloaded.load();
+
+        LogDaySummary summary = reloaded.getDaySummary(DATE).orElseThrow();
+        assertThat(summary.getRecords()).isEqualTo(4);
+        assertThat(summary.getPreview()).hasSize(4);
+    }
+
+    private LogSegmentIndex index() {
+        return new LogSegmentIndex(locator, new ObjectMapper(), store.toString());
+    }
+
+    private static String line(String timestamp, String level, String message) {
+        return timestamp + " " + level + " 1 --- [blog] [main] c.e.p.Service : " + message + "\n";
+    }
+}
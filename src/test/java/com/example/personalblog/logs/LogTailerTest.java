@@ -0,0 +1,138 @@
+package com.example.personalblog.logs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LogTailerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path file;
+    private SimpleMeterRegistry meterRegistry;
+    private LogTailer tailer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = tempDir.resolve("app.log");
+        Files.writeString(file, "old line\n");
+        meterRegistry = new SimpleMeterRegistry();
+        tailer = new LogTailer(file.toString(), 4, 2, 20, 60_000, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tailer.shutdown();
+    }
+
+    @Test
+    void subscribe_ShouldReceiveOnlyNewLines() throws Exception {
+        CollectingListener listener = new CollectingListener();
+        tailer.subscribe(listener);
+        waitForReader();
+
+        append("first\nsec");
+        append("ond\n");
+
+        assertThat(listener.next()).isEqualTo("first");
+        assertThat(listener.next()).isEqualTo("second");
+    }
+
+    @Test
+    void subscribe_ShouldFollowRotatedFile() throws Exception {
+        CollectingListener listener = new CollectingListener();
+        tailer.subscribe(listener);
+        waitForReader();
+
+        append("before rotation\n");
+        Files.move(file, tempDir.resolve("app.log.1"));
+        Files.writeString(file, "after rotation\n");
+
+        assertThat(listener.next()).isEqualTo("before rotation");
+        assertThat(listener.next()).isEqualTo("after rotation");
+    }
+
+    @Test
+    void subscribe_ShouldDropSlowSubscriber() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CollectingListener slow = new CollectingListener() {
+            @Override
+            public void onLine(String line) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        CollectingListener fast = new CollectingListener();
+        tailer.subscribe(slow);
+        tailer.subscribe(fast);
+        waitForReader();
+
+        for (int i = 0; i < 10; i++) {
+            append("line " + i + "\n");
+            assertThat(fast.next()).isEqualTo("line " + i);
+        }
+        release.countDown();
+
+        assertThat(slow.closed.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(meterRegistry.get("blog.logs.tail.dropped").counter().count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.get("blog.logs.tail.subscribers").gauge().value())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void subscribe_ShouldRejectTooManySubscribers() {
+        tailer.subscribe(new CollectingListener());
+        tailer.subscribe(new CollectingListener());
+
+        assertThatThrownBy(() -> tailer.subscribe(new CollectingListener()))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    private void append(String text) throws IOException {
+        Files.writeString(file, text, StandardOpenOption.APPEND);
+    }
+
+    private static void waitForReader() throws InterruptedException {
+        // Читатель начинает с конца файла при первом открытии
+        Thread.sleep(100);
+    }
+
+    private static class CollectingListener implements LogTailer.Listener {
+        private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        private final CountDownLatch closed = new CountDownLatch(1);
+
+        @Override
+        public void onLine(String line) {
+            lines.add(line);
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+
+        String next() throws InterruptedException {
+            return lines.poll(5, TimeUnit.SECONDS);
+        }
+    }
+}
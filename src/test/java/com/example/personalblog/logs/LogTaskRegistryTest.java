@@ -0,0 +1,173 @@
+package com.example.personalblog.logs;
+
+import com.example.personalblog.dto.LogTaskInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogTaskRegistryTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private MutableClock clock;
+    private LogTaskRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-05-01T10:00:00Z"));
+        registry = new LogTaskRegistry(objectMapper, Duration.ofMinutes(10), 3, null, clock);
+    }
+
+    @Test
+    void transition_ShouldApplyOnlyFromExpectedStatus() {
+        assertThat(registry.register("a", "2024-05-01").getStatus())
+                .isEqualTo(LogTaskStatus.PENDING);
+
+        assertThat(registry.transition("a", LogTaskStatus.PENDING,
+                LogTaskStatus.IN_PROGRESS, UnaryOperator.identity())).isTrue();
+        assertThat(registry.transition("a", LogTaskStatus.IN_PROGRESS,
+                LogTaskStatus.COMPLETED, UnaryOperator.identity())).isTrue();
+        assertThat(registry.transition("a", LogTaskStatus.IN_PROGRESS,
+                LogTaskStatus.FAILED, UnaryOperator.identity())).isFalse();
+
+        LogTaskInfo task = registry.get("a").orElseThrow();
+        assertThat(task.getStatus()).isEqualTo(LogTaskStatus.COMPLETED);
+        assertThat(task.getFinishedAt()).isEqualTo(clock.instant());
+    }
+
+    @Test
+    void removeExpired_ShouldDropOnlyFinishedTasksPastTtl() {
+        registry.register("done", "2024-05-01");
+        registry.register("running", "2024-05-01");
+        complete("done");
+
+        clock.advance(Duration.ofMinutes(11));
+        registry.removeExpired();
+
+        assertThat(registry.get("done")).isEmpty();
+        assertThat(registry.get("running")).isPresent();
+    }
+
+    @Test
+    void register_ShouldEvictOldestFinishedTaskWhenFull() {
+        registry.register("a", "2024-05-01");
+        registry.register("b", "2024-05-02");
+        registry.register("c", "2024-05-03");
+        complete("b");
+        clock.advance(Duration.ofSeconds(1));
+        complete("a");
+
+        registry.register("d", "2024-05-04");
+
+        assertThat(registry.size()).isEqualTo(3);
+        assertThat(registry.get("b")).isEmpty();
+        assertThat(registry.get("a")).isPresent();
+    }
+
+    @Test
+    void register_ShouldNotExceedMaxSizeUnderConcurrentSubmissions() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            // Гонка проявляется не каждый раз, поэтому раундов много
+            for (int round = 0; round < 200; round++) {
+                LogTaskRegistry bounded = new LogTaskRegistry(objectMapper,
+                        Duration.ofMinutes(10), 10, null, clock);
+                for (int i = 0; i < 10; i++) {
+                    bounded.register("old-" + i, "2024-05-01");
+                    bounded.transition("old-" + i, LogTaskStatus.PENDING,
+                            LogTaskStatus.COMPLETED, UnaryOperator.identity());
+                }
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> submissions = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    String logId = "new-" + i;
+                    submissions.add(pool.submit(() -> {
+                        start.await();
+                        return bounded.register(logId, "2024-05-02");
+                    }));
+                }
+                start.countDown();
+                for (Future<?> submission : submissions) {
+                    submission.get(5, TimeUnit.SECONDS);
+                }
+
+                assertThat(bounded.size()).isEqualTo(10);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void flushAndLoad_ShouldRestoreTasksAndFailInterruptedOnes() {
+        Path store = tempDir.resolve("tasks.json");
+        LogTaskRegistry persistent =
+                new LogTaskRegistry(objectMapper, Duration.ofMinutes(10), 10, store, clock);
+        persistent.register("done", "2024-05-01");
+        persistent.register("running", "2024-05-02");
+        LogSlice slice = new LogSlice(tempDir.resolve("app.log"), "id", 10, 20);
+        persistent.transition("done", LogTaskStatus.PENDING, LogTaskStatus.COMPLETED,
+                task -> task.withSlices(List.of(slice)));
+        persistent.flush();
+
+        LogTaskRegistry restored =
+                new LogTaskRegistry(objectMapper, Duration.ofMinutes(10), 10, store, clock);
+        restored.load();
+
+        assertThat(restored.get("done").orElseThrow().getSlices()).containsExactly(slice);
+        assertThat(restored.get("running").orElseThrow().getStatus())
+                .isEqualTo(LogTaskStatus.FAILED);
+    }
+
+    private void complete(String logId) {
+        registry.transition(logId, LogTaskStatus.PENDING, LogTaskStatus.COMPLETED,
+                UnaryOperator.identity());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.personalblog.monitoring;
+
+import com.example.personalblog.cache.CacheWarmer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проверяет группы здоровья для балансировщика и метрики пула соединений,
+ * который скрыт за прокси datasource-proxy.
+ */
+@SpringBootTest(properties = "blog.cache.warmup.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HealthProbesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheWarmer cacheWarmer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void liveness_ShouldBeUp() throws Exception {
+        mockMvc.perform(get("/livez"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"));
+    }
+
+    @Test
+    void readiness_ShouldIncludeDatabaseAndWarmCache() throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!cacheWarmer.isWarm() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.components.db.status").value("UP"))
+                .andExpect(jsonPath("$.components.cacheWarm.status").value("UP"))
+                .andExpect(jsonPath("$.components.readinessState.status").value("UP"));
+    }
+
+    @Test
+    void connectionPoolMetrics_ShouldBePublished() {
+        assertThat(meterRegistry.find("hikaricp.connections.active")
+                .tag("pool", "blog-pool").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.pending").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.idle").gauge()).isNotNull();
+        assertThat(meterRegistry.find("hikaricp.connections.acquire").timer()).isNotNull();
+    }
+}
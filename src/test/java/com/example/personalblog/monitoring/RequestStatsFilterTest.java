@@ -0,0 +1,156 @@
+package com.example.personalblog.monitoring;
+
+import com.example.personalblog.dto.SlowRequestDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestStatsFilterTest {
+
+    private final SlowRequestLog slowRequestLog = new SlowRequestLog(2);
+    private final SqlStatsListener sqlStatsListener = new SqlStatsListener();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void recordsSlowRequestWithSqlStatsAndArguments() throws Exception {
+        RequestStatsFilter filter = filter(Duration.ZERO);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/42");
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain(
+                new HttpServlet() {
+                    @Override
+                    protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                                "/api/posts/{id}");
+                        RequestStats.current().handlerInvoked("PostController.getPostById(..)",
+                                new Object[]{42L});
+                        executeQuery(1);
+                        executeQuery(2);
+                    }
+                }));
+
+        assertThat(RequestStats.current()).isNull();
+        List<SlowRequestDto> slowRequests = slowRequestLog.snapshot();
+        assertThat(slowRequests).hasSize(1);
+        SlowRequestDto slowRequest = slowRequests.get(0);
+        assertThat(slowRequest.getMethod()).isEqualTo("GET");
+        assertThat(slowRequest.getRoute()).isEqualTo("/api/posts/{id}");
+        assertThat(slowRequest.getStatus()).isEqualTo(200);
+        assertThat(slowRequest.getHandler()).isEqualTo("PostController.getPostById(..)");
+        assertThat(slowRequest.getArgs()).isEqualTo("[42]");
+        assertThat(slowRequest.getSqlCount()).isEqualTo(3);
+        assertThat(slowRequest.getDbTimeMs()).isPositive()
+                .isLessThanOrEqualTo(slowRequest.getDurationMs());
+    }
+
+    @Test
+    void skipsFastRequests() throws Exception {
+        RequestStatsFilter filter = filter(Duration.ofMinutes(1));
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/posts"),
+                new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(slowRequestLog.snapshot()).isEmpty();
+    }
+
+    @Test
+    void queriesOutsideRequestAreIgnored() {
+        executeQuery(1);
+
+        assertThat(RequestStats.current()).isNull();
+    }
+
+    @Test
+    void slowRequestLogKeepsNewestEntries() throws Exception {
+        RequestStatsFilter filter = filter(Duration.ZERO);
+
+        for (String uri : List.of("/first", "/second", "/third")) {
+            filter.doFilter(new MockHttpServletRequest("GET", uri),
+                    new MockHttpServletResponse(), new MockFilterChain());
+            Thread.sleep(2);
+        }
+
+        assertThat(slowRequestLog.snapshot())
+                .extracting(SlowRequestDto::getRoute)
+                .containsExactly("/third", "/second");
+    }
+
+    @Test
+    void publishesSqlStatsAsHeadersAndMetrics() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(Duration.ofMinutes(1)).doFilter(new MockHttpServletRequest("GET", "/api/posts"),
+                response, new MockFilterChain(handler(2, 2, "[]")));
+
+        assertThat(response.getHeader(RequestStatsFilter.SQL_COUNT_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(RequestStatsFilter.QUERY_BUDGET_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(RequestStatsFilter.DB_TIME_HEADER)).isNotNull();
+        assertThat(meterRegistry.get("blog.requests.sql.statements")
+                .tag("route", "/api/posts").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get("blog.requests.sql.budget.exceeded")
+                .tag("route", "/api/posts").counter().count()).isZero();
+    }
+
+    @Test
+    void failsWhenQueryBudgetIsExceeded() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThatThrownBy(() -> filter(Duration.ofMinutes(1)).doFilter(
+                new MockHttpServletRequest("GET", "/api/posts"), response,
+                new MockFilterChain(handler(3, 2, null))))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessageContaining("GET /api/posts");
+
+        assertThat(meterRegistry.get("blog.requests.sql.budget.exceeded")
+                .tag("route", "/api/posts").counter().count()).isEqualTo(1);
+        assertThat(response.getHeader(RequestStatsFilter.SQL_COUNT_HEADER)).isEqualTo("3");
+    }
+
+    private RequestStatsFilter filter(Duration threshold) {
+        return new RequestStatsFilter(slowRequestLog, meterRegistry, threshold, true, true);
+    }
+
+    /**
+     * Обработчик {@code /api/posts}, выполняющий {@code statements} SQL-запросов
+     * и затем записывающий тело ответа.
+     */
+    private HttpServlet handler(int statements, int budget, String body) {
+        return new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp)
+                    throws IOException {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/posts");
+                RequestStats.current().setQueryBudget(budget);
+                for (int i = 0; i < statements; i++) {
+                    executeQuery(1);
+                }
+                if (body != null) {
+                    resp.getWriter().write(body);
+                }
+            }
+        };
+    }
+
+    private void executeQuery(int batchSize) {
+        List<QueryInfo> queries = Collections.nCopies(batchSize,
+                new QueryInfo("select 1"));
+        sqlStatsListener.beforeQuery(new ExecutionInfo(), queries);
+        sqlStatsListener.afterQuery(new ExecutionInfo(), queries);
+    }
+}
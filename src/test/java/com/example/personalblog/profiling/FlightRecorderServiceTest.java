@@ -0,0 +1,159 @@
+package com.example.personalblog.profiling;
+
+import com.example.personalblog.cache.CacheService;
+import com.example.personalblog.dto.JfrRecordingInfo;
+import com.example.personalblog.dto.JfrRecordingRequest;
+import com.example.personalblog.exception.ResourceNotFoundException;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FlightRecorderServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private FlightRecorderService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FlightRecorderService(true, tempDir.toString(), 1);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (JfrRecordingInfo info : service.list()) {
+            service.delete(info.getId());
+        }
+    }
+
+    @Test
+    void stop_WritesCacheAccessEventsToRecordingFile() throws IOException {
+        JfrRecordingInfo started = service.start(request("cache"));
+        CacheService cacheService = new CacheService();
+        cacheService.get("post_1");
+        cacheService.put("post_1", "value");
+        cacheService.get("post_1");
+
+        JfrRecordingInfo stopped = service.stop(started.getId());
+
+        assertThat(stopped.getState()).isEqualTo("CLOSED");
+        Path file = service.file(started.getId());
+        assertThat(file).isEqualTo(tempDir.resolve("cache.jfr"));
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName()
+                        .equals("personalblog.CacheAccess"))
+                .filter(event -> "post_1".equals(event.getString("key")))
+                .toList();
+        assertThat(events).extracting(event -> event.getBoolean("hit"))
+                .containsExactly(false, true);
+    }
+
+    @Test
+    void file_DumpsSnapshotOfRunningRecording() throws IOException {
+        JfrRecordingInfo started = service.start(request("running"));
+
+        Path file = service.file(started.getId());
+
+        assertThat(Files.size(file)).isPositive();
+        assertThat(service.get(started.getId()).getState()).isEqualTo("RUNNING");
+    }
+
+    @Test
+    void start_UnknownSettings_ThrowsIllegalArgumentException() {
+        JfrRecordingRequest request = request("unknown");
+        request.setSettings("missing");
+
+        assertThatThrownBy(() -> service.start(request))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("missing");
+    }
+
+    @Test
+    void start_TooManyRunningRecordings_ThrowsConflict() throws IOException {
+        service.start(request("first"));
+
+        assertThatThrownBy(() -> service.start(request("second")))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Too many running JFR recordings");
+    }
+
+    @Test
+    void start_AfterStop_AllowsNewRecording() throws IOException {
+        JfrRecordingInfo first = service.start(request("first"));
+        service.stop(first.getId());
+
+        JfrRecordingInfo second = service.start(request("second"));
+
+        assertThat(service.list()).extracting(JfrRecordingInfo::getId)
+                .containsExactly(first.getId(), second.getId());
+    }
+
+    @Test
+    void start_SensitiveEventsRequested_StaysDisabled() throws IOException {
+        JfrRecordingRequest request = request("sensitive");
+        request.setOptions(Map.of(
+                "jdk.InitialEnvironmentVariable#enabled", "true",
+                "jdk.InitialSystemProperty#enabled", "true",
+                "jdk.JVMInformation#enabled", "true"));
+        JfrRecordingInfo started = service.start(request);
+
+        service.stop(started.getId());
+
+        assertThat(RecordingFile.readAllEvents(service.file(started.getId())))
+                .extracting(event -> event.getEventType().getName())
+                .doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty",
+                        "jdk.JVMInformation");
+    }
+
+    @Test
+    void list_Disabled_ThrowsNotFound() {
+        FlightRecorderService disabled = new FlightRecorderService(false, tempDir.toString(), 1);
+
+        assertThatThrownBy(disabled::list)
+                .isInstanceOfSatisfying(ResponseStatusException.class, e ->
+                        assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+        assertThatThrownBy(() -> disabled.start(request("disabled")))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void get_UnknownId_ThrowsResourceNotFoundException() {
+        assertThatThrownBy(() -> service.get(-1))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void delete_RemovesRecordingAndFile() throws IOException {
+        JfrRecordingInfo started = service.start(request("deleted"));
+        service.stop(started.getId());
+        Path file = tempDir.resolve("deleted.jfr");
+        assertThat(file).exists();
+
+        service.delete(started.getId());
+
+        assertThat(file).doesNotExist();
+        assertThat(service.list()).isEmpty();
+    }
+
+    private static JfrRecordingRequest request(String name) {
+        JfrRecordingRequest request = new JfrRecordingRequest();
+        request.setName(name);
+        request.setOptions(Map.of("personalblog.CacheAccess#enabled", "true"));
+        return request;
+    }
+}
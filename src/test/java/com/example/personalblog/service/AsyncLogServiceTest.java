@@ -0,0 +1,141 @@
+package com.example.personalblog.service;
+
+import com.example.personalblog.dto.LogStatusResponse;
+import com.example.personalblog.logs.LogSegmentIndex;
+import com.example.personalblog.logs.LogSliceLocator;
+import com.example.personalblog.logs.LogTaskRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class AsyncLogServiceTest {
+
+    @Mock
+    private LogSliceLocator logSliceLocator;
+
+    @Mock
+    private LogSegmentIndex logSegmentIndex;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private AsyncLogService asyncLogService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(logSliceLocator.locate(any(LocalDate.class))).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        LogTaskRegistry registry = new LogTaskRegistry(new ObjectMapper(), Duration.ofHours(1),
+                100, "");
+        asyncLogService = new AsyncLogService(logSliceLocator, registry, logSegmentIndex,
+                new SimpleMeterRegistry(), 1, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        asyncLogService.shutdown();
+    }
+
+    @Test
+    void createLogFile_ShouldShareJobForSameDate() throws InterruptedException {
+        String first = asyncLogService.createLogFile("2024-05-01");
+        String second = asyncLogService.createLogFile("2024-05-01");
+
+        assertThat(second).isEqualTo(first);
+        awaitStatus(first, "IN_PROGRESS");
+    }
+
+    @Test
+    void createLogFile_ShouldRegisterQueuedJobBeforeReturningId() {
+        asyncLogService.createLogFile("2024-05-01");
+        String queued = asyncLogService.createLogFile("2024-05-02");
+
+        assertThat(asyncLogService.getLogStatus(queued).getStatus()).isEqualTo("PENDING");
+    }
+
+    @Test
+    void createLogFile_ShouldCompleteJob() throws InterruptedException {
+        release.countDown();
+        String logId = asyncLogService.createLogFile("2024-05-01");
+
+        awaitStatus(logId, "COMPLETED");
+        assertThat(asyncLogService.createLogFile("2024-05-01")).isNotEqualTo(logId);
+    }
+
+    @Test
+    void createLogFile_ShouldRejectWhenQueueIsFull() {
+        asyncLogService.createLogFile("2024-05-01");
+        asyncLogService.createLogFile("2024-05-02");
+
+        assertThatThrownBy(() -> asyncLogService.createLogFile("2024-05-03"))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+
+    @Test
+    void cancelLogJob_ShouldCancelPendingJob() {
+        asyncLogService.createLogFile("2024-05-01");
+        String queued = asyncLogService.createLogFile("2024-05-02");
+
+        assertThat(asyncLogService.cancelLogJob(queued)).isTrue();
+        assertThat(asyncLogService.getLogStatus(queued).getStatus()).isEqualTo("CANCELLED");
+    }
+
+    @Test
+    void cancelLogJob_ShouldNotCancelFinishedJob() throws InterruptedException {
+        release.countDown();
+        String logId = asyncLogService.createLogFile("2024-05-01");
+        awaitStatus(logId, "COMPLETED");
+
+        assertThat(asyncLogService.cancelLogJob(logId)).isFalse();
+        assertThat(asyncLogService.getLogStatus(logId).getStatus()).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void awaitLogStatus_ShouldCompleteWhenJobFinishes() throws Exception {
+        String logId = asyncLogService.createLogFile("2024-05-01");
+        CompletableFuture<LogStatusResponse> status = asyncLogService.awaitLogStatus(logId);
+
+        assertThat(status).isNotDone();
+        release.countDown();
+
+        LogStatusResponse response = status.get(5, TimeUnit.SECONDS);
+        assertThat(response.getStatus()).isEqualTo("COMPLETED");
+        assertThat(response.getSize()).isZero();
+        assertThat(asyncLogService.awaitLogStatus(logId)).isCompleted();
+    }
+
+    @Test
+    void getLogStatus_ShouldReportUnknownTask() {
+        assertThat(asyncLogService.getLogStatus("missing").getStatus()).isEqualTo("NOT_FOUND");
+    }
+
+    private void awaitStatus(String logId, String status) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (status.equals(asyncLogService.getLogStatus(logId).getStatus())) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+        assertThat(asyncLogService.getLogStatus(logId).getStatus()).isEqualTo(status);
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.personalblog.service;
+
+import com.example.personalblog.dto.LogEntryDto;
+import com.example.personalblog.logs.LogQuery;
+import com.example.personalblog.logs.LogSliceLocator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.logging.LogLevel;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LogQueryServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private LogSliceLocator locator;
+    private LogQueryService logQueryService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path archive = Files.createDirectory(tempDir.resolve("archive"));
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(
+                archive.resolve("personal-blog-2024-05-01.0.log.gz")))) {
+            out.write(("2024-05-01T10:00:00.000+03:00  INFO 1 --- [blog] [main] "
+                    + "c.e.p.service.PostService                : Post 1 created\n"
+                    + "2024-05-01T10:05:00.000+03:00 ERROR 1 --- [blog] [main] "
+                    + "c.e.p.service.UserService                : User lookup failed\n"
+                    + "java.lang.IllegalStateException: boom\n"
+                    + "\tat Foo.bar(Foo.java:1)\n").getBytes(StandardCharsets.UTF_8));
+        }
+        Files.writeString(tempDir.resolve("app.log"),
+                "{\"@timestamp\":\"2024-05-01T11:00:00.000+03:00\",\"@version\":\"1\","
+                        + "\"message\":\"Post 2 created\",\"logger_name\":"
+                        + "\"com.example.personalblog.service.PostService\","
+                        + "\"mdc\":{\"user\":\"x\"},\"level\":\"WARN\"}\n"
+                        + "2024-05-01T12:00:00.000+03:00  INFO 1 --- [blog] [main] "
+                        + "c.e.p.service.PostService                : Post 3 created\n");
+
+        locator = new LogSliceLocator(tempDir.resolve("app.log").toString(),
+                archive.toString(), 2);
+        logQueryService = new LogQueryService(locator);
+    }
+
+    @AfterEach
+    void tearDown() {
+        locator.shutdown();
+    }
+
+    @Test
+    void query_ShouldReturnEntriesAcrossSegmentsInOrder() throws IOException {
+        List<LogEntryDto> entries = query(LogQuery.builder().logger("PostService").build());
+
+        assertThat(entries).extracting(LogEntryDto::getMessage)
+                .containsExactly("Post 1 created", "Post 2 created", "Post 3 created");
+        assertThat(entries.get(1).getLevel()).isEqualTo("WARN");
+        assertThat(entries.get(1).getLogger())
+                .isEqualTo("com.example.personalblog.service.PostService");
+    }
+
+    @Test
+    void query_ShouldFilterByLevelAndIncludeStackTrace() throws IOException {
+        List<LogEntryDto> entries = query(LogQuery.builder().level(LogLevel.ERROR).build());
+
+        assertThat(entries).hasSize(1);
+        assertThat(entries.get(0).getLogger()).isEqualTo("c.e.p.service.UserService");
+        assertThat(entries.get(0).getMessage())
+                .startsWith("User lookup failed\n")
+                .contains("IllegalStateException");
+    }
+
+    @Test
+    void query_ShouldFilterByTimeRangeAndRegex() throws IOException {
+        List<LogEntryDto> entries = query(LogQuery.builder()
+                .from(LocalDateTime.of(2024, 5, 1, 10, 1))
+                .to(LocalDateTime.of(2024, 5, 1, 12, 0))
+                .text("Post \\d created")
+                .regex(true)
+                .build());
+
+        assertThat(entries).extracting(LogEntryDto::getTimestamp)
+                .containsExactly("2024-05-01T11:00:00.000+03:00");
+    }
+
+    @Test
+    void query_ShouldStopAtLimit() throws IOException {
+        List<LogEntryDto> entries = query(LogQuery.builder().text("created").limit(2).build());
+
+        assertThat(entries).extracting(LogEntryDto::getMessage)
+                .containsExactly("Post 1 created", "Post 2 created");
+    }
+
+    @Test
+    void query_ShouldStreamMoreMatchesThanQueueCapacityInOrder() throws IOException {
+        StringBuilder previousDay = new StringBuilder();
+        for (int i = 0; i < 600; i++) {
+            previousDay.append(String.format("2024-04-30T10:%02d:%02d.000+03:00  INFO 1 --- "
+                    + "[blog] [main] c.e.p.service.PostService : Post created %d%n",
+                    i / 60, i % 60, i));
+        }
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(
+                tempDir.resolve("archive/personal-blog-2024-04-30.0.log.gz")))) {
+            out.write(previousDay.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        List<LogEntryDto> entries = query(LogQuery.builder()
+                .from(LocalDateTime.of(2024, 4, 30, 0, 0))
+                .text("created")
+                .limit(601)
+                .build());
+
+        assertThat(entries).hasSize(601);
+        assertThat(entries.get(0).getMessage()).isEqualTo("Post created 0");
+        assertThat(entries.get(599).getMessage()).isEqualTo("Post created 599");
+        assertThat(entries.get(600).getMessage()).isEqualTo("Post 1 created");
+    }
+
+    @Test
+    void query_ShouldRejectInvalidQuery() {
+        assertThatThrownBy(() -> query(LogQuery.builder().limit(0).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> query(LogQuery.builder().text("(").regex(true).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private List<LogEntryDto> query(LogQuery query) throws IOException {
+        List<LogEntryDto> entries = new ArrayList<>();
+        logQueryService.query(query, entries::add);
+        return entries;
+    }
+}
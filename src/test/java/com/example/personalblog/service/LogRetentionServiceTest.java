@@ -0,0 +1,116 @@
+package com.example.personalblog.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRetentionServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-06-01T00:00:00Z");
+
+    @TempDir
+    Path logDir;
+
+    private Path archiveDir;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        archiveDir = Files.createDirectory(logDir.resolve("archive"));
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void enforce_ShouldDeleteExpiredFilesPerCategory() throws IOException {
+        Path active = file(logDir, "personal-blog.log", 100, 100);
+        Path oldExtracted = file(logDir, "personal-blog-2024-05-01.log", 100, 8);
+        Path freshExtracted = file(logDir, "personal-blog-2024-05-30.log", 100, 2);
+        Path oldArchive = file(archiveDir, "personal-blog-2024-04-01.0.log.gz", 100, 31);
+        Path freshArchive = file(archiveDir, "personal-blog-2024-05-20.0.log.gz", 100, 12);
+        Path unrelated = file(logDir, "notes.txt", 100, 100);
+
+        service(Long.MAX_VALUE).enforce();
+
+        assertThat(active).exists();
+        assertThat(unrelated).exists();
+        assertThat(oldExtracted).doesNotExist();
+        assertThat(freshExtracted).exists();
+        assertThat(oldArchive).doesNotExist();
+        assertThat(freshArchive).exists();
+        assertThat(cleaned("extracted", "deleted")).isEqualTo(100);
+        assertThat(cleaned("archive", "deleted")).isEqualTo(100);
+    }
+
+    @Test
+    void enforce_ShouldCompressAgedSegmentsKeepingModificationTime() throws IOException {
+        Path segment = file(archiveDir, "personal-blog-01.05.2024.1.log", 10_000, 3);
+        Path recent = file(archiveDir, "personal-blog-31.05.2024.0.log", 10_000, 0);
+
+        service(Long.MAX_VALUE).enforce();
+
+        Path compressed = archiveDir.resolve("personal-blog-01.05.2024.1.log.gz");
+        assertThat(segment).doesNotExist();
+        assertThat(recent).exists();
+        assertThat(Files.getLastModifiedTime(compressed)).isEqualTo(daysAgo(3));
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(compressed))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("x".repeat(10_000));
+        }
+        assertThat(cleaned("main", "compressed")).isGreaterThan(9_000);
+    }
+
+    @Test
+    void enforce_ShouldEvictOldestFilesOverBudget() throws IOException {
+        Path oldest = file(archiveDir, "personal-blog-2024-05-27.0.log.gz", 400, 5);
+        Path older = file(logDir, "personal-blog-2024-05-28.log", 400, 4);
+        Path newer = file(archiveDir, "personal-blog-2024-05-29.0.log.gz", 400, 3);
+        Path active = file(logDir, "personal-blog.log", 400, 0);
+
+        service(900).enforce();
+
+        assertThat(oldest).doesNotExist();
+        assertThat(older).exists();
+        assertThat(newer).exists();
+        assertThat(active).exists();
+        assertThat(meterRegistry.get("blog.logs.retention.run").timer().count()).isEqualTo(1);
+    }
+
+    private LogRetentionService service(long maxTotalBytes) {
+        return new LogRetentionService(logDir, archiveDir, Duration.ofDays(1),
+                Duration.ofDays(30), Duration.ofDays(7), Duration.ofDays(30), maxTotalBytes,
+                meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    private double cleaned(String category, String action) {
+        return meterRegistry.get("blog.logs.retention.cleaned")
+                .tag("category", category)
+                .tag("action", action)
+                .counter().count();
+    }
+
+    private static Path file(Path directory, String name, int size, int ageDays)
+            throws IOException {
+        Path file = Files.writeString(directory.resolve(name), "x".repeat(size));
+        Files.setLastModifiedTime(file, daysAgo(ageDays));
+        return file;
+    }
+
+    private static FileTime daysAgo(int days) {
+        return FileTime.from(NOW.minus(Duration.ofDays(days)));
+    }
+}
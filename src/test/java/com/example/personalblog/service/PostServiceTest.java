@@ -78,7 +78,8 @@ class PostServiceTest {
     @Test
     void createPost_ShouldReturnCreatedPost() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(categoryRepository.findByName("Technology")).thenReturn(Optional.of(testCategory));
+        when(categoryRepository.findByNameIn(Set.of("Technology")))
+                .thenReturn(List.of(testCategory));
         when(postRepository.save(any(Post.class))).thenReturn(testPost);
 
         Post result = postService.createPost(1L, createPostRequest);
@@ -105,7 +106,7 @@ class PostServiceTest {
     @Test
     void createPost_ShouldCreateNewCategoryWhenNotExists() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(categoryRepository.findByName("NewCategory")).thenReturn(Optional.empty());
+        when(categoryRepository.findByNameIn(Set.of("NewCategory"))).thenReturn(List.of());
         when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> {
             Category c = invocation.getArgument(0);
             c.setId(2L);
@@ -143,14 +144,15 @@ class PostServiceTest {
     void createPost_ShouldTrimCategoryNames() {
         createPostRequest.setCategoryNames(List.of("  Technology  "));
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(categoryRepository.findByName("Technology")).thenReturn(Optional.of(testCategory));
+        when(categoryRepository.findByNameIn(Set.of("Technology")))
+                .thenReturn(List.of(testCategory));
         when(postRepository.save(any(Post.class))).thenReturn(testPost);
 
         Post result = postService.createPost(1L, createPostRequest);
 
         assertNotNull(result);
         assertEquals("Technology", result.getCategories().iterator().next().getName());
-        verify(categoryRepository).findByName("Technology");
+        verify(categoryRepository).findByNameIn(Set.of("Technology"));
         verify(cacheService).invalidateByPrefix("posts:");
     }
 
@@ -204,7 +206,8 @@ class PostServiceTest {
         List<CreatePostRequest> requests = List.of(createPostRequest);
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(categoryRepository.findByName("Technology")).thenReturn(Optional.of(testCategory));
+        when(categoryRepository.findByNameIn(Set.of("Technology")))
+                .thenReturn(List.of(testCategory));
         when(postRepository.saveAll(anyList())).thenReturn(List.of(testPost));
 
         List<Post> result = postService.createPostsBulk(1L, requests);
@@ -212,7 +215,7 @@ class PostServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Technology", result.get(0).getCategories().iterator().next().getName());
-        verify(categoryRepository).findByName("Technology");
+        verify(categoryRepository).findByNameIn(Set.of("Technology"));
         verify(cacheService).invalidateByPrefix("posts:");
     }
 
@@ -221,7 +224,8 @@ class PostServiceTest {
         List<CreatePostRequest> requests = List.of(createPostRequest, createPostRequest);
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(categoryRepository.findByName("Technology")).thenReturn(Optional.of(testCategory));
+        when(categoryRepository.findByNameIn(Set.of("Technology")))
+                .thenReturn(List.of(testCategory));
         when(postRepository.saveAll(anyList())).thenReturn(List.of(testPost, testPost));
 
         List<Post> result = postService.createPostsBulk(1L, requests);
@@ -278,8 +282,8 @@ class PostServiceTest {
         secondPost.setCategories(new HashSet<>(Set.of(scienceCategory)));
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(testUser));
-        when(categoryRepository.findByName("Technology")).thenReturn(Optional.of(testCategory));
-        when(categoryRepository.findByName("Science")).thenReturn(Optional.of(scienceCategory));
+        when(categoryRepository.findByNameIn(Set.of("Technology", "Science")))
+                .thenReturn(List.of(testCategory, scienceCategory));
         when(postRepository.saveAll(anyList())).thenReturn(List.of(testPost, secondPost));
 
         List<Post> result = postService.createPostsBulk(1L, List.of(createPostRequest, secondRequest));
@@ -297,7 +301,7 @@ class PostServiceTest {
         updateRequest.setCategoryNames(List.of("NewCategory"));
 
         when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
-        when(categoryRepository.findByName("NewCategory")).thenReturn(Optional.empty());
+        when(categoryRepository.findByNameIn(Set.of("NewCategory"))).thenReturn(List.of());
         when(categoryRepository.save(any(Category.class))).thenAnswer(invocation -> {
             Category c = invocation.getArgument(0);
             c.setId(2L);
@@ -352,7 +356,8 @@ class PostServiceTest {
         updateRequest.setCategoryNames(List.of("Technology"));
 
         when(postRepository.findById(1L)).thenReturn(Optional.of(testPost));
-        when(categoryRepository.findByName("Technology")).thenReturn(Optional.of(testCategory));
+        when(categoryRepository.findByNameIn(Set.of("Technology")))
+                .thenReturn(List.of(testCategory));
         when(postRepository.save(any(Post.class))).thenReturn(testPost);
 
         Post result = postService.updatePost(1L, updateRequest);
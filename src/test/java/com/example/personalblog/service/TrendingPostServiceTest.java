@@ -0,0 +1,161 @@
+package com.example.personalblog.service;
+
+import com.example.personalblog.cache.CacheService;
+import com.example.personalblog.dto.PostDto;
+import com.example.personalblog.dto.TrendingPostDto;
+import com.example.personalblog.model.Post;
+import com.example.personalblog.model.User;
+import com.example.personalblog.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TrendingPostServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private CacheService cacheService;
+
+    private TrendingPostService trendingPostService;
+
+    @BeforeEach
+    void setUp() {
+        trendingPostService = new TrendingPostService(postRepository, cacheService, 60, 2);
+    }
+
+    @Test
+    void getTrending_ShouldBeEmptyBeforeRefresh() {
+        trendingPostService.recordHit(1L);
+
+        assertThat(trendingPostService.getTrending(10)).isEmpty();
+    }
+
+    @Test
+    void refresh_ShouldKeepTopPostsOrderedByScore() {
+        hit(1L, 1);
+        hit(2L, 5);
+        hit(3L, 3);
+        when(postRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(post(2L), post(3L)));
+
+        trendingPostService.refresh();
+
+        List<TrendingPostDto> trending = trendingPostService.getTrending(10);
+        assertThat(trending).extracting(dto -> dto.getPost().getId())
+                .containsExactly(2L, 3L);
+        assertThat(trending.get(0).getScore()).isGreaterThan(trending.get(1).getScore());
+        verify(cacheService).put(eq(TrendingPostService.POST_CACHE_PREFIX + 2), any());
+    }
+
+    @Test
+    void refresh_ShouldUseCachedPostDtos() {
+        hit(1L, 2);
+        PostDto cached = new PostDto();
+        cached.setId(1L);
+        when(cacheService.peek(TrendingPostService.POST_CACHE_PREFIX + 1)).thenReturn(cached);
+
+        trendingPostService.refresh();
+
+        assertThat(trendingPostService.getTrending(10))
+                .extracting(TrendingPostDto::getPost)
+                .containsExactly(cached);
+        verify(postRepository, never()).findAllById(anyIterable());
+        verify(cacheService, never()).get(anyString());
+    }
+
+    @Test
+    void refresh_ShouldDropDeletedPosts() {
+        hit(7L, 1);
+        when(cacheService.peek(anyString())).thenReturn(null);
+        when(postRepository.findAllById(anyIterable())).thenReturn(List.of());
+
+        trendingPostService.refresh();
+
+        assertThat(trendingPostService.getTrending(10)).isEmpty();
+    }
+
+    @Test
+    void getTrending_ShouldRespectLimit() {
+        hit(1L, 2);
+        hit(2L, 1);
+        when(postRepository.findAllById(anyIterable()))
+                .thenReturn(List.of(post(1L), post(2L)));
+
+        trendingPostService.refresh();
+
+        assertThat(trendingPostService.getTrending(1)).hasSize(1);
+        assertThat(trendingPostService.getTrending(-1)).isEmpty();
+    }
+
+    @Test
+    void refresh_ShouldNotLoseOrInflateHitsRecordedDuringRebase() throws Exception {
+        AtomicLong now = new AtomicLong(1_000_000L);
+        trendingPostService = new TrendingPostService(postRepository, cacheService, 1, 2,
+                now::get);
+        PostDto cached = new PostDto();
+        cached.setId(1L);
+        when(cacheService.peek(anyString())).thenReturn(cached);
+        // Через 30 периодов полураспада показатель превышает порог и эпоха переносится
+        now.addAndGet(TimeUnit.MINUTES.toMillis(30));
+
+        int threads = 4;
+        int hitsPerThread = 50_000;
+        CountDownLatch started = new CountDownLatch(threads);
+        List<Thread> writers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread writer = new Thread(() -> {
+                started.countDown();
+                hit(1L, hitsPerThread);
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        started.await();
+        trendingPostService.refresh();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        trendingPostService.refresh();
+
+        // В момент now каждый просмотр весит ровно 1 независимо от эпохи, в которой записан
+        assertThat(trendingPostService.getTrending(1).get(0).getScore())
+                .isCloseTo(threads * hitsPerThread, within(1e-3 * threads * hitsPerThread));
+    }
+
+    private void hit(Long postId, int times) {
+        for (int i = 0; i < times; i++) {
+            trendingPostService.recordHit(postId);
+        }
+    }
+
+    private Post post(Long id) {
+        User author = new User();
+        author.setUsername("author");
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("Post " + id);
+        post.setAuthor(author);
+        return post;
+    }
+}
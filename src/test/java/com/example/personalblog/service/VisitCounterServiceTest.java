@@ -0,0 +1,132 @@
+package com.example.personalblog.service;
+
+import com.example.personalblog.dto.VisitCountDto;
+import com.example.personalblog.dto.VisitCountPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VisitCounterServiceTest {
+
+    private VisitCounterService visitCounterService;
+
+    @BeforeEach
+    void setUp() {
+        visitCounterService = new VisitCounterService(1000, 10, 2.0);
+        visit("/api/posts/1", 5);
+        visit("/api/posts/2", 3);
+        visit("/api/posts/3", 7);
+        visit("/api/users/1", 10);
+    }
+
+    @Test
+    void getVisits_ShouldReturnCountOrZero() {
+        assertThat(visitCounterService.getVisits("/api/posts/1"))
+                .isEqualTo(new VisitCountDto("/api/posts/1", 5, 0));
+        assertThat(visitCounterService.getVisits("/unknown").getCount()).isZero();
+    }
+
+    @Test
+    void getVisitsPage_ShouldSortByCountDescending() {
+        VisitCountPage page = visitCounterService.getVisitsPage(null, 0, 10);
+
+        assertThat(page.getContent()).extracting(VisitCountDto::getUrl)
+                .containsExactly("/api/users/1", "/api/posts/3", "/api/posts/1", "/api/posts/2");
+        assertThat(page.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void getVisitsPage_ShouldFilterByPrefixAndPaginate() {
+        VisitCountPage page = visitCounterService.getVisitsPage("/api/posts", 1, 2);
+
+        assertThat(page.getContent()).extracting(VisitCountDto::getUrl)
+                .containsExactly("/api/posts/2");
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void getVisitsPage_ShouldReturnEmptyPageBeyondRange() {
+        VisitCountPage page = visitCounterService.getVisitsPage(null, 5, 2);
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void getVisitsPage_ShouldReturnEmptyPageForHugePageIndex() {
+        VisitCountPage page = visitCounterService.getVisitsPage(null, Integer.MAX_VALUE, 100);
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isEqualTo(4);
+    }
+
+    @Test
+    void getVisitsPage_ShouldRejectInvalidPageParameters() {
+        assertThatThrownBy(() -> visitCounterService.getVisitsPage(null, -1, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> visitCounterService.getVisitsPage(null, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> visitCounterService.getVisitsPage(
+                null, 0, VisitCounterService.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void forEachVisit_ShouldVisitMatchingSnapshots() {
+        List<VisitCountDto> visits = new ArrayList<>();
+
+        visitCounterService.forEachVisit("/api/users", visits::add);
+
+        assertThat(visits).containsExactly(new VisitCountDto("/api/users/1", 10, 0));
+    }
+
+    @Test
+    void updateCountingMode_ShouldSwitchToSamplingAboveThreshold() {
+        visitCounterService.updateCountingMode(1500);
+
+        assertThat(visitCounterService.isSampling()).isTrue();
+    }
+
+    @Test
+    void updateCountingMode_ShouldStayExactBelowThreshold() {
+        visitCounterService.updateCountingMode(900);
+
+        assertThat(visitCounterService.isSampling()).isFalse();
+    }
+
+    @Test
+    void getVisits_ShouldReportEstimateWithErrorWhenSampling() {
+        visit("/hot", 50_000);
+        visitCounterService.updateCountingMode(1500);
+
+        visit("/hot", 100_000);
+
+        VisitCountDto visits = visitCounterService.getVisits("/hot");
+        assertThat(visits.getError()).isPositive();
+        assertThat(visits.getCount()).isBetween(
+                150_000 - 3 * visits.getError(), 150_000 + 3 * visits.getError());
+    }
+
+    @Test
+    void updateCountingMode_ShouldReturnToExactModeWhenLoadDrops() {
+        visitCounterService.updateCountingMode(1500);
+        visitCounterService.updateCountingMode(700);
+
+        assertThat(visitCounterService.isSampling()).isTrue();
+
+        visitCounterService.updateCountingMode(400);
+
+        assertThat(visitCounterService.isSampling()).isFalse();
+    }
+
+    private void visit(String url, int times) {
+        for (int i = 0; i < times; i++) {
+            visitCounterService.incrementVisit(url);
+        }
+    }
+}
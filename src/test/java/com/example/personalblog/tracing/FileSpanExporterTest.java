@@ -0,0 +1,92 @@
+package com.example.personalblog.tracing;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSpanExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path tempDir;
+
+    @AfterEach
+    void tearDown() {
+        Trace.end();
+    }
+
+    @Test
+    void export_AppendsOneOtlpJsonLinePerBatch() throws IOException {
+        Path file = tempDir.resolve("traces/traces.jsonl");
+        FileSpanExporter exporter = new FileSpanExporter(file, objectMapper, "personalblog",
+                1024 * 1024, 1);
+        Trace trace = Trace.start(null, "00f067aa0ba902b7");
+        Span root = trace.startSpan("GET /api/posts", SpanLayer.HTTP);
+        root.setAttribute("http.response.status_code", 500);
+        Span cache = trace.startSpan("CacheService.get", SpanLayer.CACHE);
+        trace.endSpan(cache, false);
+        trace.endSpan(root, true);
+
+        exporter.export(List.of(trace));
+        exporter.export(List.of(trace));
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        JsonNode resourceSpans = objectMapper.readTree(lines.get(0)).get("resourceSpans").get(0);
+        assertThat(resourceSpans.at("/resource/attributes/0/key").asText())
+                .isEqualTo("service.name");
+        assertThat(resourceSpans.at("/resource/attributes/0/value/stringValue").asText())
+                .isEqualTo("personalblog");
+        JsonNode spans = resourceSpans.at("/scopeSpans/0/spans");
+        assertThat(spans).hasSize(2);
+
+        JsonNode cacheSpan = spans.get(0);
+        JsonNode rootSpan = spans.get(1);
+        assertThat(cacheSpan.get("traceId").asText()).isEqualTo(trace.getTraceId());
+        assertThat(cacheSpan.get("parentSpanId").asText()).isEqualTo(root.getSpanId());
+        assertThat(cacheSpan.get("kind").asInt()).isEqualTo(1);
+        assertThat(cacheSpan.has("status")).isFalse();
+        assertThat(rootSpan.get("spanId").asText()).isEqualTo(root.getSpanId()).hasSize(16);
+        assertThat(rootSpan.get("parentSpanId").asText()).isEqualTo("00f067aa0ba902b7");
+        assertThat(rootSpan.get("kind").asInt()).isEqualTo(2);
+        assertThat(rootSpan.at("/status/code").asInt()).isEqualTo(2);
+        assertThat(rootSpan.at("/attributes/0/key").asText())
+                .isEqualTo("http.response.status_code");
+        assertThat(rootSpan.at("/attributes/0/value/intValue").asText()).isEqualTo("500");
+        assertThat(rootSpan.at("/attributes/1/value/stringValue").asText()).isEqualTo("http");
+        long start = Long.parseLong(rootSpan.get("startTimeUnixNano").asText());
+        long end = Long.parseLong(rootSpan.get("endTimeUnixNano").asText());
+        assertThat(end).isGreaterThanOrEqualTo(start);
+        assertThat(start).isGreaterThan(1_600_000_000_000_000_000L);
+    }
+
+    @Test
+    void export_RotatesFileWhenItExceedsMaxSize() throws IOException {
+        Path file = tempDir.resolve("traces.jsonl");
+        Trace trace = Trace.start(null, null);
+        trace.endSpan(trace.startSpan("GET /api/posts", SpanLayer.HTTP), false);
+        long lineSize = new OtlpJsonEncoder(objectMapper, "personalblog")
+                .encode(List.of(trace)).length() + 1;
+        FileSpanExporter exporter = new FileSpanExporter(file, objectMapper, "personalblog",
+                lineSize * 2, 2);
+
+        for (int i = 0; i < 7; i++) {
+            exporter.export(List.of(trace));
+        }
+
+        assertThat(Files.readAllLines(file)).hasSize(1);
+        assertThat(Files.readAllLines(tempDir.resolve("traces.jsonl.1"))).hasSize(2);
+        assertThat(Files.readAllLines(tempDir.resolve("traces.jsonl.2"))).hasSize(2);
+        assertThat(tempDir.resolve("traces.jsonl.3")).doesNotExist();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.personalblog.tracing;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpanExportQueueTest {
+
+    @Test
+    void shutdown_ShouldFinishCurrentBatchBeforeDrainingQueue() throws Exception {
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        AtomicInteger exported = new AtomicInteger();
+        SpanExporter slowExporter = traces -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Export interrupted");
+            }
+            exported.addAndGet(traces.size());
+            active.decrementAndGet();
+        };
+        SpanExportQueue queue = new SpanExportQueue(slowExporter, new SimpleMeterRegistry(),
+                100, 1);
+        List<Trace> traces = List.of(Trace.start(null, null), Trace.start(null, null),
+                Trace.start(null, null), Trace.start(null, null));
+        Trace.end();
+        traces.forEach(queue::offer);
+        // Поток экспорта уже взял первый пакет
+        Thread.sleep(20);
+
+        queue.shutdown();
+
+        assertThat(exported).hasValue(traces.size());
+        assertThat(maxActive).hasValue(1);
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.personalblog.tracing;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+import static com.example.personalblog.tracing.TracingFilter.SERVER_TIMING_HEADER;
+import static com.example.personalblog.tracing.TracingFilter.TRACEPARENT_HEADER;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class TracingFilterTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String PARENT_ID = "00f067aa0ba902b7";
+
+    private final SpanExportQueue exportQueue = mock(SpanExportQueue.class);
+
+    @Test
+    void sampledRequest_RecordsSpansAndWritesServerTimingBeforeBody() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/42");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new TracingFilter(exportQueue, 1, true).doFilter(request, response,
+                new MockFilterChain(new TracedServlet()));
+
+        assertThat(Trace.current()).isNull();
+        // Заголовок пишется вместе с телом, пока корневой span еще не завершен
+        assertThat(response.getHeader(SERVER_TIMING_HEADER))
+                .matches("service;dur=[0-9.]+, repository;dur=[0-9.]+, total;dur=[0-9.]+");
+        Trace trace = offeredTrace();
+        assertThat(trace.getTraceId()).hasSize(32).isNotEqualTo("0".repeat(32));
+        assertThat(trace.getSpans()).extracting(Span::getName)
+                .containsExactly("PostRepository.findById", "PostService.getPostById",
+                        "GET /api/posts/{id}");
+        Span repository = trace.getSpans().get(0);
+        Span service = trace.getSpans().get(1);
+        Span root = trace.getSpans().get(2);
+        assertThat(repository.getParent()).isSameAs(service);
+        assertThat(service.getParent()).isSameAs(root);
+        assertThat(root.getParent()).isNull();
+        assertThat(root.getAttributes())
+                .containsEntry("http.route", "/api/posts/{id}")
+                .containsEntry("http.response.status_code", 200);
+    }
+
+    @Test
+    void samplingDisabled_PassesRequestThrough() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader(TRACEPARENT_HEADER, "00-" + TRACE_ID + "-" + PARENT_ID + "-01");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                assertThat(Trace.current()).isNull();
+            }
+        };
+
+        new TracingFilter(exportQueue, 0, true).doFilter(request, response,
+                new MockFilterChain(servlet));
+
+        assertThat(response.getHeader(SERVER_TIMING_HEADER)).isNull();
+        verifyNoInteractions(exportQueue);
+    }
+
+    @Test
+    void sampledTraceparent_ContinuesCallerTrace() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/42");
+        request.addHeader(TRACEPARENT_HEADER, "00-" + TRACE_ID + "-" + PARENT_ID + "-01");
+
+        new TracingFilter(exportQueue, 1000, false).doFilter(request,
+                new MockHttpServletResponse(), new MockFilterChain(new TracedServlet()));
+
+        Trace trace = offeredTrace();
+        assertThat(trace.getTraceId()).isEqualTo(TRACE_ID);
+        assertThat(trace.getRemoteParentId()).isEqualTo(PARENT_ID);
+    }
+
+    @Test
+    void unsampledTraceparent_IsNotTraced() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts/42");
+        request.addHeader(TRACEPARENT_HEADER, "00-" + TRACE_ID + "-" + PARENT_ID + "-00");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        new TracingFilter(exportQueue, 1, true).doFilter(request, response,
+                new MockFilterChain(new TracedServlet()));
+
+        assertThat(response.getHeader(SERVER_TIMING_HEADER)).isNull();
+        verify(exportQueue, never()).offer(any());
+    }
+
+    private Trace offeredTrace() {
+        ArgumentCaptor<Trace> captor = ArgumentCaptor.forClass(Trace.class);
+        verify(exportQueue).offer(captor.capture());
+        return captor.getValue();
+    }
+
+    /**
+     * Имитирует вызовы, которые записывает {@code TracingAspect}, и запись тела ответа.
+     */
+    private static class TracedServlet extends HttpServlet {
+        @Override
+        protected void service(HttpServletRequest req, HttpServletResponse resp)
+                throws IOException {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/posts/{id}");
+            Trace trace = Trace.current();
+            if (trace != null) {
+                Span service = trace.startSpan("PostService.getPostById", SpanLayer.SERVICE);
+                Span repository = trace.startSpan("PostRepository.findById",
+                        SpanLayer.REPOSITORY);
+                trace.endSpan(repository, false);
+                trace.endSpan(service, false);
+            }
+            resp.getWriter().write("{}");
+        }
+    }
+}